@@ -13,6 +13,7 @@ import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
+import polynomial.GridEvaluationCache;
 import polynomial.Polynomial;
 import polynomial.PolynomialOperations;
 
@@ -30,6 +31,9 @@ public final class GUI
 
 	//the 2 polynomials used as user input.
 	private Polynomial x, y;
+
+	//the values of the 2 polynomials on the points of the graphs, updated as their coefficients are edited
+	private GridEvaluationCache xgraph, ygraph;
 	
 	//the operations object (contains methods for performing operations on the polynomials)
 	private PolynomialOperations polynoper;
@@ -91,6 +95,17 @@ public final class GUI
 		this.x = new Polynomial (1000);
 		this.y = new Polynomial (1000);
 
+		//the graphs display the values at -100, -99 ... 100
+		double[] graphpoints = new double[201];
+
+		for (int i = 0; i < graphpoints.length; ++i)
+		{
+			graphpoints[i] = i - 100;
+		}
+
+		this.xgraph = new GridEvaluationCache (x, graphpoints);
+		this.ygraph = new GridEvaluationCache (y, graphpoints);
+
 		//create and retrieve the PolynomialOperations object.
 		this.polynoper = PolynomialOperations.createOperationsObject (x, y);
 		
@@ -477,19 +492,13 @@ public final class GUI
 			XYSeries series = new XYSeries ("P(X) = Y");
 
 			//add (x, y) pairs to the series depending on which polynomial was selected
-			if (this.whichpolynomial == 1)
-			{
-				for (int i = -100; i <= 100; i++)
-				{
-					series.add (i, x.getPolynomialValue (i));
-				}
-			}
-			else
+			GridEvaluationCache graph = (this.whichpolynomial == 1) ? xgraph : ygraph;
+			double[] points = graph.getGrid ();
+			double[] values = graph.getValues ();
+
+			for (int i = 0; i < points.length; i++)
 			{
-				for (int i = -100; i <= 100; i++)
-				{
-					series.add (i, y.getPolynomialValue (i));
-				}
+				series.add (points[i], values[i]);
 			}
 
 			//create the chart
@@ -569,6 +578,10 @@ public final class GUI
 			x = y;
 			y = aux;
 
+			GridEvaluationCache auxgraph = xgraph;
+			xgraph = ygraph;
+			ygraph = auxgraph;
+
 			polynoper.swap ();
 
 			pol1text.setText (x.toString ());
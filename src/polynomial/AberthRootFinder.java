@@ -0,0 +1,437 @@
+package polynomial;
+
+/** Finds all the complex roots of polynomials simultaneously, using the Aberth-Ehrlich iteration.
+* The initial approximations are spread on a circle whose radius is chosen between Cauchy's lower and upper
+* bounds for the moduli of the roots. At every iteration, p and p' are evaluated at all the current
+* approximations, then every approximation that hasn't converged yet is corrected.
+* <br />
+* For high degrees, both the evaluations and the corrections are spread across the available cores. Batches of
+* polynomials are solved in parallel, one polynomial per task.
+* <br />
+* Objects of this class are immutable, so they can be shared between threads.
+*/
+public final class AberthRootFinder
+{
+	/** The default relative accuracy of the roots. */
+	public static final double DEFAULT_TOLERANCE = 1e-14;
+
+	/** The default maximum number of iterations. */
+	public static final int DEFAULT_MAX_ITERATIONS = 500;
+
+	//from this degree on, the work of an iteration is spread across cores
+	private static final int PARALLEL_DEGREE = 512;
+
+	//number of roots processed by a single task when working in parallel
+	private static final int PARALLEL_GRAIN = 64;
+
+	//the unit roundoff of doubles
+	private static final double EPSILON = Math.ulp (1.0) / 2;
+
+	//stop when the corrections become smaller than tolerance * |root|
+	private final double tolerance;
+
+	//stop after this many iterations, even if not converged
+	private final int maxiterations;
+
+	/** Creates a root finder with the default tolerance and iteration limit. */
+	public AberthRootFinder ()
+	{
+		this (DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+	}
+
+	/** Creates a root finder with the tolerance and iteration limit provided.
+	*
+	* @param tolerance the relative accuracy requested for the roots.
+	*
+	* @param maxiterations the maximum number of iterations.
+	*
+	* @throws IllegalArgumentException if the tolerance is not positive or maxiterations is less than 1.
+	*/
+	public AberthRootFinder (double tolerance, int maxiterations)
+	{
+		if (! (tolerance > 0.0))
+		{
+			throw new IllegalArgumentException ("tolerance must be positive.");
+		}
+		else if (maxiterations < 1)
+		{
+			throw new IllegalArgumentException ("at least 1 iteration must be allowed.");
+		}
+
+		this.tolerance = tolerance;
+		this.maxiterations = maxiterations;
+	}
+
+	/** Finds all the complex roots of the polynomial.
+	*
+	* @param p the polynomial.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if p is zero (every number would be a root).
+	*
+	* @return the roots of the polynomial, as many as its degree.
+	*/
+	public PolynomialRoots findRoots (Polynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (p.isZero ())
+		{
+			throw new IllegalArgumentException ("the zero polynomial has no isolated roots.");
+		}
+
+		return solve (p.getCoefficients (), p.getBiggestNonZeroIndex () >= PARALLEL_DEGREE);
+	}
+
+	/** Finds all the complex roots of every polynomial in the batch. The polynomials are solved in
+	* parallel.
+	*
+	* @param batch the polynomials.
+	*
+	* @throws NullPointerException if the batch or any of its polynomials is null.
+	*
+	* @throws IllegalArgumentException if any of the polynomials is zero.
+	*
+	* @return the roots of each polynomial, in the order of the batch.
+	*/
+	public PolynomialRoots[] findRoots (final Polynomial[] batch)
+	{
+		if (batch == null)
+		{
+			throw new NullPointerException ("null batch provided.");
+		}
+
+		//validate everything before starting any work
+		for (Polynomial p : batch)
+		{
+			if (p == null)
+			{
+				throw new NullPointerException ("null polynomial provided.");
+			}
+			else if (p.isZero ())
+			{
+				throw new IllegalArgumentException ("the zero polynomial has no isolated roots.");
+			}
+		}
+
+		final PolynomialRoots[] results = new PolynomialRoots[batch.length];
+
+		//the batch is already parallel, so every polynomial is solved on a single thread
+		ParallelLoops.forRange (0, batch.length, 1, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				for (int i = from; i < to; ++i)
+				{
+					results[i] = solve (batch[i].getCoefficients (), false);
+				}
+			}
+		});
+
+		return results;
+	}
+
+	//the Aberth-Ehrlich iteration. coefficients must have a non-zero last element
+	private PolynomialRoots solve (double[] coefficients, boolean parallel)
+	{
+		int degree = coefficients.length - 1;
+
+		//zero coefficients at the start mean roots that are exactly 0
+		int zeroroots = 0;
+
+		while (coefficients[zeroroots] == 0.0)
+		{
+			zeroroots++;
+		}
+
+		final int n = degree - zeroroots;
+
+		double[] real = new double[degree];
+		double[] imaginary = new double[degree];
+
+		if (n == 0)
+		{
+			return new PolynomialRoots (real, imaginary, 0, true);
+		}
+
+		//divide by x^zeroroots and make the polynomial monic
+		final double[] a = new double[n + 1];
+
+		for (int i = 0; i <= n; ++i)
+		{
+			a[i] = coefficients[i + zeroroots] / coefficients[degree];
+		}
+
+		//the moduli of the coefficients, used by the stopping criterion
+		final double[] moduli = new double[n + 1];
+
+		for (int i = 0; i <= n; ++i)
+		{
+			moduli[i] = Math.abs (a[i]);
+		}
+
+		final double[] zr = new double[n];
+		final double[] zi = new double[n];
+		initialApproximations (a, zr, zi);
+
+		final double[] nr = new double[n], ni = new double[n];
+		final double[] cr = new double[n], ci = new double[n];
+		final boolean[] done = new boolean[n];
+
+		int iterations = 0;
+		int remaining = n;
+
+		while (remaining > 0 && iterations < this.maxiterations)
+		{
+			iterations++;
+
+			if (parallel)
+			{
+				//Jacobi style: all the corrections are computed from the same approximations, then applied
+				ParallelLoops.forRange (0, n, PARALLEL_GRAIN, new ParallelLoops.RangeTask ()
+				{
+					@Override public void run (int from, int to)
+					{
+						evaluate (a, moduli, zr, zi, done, nr, ni, from, to);
+					}
+				});
+
+				ParallelLoops.forRange (0, n, PARALLEL_GRAIN, new ParallelLoops.RangeTask ()
+				{
+					@Override public void run (int from, int to)
+					{
+						corrections (zr, zi, done, nr, ni, cr, ci, from, to);
+					}
+				});
+
+				for (int i = 0; i < n; ++i)
+				{
+					if (! done[i])
+					{
+						zr[i] -= cr[i];
+						zi[i] -= ci[i];
+					}
+				}
+			}
+			else
+			{
+				//Gauss-Seidel style: every correction is applied immediately, which converges faster
+				evaluate (a, moduli, zr, zi, done, nr, ni, 0, n);
+
+				for (int i = 0; i < n; ++i)
+				{
+					if (! done[i])
+					{
+						corrections (zr, zi, done, nr, ni, cr, ci, i, i + 1);
+						zr[i] -= cr[i];
+						zi[i] -= ci[i];
+					}
+				}
+			}
+
+			//an approximation has converged when its correction is negligible
+			remaining = 0;
+
+			for (int i = 0; i < n; ++i)
+			{
+				if (! done[i])
+				{
+					double correction = Math.hypot (cr[i], ci[i]);
+
+					if (correction <= this.tolerance * Math.hypot (zr[i], zi[i]) || correction == 0.0)
+					{
+						done[i] = true;
+					}
+					else
+					{
+						remaining++;
+					}
+				}
+			}
+		}
+
+		System.arraycopy (zr, 0, real, zeroroots, n);
+		System.arraycopy (zi, 0, imaginary, zeroroots, n);
+
+		return new PolynomialRoots (real, imaginary, iterations, remaining == 0);
+	}
+
+	//places the initial approximations on a circle. Its radius is the geometric mean of the moduli of the roots,
+	//kept between Cauchy's lower and upper bounds. The angles are rotated to avoid symmetric configurations
+	private static void initialApproximations (double[] a, double[] zr, double[] zi)
+	{
+		int n = a.length - 1;
+
+		double biggest = 0.0;
+
+		for (int i = 0; i < n; ++i)
+		{
+			biggest = Math.max (biggest, Math.abs (a[i]));
+		}
+
+		//every root satisfies lower <= |root| <= upper
+		double upper = 1.0 + biggest;
+
+		double biggestnonconstant = 0.0;
+
+		for (int i = 1; i <= n; ++i)
+		{
+			biggestnonconstant = Math.max (biggestnonconstant, Math.abs (a[i]));
+		}
+
+		double lower = Math.abs (a[0]) / (Math.abs (a[0]) + biggestnonconstant);
+
+		double radius = Math.pow (Math.abs (a[0]), 1.0 / n);
+		radius = Math.min (Math.max (radius, lower), upper);
+
+		for (int k = 0; k < n; ++k)
+		{
+			double angle = 2.0 * Math.PI * k / n + 0.4;
+
+			zr[k] = radius * Math.cos (angle);
+			zi[k] = radius * Math.sin (angle);
+		}
+	}
+
+	//evaluates p and p' at the approximations in [from, to) that haven't converged, with Horner's scheme, and stores
+	//the Newton ratios p / p'. Outside the unit circle, the reversed polynomial is evaluated at 1 / z instead,
+	//so that z^n never overflows. Approximations where p is below the rounding error of the evaluation are
+	//marked as converged
+	private static void evaluate (double[] a, double[] moduli, double[] zr, double[] zi, boolean[] done,
+								double[] ratior, double[] ratioi, int from, int to)
+	{
+		int n = a.length - 1;
+
+		for (int k = from; k < to; ++k)
+		{
+			if (done[k])
+			{
+				continue;
+			}
+
+			double xr = zr[k], xi = zi[k];
+			double modulus = Math.hypot (xr, xi);
+			boolean reversed = modulus > 1.0;
+
+			if (reversed)
+			{
+				//evaluate at 1 / z
+				double m2 = xr * xr + xi * xi;
+
+				xr = xr / m2;
+				xi = -xi / m2;
+				modulus = 1.0 / modulus;
+			}
+
+			double vr = coefficient (a, n, reversed), vi = 0.0;
+			double wr = 0.0, wi = 0.0;
+			double bound = moduli[reversed ? 0 : n];
+
+			for (int i = n - 1; i >= 0; --i)
+			{
+				//p' = p' * z + p
+				double t = wr * xr - wi * xi + vr;
+				wi = wr * xi + wi * xr + vi;
+				wr = t;
+
+				//p = p * z + a[i]
+				t = vr * xr - vi * xi + coefficient (a, i, reversed);
+				vi = vr * xi + vi * xr;
+				vr = t;
+
+				bound = bound * modulus + moduli[reversed ? n - i : i];
+			}
+
+			//the value is indistinguishable from zero (below the error bound of Horner's scheme): nothing more
+			//can be gained
+			if (Math.hypot (vr, vi) <= bound * EPSILON * (4 * n + 1))
+			{
+				done[k] = true;
+				continue;
+			}
+
+			//q = p' / p
+			double m = vr * vr + vi * vi;
+			double qr = (wr * vr + wi * vi) / m;
+			double qi = (wi * vr - wr * vi) / m;
+
+			if (reversed)
+			{
+				//with y = 1 / z and r the reversed polynomial: p / p' = z / (n - y * r' / r)
+				double yr = xr * qr - xi * qi;
+				double yi = xr * qi + xi * qr;
+
+				double dr = n - yr, di = -yi;
+				double d = dr * dr + di * di;
+
+				ratior[k] = (zr[k] * dr + zi[k] * di) / d;
+				ratioi[k] = (zi[k] * dr - zr[k] * di) / d;
+			}
+			else
+			{
+				m = qr * qr + qi * qi;
+
+				ratior[k] = qr / m;
+				ratioi[k] = -qi / m;
+			}
+		}
+	}
+
+	//returns the coefficient of the polynomial, or of its reversed form
+	private static double coefficient (double[] a, int index, boolean reversed)
+	{
+		return reversed ? a[a.length - 1 - index] : a[index];
+	}
+
+	//computes the Aberth corrections N / (1 - N * S), with N = p / p' and S = sum (1 / (z[k] - z[j])), j != k,
+	//for the approximations in [from, to) that haven't converged
+	private static void corrections (double[] zr, double[] zi, boolean[] done, double[] ratior, double[] ratioi,
+									double[] cr, double[] ci, int from, int to)
+	{
+		int n = zr.length;
+
+		for (int k = from; k < to; ++k)
+		{
+			if (done[k])
+			{
+				cr[k] = 0.0;
+				ci[k] = 0.0;
+				continue;
+			}
+
+			double nr = ratior[k], ni = ratioi[k];
+
+			if (Double.isNaN (nr) || Double.isInfinite (nr) || Double.isNaN (ni) || Double.isInfinite (ni))
+			{
+				//stationary point (p' = 0): move a little instead of dividing by zero
+				nr = Math.hypot (zr[k], zi[k]) * 1e-3 + 1e-3;
+				ni = nr;
+			}
+
+			double sr = 0.0, si = 0.0;
+
+			for (int j = 0; j < n; ++j)
+			{
+				if (j != k)
+				{
+					double xr = zr[k] - zr[j], xi = zi[k] - zi[j];
+					double d = xr * xr + xi * xi;
+
+					sr += xr / d;
+					si -= xi / d;
+				}
+			}
+
+			//1 - N * S
+			double qr = 1.0 - (nr * sr - ni * si);
+			double qi = -(nr * si + ni * sr);
+			double q = qr * qr + qi * qi;
+
+			cr[k] = (nr * qr + ni * qi) / q;
+			ci[k] = (ni * qr - nr * qi) / q;
+		}
+	}
+}
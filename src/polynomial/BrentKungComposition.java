@@ -0,0 +1,205 @@
+package polynomial;
+
+/** Composes polynomials with the baby-step / giant-step algorithm of Brent and Kung.
+* p is split in k blocks of m = ceil (sqrt (deg p + 1)) coefficients, so that
+* p (x) = B_0 (x) + B_1 (x) * x^m + ... + B_(k-1) (x) * x^(m(k-1)). The powers q^0 ... q^m are computed once
+* (the baby steps), every B_j (q) is then just a linear combination of them, and the blocks are put
+* together with powers of q^m (the giant steps). Only O (sqrt (n)) polynomial multiplications are needed,
+* instead of the n ones of Horner's scheme.
+* <br />
+* Without a modulus the giant steps are done on a balanced tree over the blocks, with the cached powers
+* q^(m * 2^t), so that the big multiplications are few and balanced. With a modulus every power is reduced,
+* so all the operands keep the size of the modulus and the giant steps are a plain Horner's scheme.
+*/
+final class BrentKungComposition
+{
+	//the blocks are combined in parallel, this many per task
+	private static final int BLOCK_GRAIN = 8;
+
+	//utility class, no instances
+	private BrentKungComposition ()
+	{
+	}
+
+	/** Returns the coefficients of p (q (x)). Both arrays must be trimmed. */
+	static double[] compose (double[] p, double[] q)
+	{
+		int pd = p.length - 1, qd = q.length - 1;
+
+		//constant polynomials: nothing to substitute
+		if (pd == 0 || qd == 0)
+		{
+			return new double[] { CoefficientKernels.evaluate (p, q[0]) };
+		}
+
+		int m = blockSize (pd);
+		int k = (pd + m) / m;
+
+		double[][] powers = babySteps (q, m, null, null);
+		double[][] blocks = combineBlocks (p, powers, m, k, (m - 1) * qd + 1);
+
+		//giant[t] = q^(m * 2^t)
+		int levels = 1;
+
+		while ((1 << levels) < k)
+		{
+			levels++;
+		}
+
+		double[][] giant = new double[levels][];
+		giant[0] = powers[m];
+
+		for (int t = 1; t < levels; ++t)
+		{
+			giant[t] = CoefficientKernels.multiply (giant[t - 1], giant[t - 1]);
+		}
+
+		return CoefficientKernels.truncate (combineTree (blocks, 0, k, giant), pd * qd + 1);
+	}
+
+	/** Returns the coefficients of p (q (x)) mod r. All arrays must be trimmed and r must have degree at
+	* least 1. The result has exactly r.length - 1 elements.
+	*/
+	static double[] compose (double[] p, double[] q, double[] r)
+	{
+		int rd = r.length - 1;
+
+		//the inverse of the reversed modulus is shared by all the reductions
+		double[] reversedinverse = CoefficientKernels.reciprocal (CoefficientKernels.reverse (r), Math.max (rd, 1));
+
+		double[] reduced = CoefficientKernels.remainder (q, r, reversedinverse);
+		int pd = p.length - 1;
+
+		if (pd == 0)
+		{
+			return CoefficientKernels.truncate (p, rd);
+		}
+
+		int m = blockSize (pd);
+		int k = (pd + m) / m;
+
+		double[][] powers = babySteps (reduced, m, r, reversedinverse);
+
+		double[][] blocks = combineBlocks (p, powers, m, k, rd);
+
+		//Horner's scheme on the blocks, with q^m mod r as the variable
+		double[] result = blocks[k - 1];
+
+		for (int j = k - 2; j >= 0; --j)
+		{
+			result = CoefficientKernels.remainder (CoefficientKernels.multiply (result, powers[m]), r, reversedinverse);
+
+			for (int i = 0; i < rd; ++i)
+			{
+				result[i] += blocks[j][i];
+			}
+		}
+
+		return result;
+	}
+
+	//m = ceil (sqrt (degree + 1)), the number of coefficients of every block
+	private static int blockSize (int degree)
+	{
+		int m = (int) Math.ceil (Math.sqrt (degree + 1.0));
+
+		return Math.max (m, 1);
+	}
+
+	//returns q^0 ... q^m. If r is not null, every power is reduced modulo r (and has exactly r.length - 1
+	//coefficients), using the inverse of the reversed modulus provided
+	private static double[][] babySteps (double[] q, int m, double[] r, double[] reversedinverse)
+	{
+		double[][] powers = new double[m + 1][];
+		powers[0] = new double[] { 1.0 };
+		powers[1] = q;
+
+		if (r != null)
+		{
+			powers[0] = CoefficientKernels.truncate (powers[0], r.length - 1);
+		}
+
+		for (int i = 2; i <= m; ++i)
+		{
+			//q^i = q^(i/2) * q^(i - i/2) keeps the operands balanced
+			powers[i] = CoefficientKernels.multiply (powers[i / 2], powers[i - i / 2]);
+
+			if (r != null)
+			{
+				powers[i] = CoefficientKernels.remainder (powers[i], r, reversedinverse);
+			}
+		}
+
+		return powers;
+	}
+
+	//returns B_0 (q) ... B_(k-1) (q), each with exactly length coefficients
+	private static double[][] combineBlocks (final double[] p, final double[][] powers, final int m, int k, final int length)
+	{
+		final double[][] blocks = new double[k][];
+
+		ParallelLoops.forRange (0, k, BLOCK_GRAIN, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				for (int j = from; j < to; ++j)
+				{
+					double[] block = new double[length];
+
+					for (int i = 0; i < m && j * m + i < p.length; ++i)
+					{
+						double coeff = p[j * m + i];
+
+						//zero coefficients don't contribute anything
+						if (coeff == 0.0)
+						{
+							continue;
+						}
+
+						double[] power = powers[i];
+
+						for (int l = 0; l < power.length && l < length; ++l)
+						{
+							block[l] += coeff * power[l];
+						}
+					}
+
+					blocks[j] = block;
+				}
+			}
+		});
+
+		return blocks;
+	}
+
+	//returns the sum of blocks[j] * (q^m)^(j - from), for from <= j < to.
+	//the first half always has a power of 2 blocks, so its multiplier is one of the cached giant steps
+	private static double[] combineTree (double[][] blocks, int from, int to, double[][] giant)
+	{
+		int count = to - from;
+
+		if (count == 1)
+		{
+			return blocks[from];
+		}
+
+		int t = 0;
+
+		while ((2 << t) < count)
+		{
+			t++;
+		}
+
+		int middle = from + (1 << t);
+
+		double[] low = combineTree (blocks, from, middle, giant);
+		double[] high = CoefficientKernels.multiply (combineTree (blocks, middle, to, giant), giant[t]);
+
+		for (int i = 0; i < low.length; ++i)
+		{
+			high[i] += low[i];
+		}
+
+		return high;
+	}
+}
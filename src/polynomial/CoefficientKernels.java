@@ -0,0 +1,683 @@
+package polynomial;
+
+import java.util.Arrays;
+
+/** Low-level kernels working directly on coefficient arrays (index represents the magnitude).
+* These are the building blocks of the asymptotically fast algorithms in this package: they skip the
+* per-element checks of Polynomial and never create intermediate Polynomial objects.
+* Unless specified otherwise, the arrays received are not modified and the arrays returned are new.
+*/
+final class CoefficientKernels
+{
+	//below this length (of the shorter operand) schoolbook multiplication beats the FFT
+	private static final int FFT_MULTIPLY_THRESHOLD = 48;
+
+	//below this divisor length, classical long division beats division by Newton inversion
+	private static final int NEWTON_DIVISION_THRESHOLD = 64;
+
+	//below this length, the classical O(n^2) Taylor shift beats the divide and conquer one
+	private static final int FAST_SHIFT_THRESHOLD = 256;
+
+	//utility class, no instances
+	private CoefficientKernels ()
+	{
+	}
+
+	/** Returns the degree of the coefficients, ignoring zero coefficients at the end of the array.
+	* A zero polynomial has degree 0.
+	*/
+	static int degree (double[] a)
+	{
+		int i = a.length - 1;
+
+		while (i > 0 && a[i] == 0.0)
+		{
+			i--;
+		}
+
+		return i;
+	}
+
+	/** Returns the coefficients without the zero coefficients at the end of the array (at least 1 element
+	* is always kept). If nothing needs removing, the same array is returned.
+	*/
+	static double[] trim (double[] a)
+	{
+		int length = degree (a) + 1;
+
+		if (length == a.length)
+		{
+			return a;
+		}
+
+		double[] result = new double[length];
+		System.arraycopy (a, 0, result, 0, length);
+
+		return result;
+	}
+
+	/** Multiplies 2 coefficient arrays. The result has exactly a.length + b.length - 1 elements. */
+	static double[] multiply (double[] a, double[] b)
+	{
+		if (Math.min (a.length, b.length) < FFT_MULTIPLY_THRESHOLD)
+		{
+			return multiplySchoolbook (a, b);
+		}
+
+		return multiplyFFT (a, b);
+	}
+
+	//writes the first rlength coefficients of the product of a[afrom] ... a[afrom + alength - 1] and
+	//b[0] ... b[blength - 1] to result[0] ... result[rlength - 1], taking the scratch arrays of the FFT from
+	//the workspace
+	private static void multiply (double[] a, int afrom, int alength, double[] b, int blength,
+									double[] result, int rlength, Workspace workspace)
+	{
+		if (Math.min (alength, blength) < FFT_MULTIPLY_THRESHOLD)
+		{
+			Arrays.fill (result, 0, rlength, 0.0);
+			multiplySchoolbook (a, afrom, alength, b, blength, result, rlength);
+		}
+		else
+		{
+			multiplyFFT (a, afrom, alength, b, blength, result, rlength, workspace);
+		}
+	}
+
+	//the classical O(n*m) multiplication
+	private static double[] multiplySchoolbook (double[] a, double[] b)
+	{
+		double[] result = new double[a.length + b.length - 1];
+
+		multiplySchoolbook (a, 0, a.length, b, b.length, result, result.length);
+
+		return result;
+	}
+
+	//adds the first rlength coefficients of the product of a[afrom] ... a[afrom + alength - 1] and
+	//b[0] ... b[blength - 1] to result[0] ... result[rlength - 1]
+	private static void multiplySchoolbook (double[] a, int afrom, int alength, double[] b, int blength,
+											double[] result, int rlength)
+	{
+		for (int i = 0; i < alength; ++i)
+		{
+			double coeff = a[afrom + i];
+
+			//zero coefficients don't contribute anything
+			if (coeff == 0.0)
+			{
+				continue;
+			}
+
+			int end = Math.min (blength, rlength - i);
+
+			for (int j = 0; j < end; ++j)
+			{
+				result[i + j] += coeff * b[j];
+			}
+		}
+	}
+
+	//multiplication through a complex FFT, with scratch arrays of its own
+	private static double[] multiplyFFT (double[] a, double[] b)
+	{
+		double[] result = new double[a.length + b.length - 1];
+
+		multiplyFFT (a, 0, a.length, b, b.length, result, result.length, new Workspace ());
+
+		return result;
+	}
+
+	//multiplication through a complex FFT, like multiply with a workspace. Both operands are packed in the
+	//same transform (a as the real part, b as the imaginary part), so only 2 transforms are needed.
+	private static void multiplyFFT (double[] a, int afrom, int alength, double[] b, int blength,
+										double[] result, int rlength, Workspace workspace)
+	{
+		int n = 1;
+		while (n < alength + blength - 1)
+		{
+			n <<= 1;
+		}
+
+		workspace.reserveTransform (n);
+
+		double[] re = workspace.re, im = workspace.im;
+
+		//the rounding errors of the packed transform grow with the bigger of the 2 operands, not with their
+		//product, so operands of very different magnitudes would lose the precision of the smaller one.
+		//a is divided and b multiplied by the same power of 2 (exactly) to give them similar magnitudes
+		int exponent = balancingExponent (a, afrom, alength, b, blength);
+
+		for (int i = 0; i < alength; ++i)
+		{
+			re[i] = Math.scalb (a[afrom + i], -exponent);
+		}
+
+		for (int i = 0; i < blength; ++i)
+		{
+			im[i] = Math.scalb (b[i], exponent);
+		}
+
+		Arrays.fill (re, alength, n, 0.0);
+		Arrays.fill (im, blength, n, 0.0);
+
+		fft (re, im, n, false, workspace);
+
+		//if Z = FFT (a + ib), then FFT (a * b)[k] = (Z[k]^2 - conj (Z[n - k])^2) / 4i
+		double[] pre = workspace.pre, pim = workspace.pim;
+
+		for (int k = 0; k < n; ++k)
+		{
+			int nk = (n - k) & (n - 1);
+
+			double zr = re[k], zi = im[k];
+			double wr = re[nk], wi = -im[nk];
+
+			double dr = (zr * zr - zi * zi) - (wr * wr - wi * wi);
+			double di = 2.0 * (zr * zi - wr * wi);
+
+			//divide by 4i
+			pre[k] = di / 4.0;
+			pim[k] = -dr / 4.0;
+		}
+
+		fft (pre, pim, n, true, workspace);
+
+		for (int i = 0; i < rlength; ++i)
+		{
+			result[i] = pre[i] / n;
+		}
+	}
+
+	//returns k such that a / 2^k and b * 2^k have about the same biggest coefficient (0 if any of them is zero),
+	//a being a[afrom] ... a[afrom + alength - 1] and b being b[0] ... b[blength - 1].
+	//the scaling is exact except for coefficients it moves below the normal range: those lose bits, or are
+	//flushed to zero, in an operand whose coefficients span more than about 1000 binary orders of magnitude.
+	//This is not clamped, because what they lose is always below the rounding error of the transform itself:
+	//a coefficient of a flushed by the scaling is below 2^(k - 1022), so relative to max (a) * max (b) its
+	//contribution is below 2^(k - 1022 - ea) = 2^(-1022 - (ea + eb) / 2), where ea and eb are the exponents of
+	//max (a) and max (b). That is under 2^-53 whenever the product is above the underflow threshold, and the
+	//same holds for b.
+	//Clamping k to keep them normal would instead leave the biggest coefficients unbalanced, and their squares
+	//in the transform can overflow
+	private static int balancingExponent (double[] a, int afrom, int alength, double[] b, int blength)
+	{
+		double maxa = 0.0, maxb = 0.0;
+
+		for (int i = afrom; i < afrom + alength; ++i)
+		{
+			maxa = Math.max (maxa, Math.abs (a[i]));
+		}
+
+		for (int i = 0; i < blength; ++i)
+		{
+			maxb = Math.max (maxb, Math.abs (b[i]));
+		}
+
+		if (maxa == 0.0 || maxb == 0.0)
+		{
+			return 0;
+		}
+
+		return (Math.getExponent (maxa) - Math.getExponent (maxb)) / 2;
+	}
+
+	//in-place iterative radix-2 FFT of the first n elements of the arrays. n must be a power of 2, and the
+	//roots of unity of the workspace must be reserved for at least n points.
+	//the inverse transform is not scaled by 1/n
+	private static void fft (double[] re, double[] im, int n, boolean inverse, Workspace workspace)
+	{
+		//bit-reversal permutation
+		for (int i = 1, j = 0; i < n; ++i)
+		{
+			int bit = n >> 1;
+
+			for (; (j & bit) != 0; bit >>= 1)
+			{
+				j ^= bit;
+			}
+
+			j ^= bit;
+
+			if (i < j)
+			{
+				double t = re[i];
+				re[i] = re[j];
+				re[j] = t;
+
+				t = im[i];
+				im[i] = im[j];
+				im[j] = t;
+			}
+		}
+
+		//the roots of unity of the workspace may belong to a longer transform, every stride-th one is used
+		double[] cos = workspace.cos, sin = workspace.sin;
+		int stride = workspace.transformlength / n;
+		double sign = inverse ? 1.0 : -1.0;
+
+		for (int len = 2; len <= n; len <<= 1)
+		{
+			int half = len >> 1;
+			int step = n / len * stride;
+
+			for (int i = 0; i < n; i += len)
+			{
+				for (int j = 0; j < half; ++j)
+				{
+					double wr = cos[j * step], wi = sign * sin[j * step];
+
+					int u = i + j, v = i + j + half;
+
+					double vr = re[v] * wr - im[v] * wi;
+					double vi = re[v] * wi + im[v] * wr;
+
+					re[v] = re[u] - vr;
+					im[v] = im[u] - vi;
+					re[u] += vr;
+					im[u] += vi;
+				}
+			}
+		}
+	}
+
+	/** Returns the first n coefficients of the power series 1 / a (a[0] must not be zero),
+	* computed by Newton iteration: g = g * (2 - a * g).
+	*/
+	static double[] reciprocal (double[] a, int n)
+	{
+		double[] g = { 1.0 / a[0] };
+		int precision = 1;
+
+		while (precision < n)
+		{
+			precision = Math.min (2 * precision, n);
+
+			//e = a * g mod x^precision
+			double[] e = multiply (truncate (a, precision), g);
+
+			//e = 2 - e
+			double[] twominus = new double[precision];
+
+			for (int i = 0; i < precision && i < e.length; ++i)
+			{
+				twominus[i] = -e[i];
+			}
+
+			twominus[0] += 2.0;
+
+			g = truncate (multiply (g, twominus), precision);
+		}
+
+		return g;
+	}
+
+	/** Returns the first n coefficients (padding with zeros if needed). */
+	static double[] truncate (double[] a, int n)
+	{
+		if (a.length == n)
+		{
+			return a;
+		}
+
+		double[] result = new double[n];
+		System.arraycopy (a, 0, result, 0, Math.min (n, a.length));
+
+		return result;
+	}
+
+	/** Returns the coefficients in reverse order. */
+	static double[] reverse (double[] a)
+	{
+		double[] result = new double[a.length];
+
+		for (int i = 0; i < a.length; ++i)
+		{
+			result[i] = a[a.length - 1 - i];
+		}
+
+		return result;
+	}
+
+	/** Returns the remainder of the division of a by b. The leading coefficient of b (its last element)
+	* must be non-zero. The result has exactly b.length - 1 elements (at least 1).
+	*
+	* reversedinverse may be null; if it isn't, it must contain the first coefficients of the power series
+	* 1 / reverse (b). It is used by the fast division when it has enough coefficients and saves its
+	* computation when the same divisor is used many times.
+	*/
+	static double[] remainder (double[] a, double[] b, double[] reversedinverse)
+	{
+		int divisorlength = b.length;
+		int remainderlength = Math.max (divisorlength - 1, 1);
+
+		//nothing to divide
+		if (a.length < divisorlength)
+		{
+			return truncate (a, remainderlength);
+		}
+
+		if (divisorlength < NEWTON_DIVISION_THRESHOLD)
+		{
+			return remainderClassical (a, b);
+		}
+
+		//the quotient is rev (rev (a) * rev (b)^-1 mod x^m), with m the number of quotient coefficients
+		int quotientlength = a.length - divisorlength + 1;
+
+		if (reversedinverse == null || reversedinverse.length < quotientlength)
+		{
+			reversedinverse = reciprocal (reverse (b), quotientlength);
+		}
+
+		double[] reversedquotient = truncate (multiply (truncate (reverse (a), quotientlength),
+													truncate (reversedinverse, quotientlength)), quotientlength);
+
+		double[] quotient = reverse (reversedquotient);
+
+		//only the low part of quotient * b is needed, so the rest is never subtracted
+		double[] product = multiply (quotient, b);
+		double[] result = new double[remainderlength];
+
+		for (int i = 0; i < remainderlength && i < a.length; ++i)
+		{
+			result[i] = a[i] - product[i];
+		}
+
+		return result;
+	}
+
+	//long division, returns only the remainder (b.length - 1 elements, at least 1)
+	private static double[] remainderClassical (double[] a, double[] b)
+	{
+		double[] rest = a.clone ();
+
+		int db = b.length - 1;
+		double leading = b[db];
+
+		for (int i = a.length - 1; i >= db; --i)
+		{
+			double q = rest[i] / leading;
+
+			if (q == 0.0)
+			{
+				continue;
+			}
+
+			for (int j = 0; j <= db; ++j)
+			{
+				rest[i - db + j] -= q * b[j];
+			}
+		}
+
+		return truncate (rest, Math.max (db, 1));
+	}
+
+	/** Returns the coefficients of a (x + s). The result has the same length as a.
+	* Small arrays use the classical O(n^2) algorithm; bigger ones are split as a = low + x^m * high,
+	* with m a power of 2, so that a (x + s) = low (x + s) + (x + s)^m * high (x + s), where the powers
+	* (x + s)^(2^j) are computed only once (by repeated squaring). This needs O(M(n) log n) operations.
+	*/
+	static double[] shift (double[] a, double s)
+	{
+		double[] result = new double[a.length];
+
+		shift (a, s, result, new Workspace ());
+
+		return result;
+	}
+
+	/** Writes the coefficients of a (x + s) to result[0] ... result[a.length - 1] (result may be a itself).
+	* Same algorithm as shift (a, s), but the powers (x + s)^(2^j), the products and the scratch arrays of the
+	* FFT are kept in the workspace, so shifting many arrays of the same length with the same workspace
+	* allocates nothing after the first one.
+	*/
+	static void shift (double[] a, double s, double[] result, Workspace workspace)
+	{
+		System.arraycopy (a, 0, result, 0, a.length);
+
+		if (a.length < FAST_SHIFT_THRESHOLD || s == 0.0)
+		{
+			shiftInPlace (result, 0, a.length, s);
+			return;
+		}
+
+		//powers[j] = (x + s)^(2^j), as long as 2^j < a.length
+		int levels = 0;
+
+		while ((2 << levels) < a.length)
+		{
+			levels++;
+		}
+
+		double[][] powers = workspace.reservePowers (levels);
+		powers[0][0] = s;
+		powers[0][1] = 1.0;
+
+		for (int j = 1; j <= levels; ++j)
+		{
+			double[] half = powers[j - 1];
+			multiply (half, 0, half.length, half, half.length, powers[j], powers[j].length, workspace);
+		}
+
+		workspace.reserveProduct (a.length);
+
+		shiftRange (result, 0, a.length, s, workspace);
+	}
+
+	//replaces a[from] ... a[from + length - 1] with the coefficients of their shift, using the powers of the workspace
+	private static void shiftRange (double[] a, int from, int length, double s, Workspace workspace)
+	{
+		if (length < FAST_SHIFT_THRESHOLD)
+		{
+			shiftInPlace (a, from, length, s);
+			return;
+		}
+
+		//the low part always has a power of 2 coefficients, so its multiplier is one of the cached powers
+		int j = 0;
+
+		while ((2 << j) < length)
+		{
+			j++;
+		}
+
+		int m = 1 << j;
+
+		shiftRange (a, from, m, s, workspace);
+		shiftRange (a, from + m, length - m, s, workspace);
+
+		//high (x + s) * (x + s)^m has exactly length coefficients, the low part is added to its first m
+		double[] product = workspace.product;
+		multiply (a, from + m, length - m, workspace.powers[j], m + 1, product, length, workspace);
+
+		for (int i = 0; i < m; ++i)
+		{
+			a[from + i] += product[i];
+		}
+
+		System.arraycopy (product, m, a, from + m, length - m);
+	}
+
+	/** Replaces a (x) with a (x + s), using the classical O(n^2) algorithm (repeated synthetic division). */
+	static void shiftInPlace (double[] a, double s)
+	{
+		shiftInPlace (a, 0, a.length, s);
+	}
+
+	//shiftInPlace for the coefficients a[from] ... a[from + length - 1]
+	private static void shiftInPlace (double[] a, int from, int length, double s)
+	{
+		if (s == 0.0)
+		{
+			return;
+		}
+
+		int n = from + length - 1;
+
+		for (int i = from; i < n; ++i)
+		{
+			for (int j = n - 1; j >= i; --j)
+			{
+				a[j] += s * a[j + 1];
+			}
+		}
+	}
+
+	/** Returns the coefficients of a (c * x): the coefficient of x^i is multiplied by c^i. */
+	static double[] scale (double[] a, double c)
+	{
+		double[] result = new double[a.length];
+		double power = 1.0;
+
+		for (int i = 0; i < a.length; ++i)
+		{
+			//c^i may have overflowed, zero coefficients must stay zero instead of becoming 0 * infinity
+			if (a[i] != 0.0)
+			{
+				result[i] = a[i] * power;
+			}
+
+			power *= c;
+		}
+
+		return result;
+	}
+
+	/** Evaluates the coefficients for a value of the variable using Horner's scheme. */
+	static double evaluate (double[] a, double value)
+	{
+		double result = a[a.length - 1];
+
+		for (int i = a.length - 2; i >= 0; --i)
+		{
+			result = result * value + a[i];
+		}
+
+		return result;
+	}
+
+	/** Evaluates the coefficients a[0] ... a[n] and their first k derivatives for a value of the variable,
+	* in a single pass of the extended Horner's scheme. results[offset + j] receives the j-th derivative,
+	* for j = 0 ... k.
+	*/
+	static void evaluateDerivatives (double[] a, int n, double value, int k, double[] results, int offset)
+	{
+		for (int j = 0; j <= k; ++j)
+		{
+			results[offset + j] = 0.0;
+		}
+
+		results[offset] = a[n];
+
+		//after processing a[i], results[offset + j] holds the j-th Taylor coefficient of the
+		//polynomial a[i] + a[i + 1] x + ... at value; derivatives above n - i are still zero
+		for (int i = n - 1; i >= 0; --i)
+		{
+			for (int j = Math.min (k, n - i); j >= 1; --j)
+			{
+				results[offset + j] = results[offset + j] * value + results[offset + j - 1];
+			}
+
+			results[offset] = results[offset] * value + a[i];
+		}
+
+		//Taylor coefficients to derivatives: the j-th derivative is j! times the j-th coefficient
+		double factorial = 1.0;
+
+		for (int j = 2; j <= k; ++j)
+		{
+			factorial *= j;
+			results[offset + j] *= factorial;
+		}
+	}
+
+	/** Divides a[from] + a[from + 1] x + ... + a[n] x^(n - from) by (x - root) with synthetic division
+	* (Horner's scheme), in place: afterwards the quotient is in a[from + 1] ... a[n] and the rest, which is
+	* also returned, is in a[from].
+	*/
+	static double divideLinearInPlace (double[] a, int from, double root)
+	{
+		for (int i = a.length - 2; i >= from; --i)
+		{
+			a[i] += root * a[i + 1];
+		}
+
+		return a[from];
+	}
+
+	/** Scratch arrays for the FFT multiplications and the Taylor shift, kept from one operation to the next so
+	* that repeated operations don't allocate them again. The arrays only grow. A workspace must not be used by
+	* 2 threads at the same time.
+	*/
+	static final class Workspace
+	{
+		//the transforms of the FFT multiplications, transformlength elements each
+		private double[] re, im, pre, pim;
+
+		//the roots of unity of a transform of transformlength points: cos[i] = cos (2 pi i / transformlength),
+		//sin[i] = sin (2 pi i / transformlength)
+		private double[] cos, sin;
+
+		private int transformlength;
+
+		//Taylor shift: powers[j] = (x + s)^(2^j), with 2^j + 1 coefficients, and the product of each step
+		private double[][] powers = new double[0][];
+		private double[] product = new double[0];
+
+		//makes room for transforms of n points (n a power of 2)
+		private void reserveTransform (int n)
+		{
+			if (n <= this.transformlength)
+			{
+				return;
+			}
+
+			this.re = new double[n];
+			this.im = new double[n];
+			this.pre = new double[n];
+			this.pim = new double[n];
+
+			//the roots of unity are computed directly (not by repeated multiplication) to keep them accurate
+			this.cos = new double[n / 2];
+			this.sin = new double[n / 2];
+
+			for (int i = 0; i < n / 2; ++i)
+			{
+				double angle = 2.0 * Math.PI * i / n;
+
+				this.cos[i] = Math.cos (angle);
+				this.sin[i] = Math.sin (angle);
+			}
+
+			this.transformlength = n;
+		}
+
+		//makes room for the powers (x + s)^(2^j), for j = 0 ... levels, and returns them
+		private double[][] reservePowers (int levels)
+		{
+			if (this.powers.length <= levels)
+			{
+				double[][] bigger = Arrays.copyOf (this.powers, levels + 1);
+
+				for (int j = this.powers.length; j <= levels; ++j)
+				{
+					bigger[j] = new double[(1 << j) + 1];
+				}
+
+				this.powers = bigger;
+			}
+
+			return this.powers;
+		}
+
+		//makes room for a product of n coefficients
+		private void reserveProduct (int n)
+		{
+			if (this.product.length < n)
+			{
+				this.product = new double[n];
+			}
+		}
+	}
+}
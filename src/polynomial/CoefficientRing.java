@@ -0,0 +1,34 @@
+package polynomial;
+
+/** A ring of polynomial coefficients, and the factory of the polynomials over it. The rings available are
+* returned by the methods of CoefficientRings.
+*
+* @param <P> the class of the polynomials over this ring.
+*/
+public interface CoefficientRing<P extends RingPolynomial<P>>
+{
+	/** Returns the zero polynomial of this ring.
+	*
+	* @return the zero polynomial.
+	*/
+	P zero ();
+
+	/** Returns the constant polynomial 1 of this ring.
+	*
+	* @return the polynomial 1.
+	*/
+	P one ();
+
+	/** Creates a polynomial of this ring with integer coefficients (every ring contains the integers, or
+	* their residues).
+	*
+	* @param coefficients the coefficients (index represents the magnitude).
+	*
+	* @throws NullPointerException if the array is null.
+	*
+	* @throws IllegalArgumentException if the array is empty.
+	*
+	* @return the polynomial.
+	*/
+	P fromCoefficients (long... coefficients);
+}
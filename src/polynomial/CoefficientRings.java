@@ -0,0 +1,165 @@
+package polynomial;
+
+/** The coefficient rings available for RingPolynomial, and generic algorithms working for all of them.
+* <br />
+* The generic algorithms are written once, but every call site sees a single ring: a method like power,
+* called with LongPolynomial arguments, only ever calls the methods of LongPolynomial, so the JIT compiler
+* can inline them. Nothing is boxed, whatever the ring.
+*/
+public final class CoefficientRings
+{
+	//utility class, no instances
+	private CoefficientRings ()
+	{
+	}
+
+	/** Returns the ring of the doubles (the same arithmetic as Polynomial).
+	*
+	* @return the ring of doubles.
+	*/
+	public static CoefficientRing<DoublePolynomial> doubles ()
+	{
+		return DoublePolynomial.RING;
+	}
+
+	/** Returns the ring of the 64-bit integers. Every operation checks for overflows.
+	*
+	* @return the ring of longs.
+	*/
+	public static CoefficientRing<LongPolynomial> longs ()
+	{
+		return LongPolynomial.RING;
+	}
+
+	/** Returns the field of the integers modulo a prime.
+	*
+	* @param p the prime.
+	*
+	* @throws IllegalArgumentException if p is not a prime smaller than 2^31.
+	*
+	* @return the field GF(p).
+	*/
+	public static CoefficientRing<ModularPolynomial> integersModulo (long p)
+	{
+		return new ModularPolynomial.Ring (p);
+	}
+
+	/** Returns the field of the rational numbers (exact, with arbitrary precision).
+	*
+	* @return the field of rationals.
+	*/
+	public static CoefficientRing<RationalPolynomial> rationals ()
+	{
+		return RationalPolynomial.RING;
+	}
+
+	/** Raises a polynomial to a power, by repeated squaring.
+	*
+	* @param <P> the class of the polynomial.
+	*
+	* @param p the polynomial.
+	*
+	* @param power the power.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if the power is negative.
+	*
+	* @throws ArithmeticException if the ring can't represent the result.
+	*
+	* @return p raised to the power (the polynomial 1 if the power is 0).
+	*/
+	public static <P extends RingPolynomial<P>> P power (P p, int power)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (power < 0)
+		{
+			throw new IllegalArgumentException ("invalid power");
+		}
+
+		P result = p.getRing ().one ();
+		P square = p;
+
+		while (power > 0)
+		{
+			if ((power & 1) != 0)
+			{
+				result = result.multiply (square);
+			}
+
+			power >>= 1;
+
+			if (power > 0)
+			{
+				square = square.multiply (square);
+			}
+		}
+
+		return result;
+	}
+
+	//the checks of CoefficientRing.fromCoefficients, shared by all the rings
+	static void checkCoefficients (long[] coefficients)
+	{
+		if (coefficients == null)
+		{
+			throw new NullPointerException ("null array provided.");
+		}
+		else if (coefficients.length == 0)
+		{
+			throw new IllegalArgumentException ("at least 1 coefficient is needed.");
+		}
+	}
+
+	//formats the coefficients (index represents the magnitude) like Polynomial.toString does.
+	//coefficients equal to "0" are skipped, negative ones start with '-'
+	static String format (String[] coefficients)
+	{
+		StringBuilder result = new StringBuilder ("P(x) = ");
+		boolean first = true;
+
+		for (int i = coefficients.length - 1; i >= 0; --i)
+		{
+			String c = coefficients[i];
+
+			if (c.equals ("0"))
+			{
+				continue;
+			}
+
+			boolean negative = c.startsWith ("-");
+			String magnitude = negative ? c.substring (1) : c;
+
+			if (first)
+			{
+				result.append (negative ? "- " : "");
+			}
+			else
+			{
+				result.append (negative ? " - " : " + ");
+			}
+
+			if (i == 0 || ! magnitude.equals ("1"))
+			{
+				result.append (magnitude);
+			}
+
+			if (i > 0)
+			{
+				result.append ("x^").append (i);
+			}
+
+			first = false;
+		}
+
+		if (first)
+		{
+			result.append ("0");
+		}
+
+		return result.toString ();
+	}
+}
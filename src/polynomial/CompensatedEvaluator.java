@@ -0,0 +1,157 @@
+package polynomial;
+
+/** Evaluates polynomials with the compensated Horner's scheme. Every rounding error of Horner's scheme is
+* computed exactly with error-free transformations (TwoSum, and TwoProduct through a fused multiply-add),
+* the errors are evaluated as a second polynomial, and the result is corrected with it.
+* The result is as accurate as if Horner's scheme was run in twice the working precision and then rounded:
+* this matters near the roots, where plain Horner's scheme loses everything to cancellation.
+* It costs only a few times a plain evaluation.
+* <br />
+* A running error bound can be computed at the same time. It is guaranteed (barring underflow) to bound
+* the distance between the result and the exact value of the polynomial at the (double) point given.
+*/
+public final class CompensatedEvaluator
+{
+	//the unit roundoff of double, 2^-53
+	private static final double UNIT_ROUNDOFF = 0x1.0p-53;
+
+	//batches are processed in parallel, this many points per task
+	private static final int BATCH_GRAIN = 2048;
+
+	//utility class, no instances
+	private CompensatedEvaluator ()
+	{
+	}
+
+	/** Evaluates a polynomial for a value of its variable with the compensated Horner's scheme.
+	*
+	* @param p the Polynomial to be evaluated.
+	*
+	* @param value the value of the variable.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return the value of the polynomial, accurate as if computed in twice the precision of double.
+	*/
+	public static double evaluate (Polynomial p, double value)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		return evaluate (p.getCoefficientsArray (), p.getBiggestNonZeroIndex (), value, null, 0);
+	}
+
+	/** Evaluates a polynomial for a value of its variable with the compensated Horner's scheme, and bounds
+	* the error of the result.
+	*
+	* @param p the Polynomial to be evaluated.
+	*
+	* @param value the value of the variable.
+	*
+	* @param result the array where the value is written (at index 0) and its error bound (at index 1).
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if result has less than 2 elements.
+	*/
+	public static void evaluate (Polynomial p, double value, double[] result)
+	{
+		if (p == null || result == null)
+		{
+			throw new NullPointerException ("null provided where Polynomial or array was expected.");
+		}
+		else if (result.length < 2)
+		{
+			throw new IllegalArgumentException ("the result array must have at least 2 elements.");
+		}
+
+		result[0] = evaluate (p.getCoefficientsArray (), p.getBiggestNonZeroIndex (), value, result, 1);
+	}
+
+	/** Evaluates a polynomial for many values of its variable with the compensated Horner's scheme.
+	* Big batches are processed in parallel.
+	*
+	* @param p the Polynomial to be evaluated.
+	*
+	* @param values the values of the variable.
+	*
+	* @param results the array where the value for values[i] is written, at index i.
+	*
+	* @param bounds the array where the error bound for values[i] is written, at index i. May be null,
+	* if the bounds are not needed.
+	*
+	* @throws NullPointerException if p, values or results is null.
+	*
+	* @throws IllegalArgumentException if the arrays don't have the same length.
+	*/
+	public static void evaluate (Polynomial p, final double[] values, final double[] results, final double[] bounds)
+	{
+		if (p == null || values == null || results == null)
+		{
+			throw new NullPointerException ("null provided where Polynomial or array was expected.");
+		}
+		else if (values.length != results.length || (bounds != null && bounds.length != values.length))
+		{
+			throw new IllegalArgumentException ("the arrays must have the same length.");
+		}
+
+		final double[] coefficients = p.getCoefficients ();
+		final int n = coefficients.length - 1;
+
+		ParallelLoops.forRange (0, values.length, BATCH_GRAIN, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				for (int i = from; i < to; ++i)
+				{
+					results[i] = evaluate (coefficients, n, values[i], bounds, i);
+				}
+			}
+		});
+	}
+
+	//the compensated Horner's scheme on a[0] ... a[n]. If bounds is not null, the error bound
+	//is written in bounds[index]
+	private static double evaluate (double[] a, int n, double x, double[] bounds, int index)
+	{
+		double s = a[n];
+
+		//the correction (Horner's scheme on the rounding errors), and the same on their absolute values
+		double c = 0.0;
+		double magnitude = 0.0;
+		double absx = Math.abs (x);
+
+		for (int i = n - 1; i >= 0; --i)
+		{
+			//TwoProduct: product + pi = s * x exactly
+			double product = s * x;
+			double pi = Math.fma (s, x, -product);
+
+			//TwoSum: s + sigma = product + a[i] exactly
+			s = product + a[i];
+			double z = s - product;
+			double sigma = (product - (s - z)) + (a[i] - z);
+
+			c = c * x + (pi + sigma);
+			magnitude = magnitude * absx + (Math.abs (pi) + Math.abs (sigma));
+		}
+
+		double result = s + c;
+
+		if (bounds != null)
+		{
+			//a posteriori bound of Langlois and Louvet:
+			//|result - p (x)| <= u |result| + (gamma (4n + 2) * magnitude + 2 u^2 |result|) / (1 - 2 (n + 1) u)
+			double u = UNIT_ROUNDOFF;
+			double gamma = (4 * n + 2) * u / (1.0 - (4 * n + 2) * u);
+			double alpha = (gamma * magnitude + 2.0 * u * u * Math.abs (result)) / (1.0 - 2.0 * (n + 1) * u);
+
+			//round the bound upwards, it is computed in floating point too
+			bounds[index] = Math.nextUp (u * Math.abs (result) + alpha);
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,305 @@
+package polynomial;
+
+/** Low-level kernels for double-double arithmetic on coefficient arrays. A double-double number is the
+* unevaluated sum hi + lo of 2 doubles with |lo| <= ulp (hi) / 2, which gives about 106 bits of precision.
+* A coefficient array is stored as 2 parallel arrays: the high parts and the low parts.
+* <br />
+* The kernels never allocate (except Karatsuba's workspace, once per multiplication): results are written
+* into arrays provided by the caller, at the offsets given. The algorithms for the basic operations are
+* the usual ones of the QD library (Hida, Li and Bailey), with TwoProduct done by a fused multiply-add.
+*/
+final class DoubleDoubleKernels
+{
+	//below this length, schoolbook multiplication beats Karatsuba
+	private static final int KARATSUBA_THRESHOLD = 32;
+
+	//utility class, no instances
+	private DoubleDoubleKernels ()
+	{
+	}
+
+	/** Adds the double-double (bhi, blo) to hi[i] + lo[i], in place. */
+	static void addTo (double[] hi, double[] lo, int i, double bhi, double blo)
+	{
+		double ahi = hi[i], alo = lo[i];
+
+		//TwoSum of the high parts and of the low parts
+		double s = ahi + bhi;
+		double v = s - ahi;
+		double e = (ahi - (s - v)) + (bhi - v);
+
+		double t = alo + blo;
+		double w = t - alo;
+		double f = (alo - (t - w)) + (blo - w);
+
+		//2 renormalizations (QuickTwoSum)
+		e += t;
+		double r = s + e;
+		e = e - (r - s);
+
+		e += f;
+		s = r + e;
+
+		hi[i] = s;
+		lo[i] = e - (s - r);
+	}
+
+	/** Computes a[i] + b[i] (or a[i] - b[i] if subtract is true) for i < length into r[i]. Missing elements
+	* (past the end of an operand) are zero. The result arrays may be the same as the first operand.
+	*/
+	static void add (double[] ahi, double[] alo, double[] bhi, double[] blo, boolean subtract,
+					 double[] rhi, double[] rlo, int length)
+	{
+		double sign = subtract ? -1.0 : 1.0;
+
+		for (int i = 0; i < length; ++i)
+		{
+			rhi[i] = (i < ahi.length) ? ahi[i] : 0.0;
+			rlo[i] = (i < alo.length) ? alo[i] : 0.0;
+
+			if (i < bhi.length)
+			{
+				addTo (rhi, rlo, i, sign * bhi[i], sign * blo[i]);
+			}
+		}
+	}
+
+	/** Multiplies a (with na coefficients) by b (with nb coefficients) into r[0] ... r[na + nb - 2], which
+	* is overwritten.
+	*/
+	static void multiply (double[] ahi, double[] alo, int na, double[] bhi, double[] blo, int nb, double[] rhi, double[] rlo)
+	{
+		if (Math.min (na, nb) < KARATSUBA_THRESHOLD)
+		{
+			multiplySchoolbook (ahi, alo, 0, na, bhi, blo, 0, nb, rhi, rlo, 0);
+			return;
+		}
+
+		//Karatsuba needs operands of the same length: the longer operand is cut in blocks as long as the
+		//shorter one, and the products of the blocks are added at their offsets
+		boolean swap = nb < na;
+
+		double[] shorthi = swap ? bhi : ahi, shortlo = swap ? blo : alo;
+		double[] longhi = swap ? ahi : bhi, longlo = swap ? alo : blo;
+		int n = Math.min (na, nb), nlong = Math.max (na, nb);
+
+		double[] producthi = new double[2 * n - 1];
+		double[] productlo = new double[2 * n - 1];
+
+		//the workspace of all the recursion levels: each level needs 4 * ceil (n / 2) elements
+		double[] workhi = new double[4 * n + 8 * 32];
+		double[] worklo = new double[workhi.length];
+
+		for (int k = 0; k < na + nb - 1; ++k)
+		{
+			rhi[k] = 0.0;
+			rlo[k] = 0.0;
+		}
+
+		for (int offset = 0; offset < nlong; offset += n)
+		{
+			int length = Math.min (n, nlong - offset);
+
+			if (length < KARATSUBA_THRESHOLD)
+			{
+				multiplySchoolbook (shorthi, shortlo, 0, n, longhi, longlo, offset, length, producthi, productlo, 0);
+			}
+			else if (length < n)
+			{
+				//the last block is padded with zeros
+				double[] blockhi = new double[n];
+				double[] blocklo = new double[n];
+
+				System.arraycopy (longhi, offset, blockhi, 0, length);
+				System.arraycopy (longlo, offset, blocklo, 0, length);
+
+				karatsuba (shorthi, shortlo, 0, blockhi, blocklo, 0, n, producthi, productlo, 0, workhi, worklo, 0);
+			}
+			else
+			{
+				karatsuba (shorthi, shortlo, 0, longhi, longlo, offset, n, producthi, productlo, 0, workhi, worklo, 0);
+			}
+
+			for (int i = 0; i < n + length - 1; ++i)
+			{
+				addTo (rhi, rlo, offset + i, producthi[i], productlo[i]);
+			}
+		}
+	}
+
+	//the classical O(n*m) multiplication: r[roff ...] = a[aoff ...] * b[boff ...]
+	private static void multiplySchoolbook (double[] ahi, double[] alo, int aoff, int na,
+											double[] bhi, double[] blo, int boff, int nb,
+											double[] rhi, double[] rlo, int roff)
+	{
+		for (int k = 0; k < na + nb - 1; ++k)
+		{
+			rhi[roff + k] = 0.0;
+			rlo[roff + k] = 0.0;
+		}
+
+		for (int i = 0; i < na; ++i)
+		{
+			double xhi = ahi[aoff + i], xlo = alo[aoff + i];
+
+			//zero coefficients don't contribute anything
+			if (xhi == 0.0)
+			{
+				continue;
+			}
+
+			for (int j = 0; j < nb; ++j)
+			{
+				double yhi = bhi[boff + j], ylo = blo[boff + j];
+
+				//TwoProduct of the high parts, plus the cross terms
+				double p = xhi * yhi;
+				double e = Math.fma (xhi, yhi, -p) + (xhi * ylo + xlo * yhi);
+
+				double s = p + e;
+
+				addTo (rhi, rlo, roff + i + j, s, e - (s - p));
+			}
+		}
+	}
+
+	//Karatsuba on 2 operands of n coefficients: r[roff ... roff + 2n - 2] = a * b.
+	//work[woff ...] is free to use
+	private static void karatsuba (double[] ahi, double[] alo, int aoff, double[] bhi, double[] blo, int boff, int n,
+								   double[] rhi, double[] rlo, int roff, double[] workhi, double[] worklo, int woff)
+	{
+		if (n < KARATSUBA_THRESHOLD)
+		{
+			multiplySchoolbook (ahi, alo, aoff, n, bhi, blo, boff, n, rhi, rlo, roff);
+			return;
+		}
+
+		int m = n / 2, h = n - m;
+
+		//z0 = a0 * b0 goes in r[0 ... 2m - 2], z2 = a1 * b1 in r[2m ... 2n - 2]
+		karatsuba (ahi, alo, aoff, bhi, blo, boff, m, rhi, rlo, roff, workhi, worklo, woff);
+		karatsuba (ahi, alo, aoff + m, bhi, blo, boff + m, h, rhi, rlo, roff + 2 * m, workhi, worklo, woff);
+
+		rhi[roff + 2 * m - 1] = 0.0;
+		rlo[roff + 2 * m - 1] = 0.0;
+
+		//sa = a0 + a1 and sb = b0 + b1 (h coefficients each), then z1 = sa * sb (2h - 1 coefficients)
+		int sa = woff, sb = woff + h, z1 = woff + 2 * h;
+
+		for (int i = 0; i < h; ++i)
+		{
+			workhi[sa + i] = ahi[aoff + m + i];
+			worklo[sa + i] = alo[aoff + m + i];
+			workhi[sb + i] = bhi[boff + m + i];
+			worklo[sb + i] = blo[boff + m + i];
+
+			if (i < m)
+			{
+				addTo (workhi, worklo, sa + i, ahi[aoff + i], alo[aoff + i]);
+				addTo (workhi, worklo, sb + i, bhi[boff + i], blo[boff + i]);
+			}
+		}
+
+		karatsuba (workhi, worklo, sa, workhi, worklo, sb, h, workhi, worklo, z1, workhi, worklo, z1 + 2 * h - 1);
+
+		//z1 -= z0 + z2
+		for (int i = 0; i < 2 * m - 1; ++i)
+		{
+			addTo (workhi, worklo, z1 + i, -rhi[roff + i], -rlo[roff + i]);
+		}
+
+		for (int i = 0; i < 2 * h - 1; ++i)
+		{
+			addTo (workhi, worklo, z1 + i, -rhi[roff + 2 * m + i], -rlo[roff + 2 * m + i]);
+		}
+
+		//r += z1 * x^m
+		for (int i = 0; i < 2 * h - 1; ++i)
+		{
+			addTo (rhi, rlo, roff + m + i, workhi[z1 + i], worklo[z1 + i]);
+		}
+	}
+
+	/** Divides a (na coefficients) by b (nb coefficients, the last one non-zero), in place: the remainder
+	* is left in a[0] ... a[nb - 2] (the rest of a is cleared) and the quotient is written in
+	* q[0] ... q[na - nb]. na must be at least nb.
+	*/
+	static void divideInPlace (double[] ahi, double[] alo, int na, double[] bhi, double[] blo, int nb, double[] qhi, double[] qlo)
+	{
+		double leadhi = bhi[nb - 1], leadlo = blo[nb - 1];
+
+		for (int i = na - 1; i >= nb - 1; --i)
+		{
+			int k = i - nb + 1;
+
+			//q = a[i] / lead: first approximation, then 1 correction with the exact rest a[i] - q1 * lead
+			double q1 = ahi[i] / leadhi;
+
+			double p = q1 * leadhi;
+			double e = Math.fma (q1, leadhi, -p) + q1 * leadlo;
+
+			double s = ahi[i] - p;
+			double f = ((ahi[i] - s) - p) - e + alo[i];
+
+			double q2 = (s + f) / leadhi;
+
+			double quotienthi = q1 + q2;
+			double quotientlo = q2 - (quotienthi - q1);
+
+			qhi[k] = quotienthi;
+			qlo[k] = quotientlo;
+
+			//a -= q * b * x^k. The leading term cancels by construction
+			for (int j = 0; j < nb - 1; ++j)
+			{
+				double ph = quotienthi * bhi[j];
+				double pe = Math.fma (quotienthi, bhi[j], -ph) + (quotienthi * blo[j] + quotientlo * bhi[j]);
+
+				double ps = ph + pe;
+
+				addTo (ahi, alo, k + j, -ps, -(pe - (ps - ph)));
+			}
+
+			ahi[i] = 0.0;
+			alo[i] = 0.0;
+		}
+	}
+
+	/** Evaluates a[0] ... a[n] for a value of the variable with Horner's scheme in double-double arithmetic.
+	* The high part of the result is written in result[offset], the low part in result[offset + 1].
+	*/
+	static void evaluate (double[] ahi, double[] alo, int n, double xhi, double xlo, double[] result, int offset)
+	{
+		double rhi = ahi[n], rlo = alo[n];
+
+		for (int i = n - 1; i >= 0; --i)
+		{
+			//r = r * x
+			double p = rhi * xhi;
+			double e = Math.fma (rhi, xhi, -p) + (rhi * xlo + rlo * xhi);
+
+			rhi = p + e;
+			rlo = e - (rhi - p);
+
+			//r = r + a[i]
+			double s = rhi + ahi[i];
+			double v = s - rhi;
+			double f = (rhi - (s - v)) + (ahi[i] - v);
+
+			double t = rlo + alo[i];
+			double w = t - rlo;
+			double g = (rlo - (t - w)) + (alo[i] - w);
+
+			f += t;
+			double u = s + f;
+			f = f - (u - s);
+
+			f += g;
+			rhi = u + f;
+			rlo = f - (rhi - u);
+		}
+
+		result[offset] = rhi;
+		result[offset + 1] = rlo;
+	}
+}
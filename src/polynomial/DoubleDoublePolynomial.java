@@ -0,0 +1,367 @@
+package polynomial;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/** An immutable polynomial with double-double coefficients: every coefficient is the unevaluated sum of
+* 2 doubles (a high part and a low part), which gives about 106 bits of precision (32 decimal digits)
+* instead of the 53 bits of Polynomial. The arithmetic costs a small constant factor more than the one
+* of Polynomial, far less than BigDecimal.
+* <br />
+* The coefficients are stored as 2 primitive arrays (high parts and low parts), and all the operations
+* run on them directly, without creating any intermediate objects.
+*/
+public final class DoubleDoublePolynomial implements Serializable
+{
+	//high and low parts of the coefficients (index represents the magnitude). Always trimmed: the last
+	//coefficient is non-zero, unless the polynomial is zero (and then both arrays have 1 element)
+	private final double[] hi, lo;
+
+	/** The serial version ID for this current implementation of this class (used by the Serializable interface).
+	*/
+	private static final long serialVersionUID = 4127385020581740553L;
+
+	/** Creates a double-double polynomial with the same coefficients as a Polynomial (the conversion is exact).
+	*
+	* @param p the Polynomial to be converted.
+	*
+	* @throws NullPointerException if p is null.
+	*/
+	public DoubleDoublePolynomial (Polynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		this.hi = p.getCoefficients ();
+		this.lo = new double[this.hi.length];
+	}
+
+	/** Creates a double-double polynomial from the high and low parts of its coefficients. The parts are
+	* renormalized, so any pair of doubles is accepted for a coefficient.
+	*
+	* @param high the high parts of the coefficients (index represents the magnitude).
+	*
+	* @param low the low parts of the coefficients. It may be shorter than high (the missing parts are zero).
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if high is empty or low is longer than high.
+	*/
+	public DoubleDoublePolynomial (double[] high, double[] low)
+	{
+		if (high == null || low == null)
+		{
+			throw new NullPointerException ("null array provided.");
+		}
+		else if (high.length == 0 || low.length > high.length)
+		{
+			throw new IllegalArgumentException ("invalid coefficient arrays.");
+		}
+
+		double[] h = new double[high.length];
+		double[] l = new double[high.length];
+
+		for (int i = 0; i < high.length; ++i)
+		{
+			h[i] = high[i];
+			DoubleDoubleKernels.addTo (h, l, i, (i < low.length) ? low[i] : 0.0, 0.0);
+		}
+
+		int length = length (h, l);
+
+		this.hi = Arrays.copyOf (h, length);
+		this.lo = Arrays.copyOf (l, length);
+	}
+
+	//adopts the arrays (no copy), trimming them if needed
+	private DoubleDoublePolynomial (double[] high, double[] low, int length)
+	{
+		length = Math.min (length, length (high, low));
+
+		this.hi = (length == high.length) ? high : Arrays.copyOf (high, length);
+		this.lo = (length == low.length) ? low : Arrays.copyOf (low, length);
+	}
+
+	//the number of coefficients up to the last non-zero one (at least 1)
+	private static int length (double[] high, double[] low)
+	{
+		int i = high.length - 1;
+
+		while (i > 0 && high[i] == 0.0 && low[i] == 0.0)
+		{
+			i--;
+		}
+
+		return i + 1;
+	}
+
+	/** Returns the degree of this polynomial. A zero polynomial has degree 0.
+	*
+	* @return the degree.
+	*/
+	public int getDegree ()
+	{
+		return this.hi.length - 1;
+	}
+
+	/** Returns the high part of a coefficient.
+	*
+	* @param magnitude the magnitude of the coefficient.
+	*
+	* @return the high part of the coefficient, or zero if the magnitude is bigger than the degree.
+	*
+	* @throws IllegalArgumentException if the magnitude is negative.
+	*/
+	public double getHigh (int magnitude)
+	{
+		checkMagnitude (magnitude);
+
+		return (magnitude < this.hi.length) ? this.hi[magnitude] : 0.0;
+	}
+
+	/** Returns the low part of a coefficient.
+	*
+	* @param magnitude the magnitude of the coefficient.
+	*
+	* @return the low part of the coefficient, or zero if the magnitude is bigger than the degree.
+	*
+	* @throws IllegalArgumentException if the magnitude is negative.
+	*/
+	public double getLow (int magnitude)
+	{
+		checkMagnitude (magnitude);
+
+		return (magnitude < this.lo.length) ? this.lo[magnitude] : 0.0;
+	}
+
+	private static void checkMagnitude (int magnitude)
+	{
+		if (magnitude < 0)
+		{
+			throw new IllegalArgumentException ("element with that magnitude does not exist.");
+		}
+	}
+
+	/** Tells whether all the coefficients are zero.
+	*
+	* @return true if this is the zero polynomial, false otherwise.
+	*/
+	public boolean isZero ()
+	{
+		return this.hi.length == 1 && this.hi[0] == 0.0 && this.lo[0] == 0.0;
+	}
+
+	/** Adds a polynomial to this one.
+	*
+	* @param p the polynomial to be added.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return the sum.
+	*/
+	public DoubleDoublePolynomial add (DoubleDoublePolynomial p)
+	{
+		return add (p, false);
+	}
+
+	/** Subtracts a polynomial from this one.
+	*
+	* @param p the polynomial to be subtracted.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return the difference (this minus p).
+	*/
+	public DoubleDoublePolynomial subtract (DoubleDoublePolynomial p)
+	{
+		return add (p, true);
+	}
+
+	private DoubleDoublePolynomial add (DoubleDoublePolynomial p, boolean subtract)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		int length = Math.max (this.hi.length, p.hi.length);
+
+		double[] rhi = new double[length];
+		double[] rlo = new double[length];
+
+		DoubleDoubleKernels.add (this.hi, this.lo, p.hi, p.lo, subtract, rhi, rlo, length);
+
+		return new DoubleDoublePolynomial (rhi, rlo, length);
+	}
+
+	/** Multiplies this polynomial by another one. Karatsuba's algorithm is used for big polynomials.
+	*
+	* @param p the polynomial to be multiplied with.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return the product.
+	*/
+	public DoubleDoublePolynomial multiply (DoubleDoublePolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		int length = this.hi.length + p.hi.length - 1;
+
+		double[] rhi = new double[length];
+		double[] rlo = new double[length];
+
+		DoubleDoubleKernels.multiply (this.hi, this.lo, this.hi.length, p.hi, p.lo, p.hi.length, rhi, rlo);
+
+		return new DoubleDoublePolynomial (rhi, rlo, length);
+	}
+
+	/** Divides this polynomial by another one.
+	*
+	* @param p the divisor.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws ArithmeticException if p is the zero polynomial.
+	*
+	* @return an array of size 2: the quotient at index 0 and the rest at index 1. Both are non-null.
+	*/
+	public DoubleDoublePolynomial[] divide (DoubleDoublePolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (p.isZero ())
+		{
+			throw new ArithmeticException ("DIVISION BY ZERO ERROR");
+		}
+
+		DoubleDoublePolynomial[] result = new DoubleDoublePolynomial[2];
+		int na = this.hi.length, nb = p.hi.length;
+
+		if (na < nb)
+		{
+			result[0] = new DoubleDoublePolynomial (new double[1], new double[1], 1);
+			result[1] = this;
+
+			return result;
+		}
+
+		double[] resthi = this.hi.clone ();
+		double[] restlo = this.lo.clone ();
+		double[] qhi = new double[na - nb + 1];
+		double[] qlo = new double[na - nb + 1];
+
+		DoubleDoubleKernels.divideInPlace (resthi, restlo, na, p.hi, p.lo, nb, qhi, qlo);
+
+		result[0] = new DoubleDoublePolynomial (qhi, qlo, qhi.length);
+		result[1] = new DoubleDoublePolynomial (resthi, restlo, Math.max (nb - 1, 1));
+
+		return result;
+	}
+
+	/** Evaluates this polynomial for a value of its variable, in double-double arithmetic.
+	*
+	* @param value the value of the variable.
+	*
+	* @return the value of the polynomial, rounded to a double.
+	*/
+	public double evaluate (double value)
+	{
+		double[] result = new double[2];
+		evaluate (value, 0.0, result);
+
+		return result[0] + result[1];
+	}
+
+	/** Evaluates this polynomial for a double-double value of its variable, in double-double arithmetic,
+	* without allocating anything.
+	*
+	* @param high the high part of the value of the variable.
+	*
+	* @param low the low part of the value of the variable.
+	*
+	* @param result the array where the high part of the value of the polynomial is written (at index 0)
+	* and its low part (at index 1).
+	*
+	* @throws NullPointerException if result is null.
+	*
+	* @throws IllegalArgumentException if result has less than 2 elements.
+	*/
+	public void evaluate (double high, double low, double[] result)
+	{
+		if (result == null)
+		{
+			throw new NullPointerException ("null array provided.");
+		}
+		else if (result.length < 2)
+		{
+			throw new IllegalArgumentException ("the result array must have at least 2 elements.");
+		}
+
+		DoubleDoubleKernels.evaluate (this.hi, this.lo, this.hi.length - 1, high, low, result, 0);
+	}
+
+	/** Converts this polynomial to a Polynomial, rounding every coefficient to the nearest double.
+	*
+	* @return the rounded Polynomial.
+	*/
+	public Polynomial toPolynomial ()
+	{
+		double[] coefficients = new double[this.hi.length];
+
+		for (int i = 0; i < coefficients.length; ++i)
+		{
+			coefficients[i] = this.hi[i] + this.lo[i];
+		}
+
+		return new Polynomial (coefficients);
+	}
+
+	/** Checks if this object is equal to the object provided. Two double-double polynomials are equal if
+	* all their coefficients have equal high and low parts.
+	*
+	* @param o the object to be compared.
+	*
+	* @return true if the object is an equal DoubleDoublePolynomial, false otherwise.
+	*/
+	@Override public boolean equals (Object o)
+	{
+		if (o == this)
+		{
+			return true;
+		}
+		else if (! (o instanceof DoubleDoublePolynomial))
+		{
+			return false;
+		}
+
+		DoubleDoublePolynomial p = (DoubleDoublePolynomial) o;
+
+		return Arrays.equals (this.hi, p.hi) && Arrays.equals (this.lo, p.lo);
+	}
+
+	/** Returns a hash code for this polynomial.
+	*
+	* @return the hash code of this polynomial.
+	*/
+	@Override public int hashCode ()
+	{
+		return 31 * Arrays.hashCode (this.hi) + Arrays.hashCode (this.lo);
+	}
+
+	/** Returns a string representation of this polynomial (with the coefficients rounded to doubles).
+	*
+	* @return a String representation of this polynomial.
+	*/
+	@Override public String toString ()
+	{
+		return toPolynomial ().toString ();
+	}
+}
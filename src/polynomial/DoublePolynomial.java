@@ -0,0 +1,221 @@
+package polynomial;
+
+import java.util.Arrays;
+
+/** An immutable polynomial over the ring of doubles, stored as a primitive double array. Unlike Polynomial,
+* it has no maximum size and multiplies big operands with the FFT.
+*/
+public final class DoublePolynomial implements RingPolynomial<DoublePolynomial>
+{
+	//the ring of the doubles
+	static final CoefficientRing<DoublePolynomial> RING = new CoefficientRing<DoublePolynomial> ()
+	{
+		private final DoublePolynomial zero = new DoublePolynomial (new double[1]);
+		private final DoublePolynomial one = new DoublePolynomial (new double[] { 1.0 });
+
+		@Override public DoublePolynomial zero ()
+		{
+			return this.zero;
+		}
+
+		@Override public DoublePolynomial one ()
+		{
+			return this.one;
+		}
+
+		@Override public DoublePolynomial fromCoefficients (long... coefficients)
+		{
+			CoefficientRings.checkCoefficients (coefficients);
+
+			double[] c = new double[coefficients.length];
+
+			for (int i = 0; i < c.length; ++i)
+			{
+				c[i] = coefficients[i];
+			}
+
+			return new DoublePolynomial (c);
+		}
+
+		@Override public String toString ()
+		{
+			return "R";
+		}
+	};
+
+	//the coefficients (index represents the magnitude), always trimmed
+	private final double[] coefficients;
+
+	/** Creates a polynomial with the same coefficients as a Polynomial.
+	*
+	* @param p the Polynomial to be converted.
+	*
+	* @throws NullPointerException if p is null.
+	*/
+	public DoublePolynomial (Polynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		this.coefficients = p.getCoefficients ();
+	}
+
+	//adopts the array (no copy), trimming it if needed
+	private DoublePolynomial (double[] coefficients)
+	{
+		this.coefficients = CoefficientKernels.trim (coefficients);
+	}
+
+	/** Returns a coefficient.
+	*
+	* @param magnitude the magnitude of the coefficient.
+	*
+	* @throws IllegalArgumentException if the magnitude is negative.
+	*
+	* @return the coefficient, zero if the magnitude is bigger than the degree.
+	*/
+	public double getCoefficient (int magnitude)
+	{
+		if (magnitude < 0)
+		{
+			throw new IllegalArgumentException ("element with that magnitude does not exist.");
+		}
+
+		return (magnitude < this.coefficients.length) ? this.coefficients[magnitude] : 0.0;
+	}
+
+	/** Evaluates this polynomial for a value of its variable (with Horner's scheme).
+	*
+	* @param value the value of the variable.
+	*
+	* @return the value of the polynomial.
+	*/
+	public double evaluate (double value)
+	{
+		return CoefficientKernels.evaluate (this.coefficients, value);
+	}
+
+	@Override public CoefficientRing<DoublePolynomial> getRing ()
+	{
+		return RING;
+	}
+
+	@Override public int getDegree ()
+	{
+		return this.coefficients.length - 1;
+	}
+
+	@Override public boolean isZero ()
+	{
+		return this.coefficients.length == 1 && this.coefficients[0] == 0.0;
+	}
+
+	@Override public DoublePolynomial add (DoublePolynomial p)
+	{
+		return add (p, 1.0);
+	}
+
+	@Override public DoublePolynomial subtract (DoublePolynomial p)
+	{
+		return add (p, -1.0);
+	}
+
+	//this + sign * p
+	private DoublePolynomial add (DoublePolynomial p, double sign)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		double[] a = this.coefficients, b = p.coefficients;
+		double[] result = Arrays.copyOf (a, Math.max (a.length, b.length));
+
+		for (int i = 0; i < b.length; ++i)
+		{
+			result[i] += sign * b[i];
+		}
+
+		return new DoublePolynomial (result);
+	}
+
+	@Override public DoublePolynomial multiply (DoublePolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		return new DoublePolynomial (CoefficientKernels.multiply (this.coefficients, p.coefficients));
+	}
+
+	@Override public DoublePolynomial[] divide (DoublePolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (p.isZero ())
+		{
+			throw new ArithmeticException ("DIVISION BY ZERO ERROR");
+		}
+
+		double[] b = p.coefficients;
+		int db = b.length - 1;
+
+		double[] rest = this.coefficients.clone ();
+		double[] quotient = new double[Math.max (rest.length - db, 1)];
+
+		//long division
+		for (int i = rest.length - 1; i >= db; --i)
+		{
+			double q = rest[i] / b[db];
+			quotient[i - db] = q;
+
+			for (int j = 0; j < db; ++j)
+			{
+				rest[i - db + j] -= q * b[j];
+			}
+
+			rest[i] = 0.0;
+		}
+
+		return new DoublePolynomial[] { new DoublePolynomial (quotient), new DoublePolynomial (rest) };
+	}
+
+	@Override public Polynomial toPolynomial ()
+	{
+		return new Polynomial (this.coefficients.clone ());
+	}
+
+	/** Checks if this object is equal to the object provided: a DoublePolynomial with the same coefficients.
+	*
+	* @param o the object to be compared.
+	*
+	* @return true if the objects are equal, false otherwise.
+	*/
+	@Override public boolean equals (Object o)
+	{
+		return (o instanceof DoublePolynomial) && Arrays.equals (this.coefficients, ((DoublePolynomial) o).coefficients);
+	}
+
+	/** Returns a hash code for this polynomial.
+	*
+	* @return the hash code of this polynomial.
+	*/
+	@Override public int hashCode ()
+	{
+		return Arrays.hashCode (this.coefficients);
+	}
+
+	/** Returns a string representation of this polynomial.
+	*
+	* @return a String representation of this polynomial.
+	*/
+	@Override public String toString ()
+	{
+		return toPolynomial ().toString ();
+	}
+}
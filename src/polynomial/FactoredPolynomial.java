@@ -0,0 +1,440 @@
+package polynomial;
+
+import java.util.Arrays;
+
+/** A polynomial kept as a product of factors, which are never multiplied unless the expanded form is needed.
+* Multiplying 2 such products only concatenates their factors, evaluating one multiplies the values of its
+* factors (O(n) for a total degree of n) and its derivative is evaluated with the logarithmic derivative
+* P' / P = f1' / f1 + ... + fk' / fk. The remainder of the division by a small polynomial is computed without
+* expanding the product either.
+* <br />
+* When the expanded form is needed, the factors are multiplied in a balanced product tree (the operands of
+* every multiplication have similar degrees, which is what makes the FFT multiplication pay off), so the
+* expansion costs O(M(n) log n) instead of the O(n^2) of multiplying the factors one by one.
+* <br />
+* Objects of this class are immutable, so they can be shared between threads.
+*/
+public final class FactoredPolynomial
+{
+	//the factors (index represents the magnitude), always trimmed. They are never modified, so they are
+	//shared between the products created by multiply
+	private final double[][] factors;
+
+	/** Creates the product of the polynomials provided. An empty array gives the constant 1.
+	*
+	* @param factors the factors. The polynomials are copied.
+	*
+	* @throws NullPointerException if the array or any of its polynomials is null.
+	*/
+	public FactoredPolynomial (Polynomial... factors)
+	{
+		if (factors == null)
+		{
+			throw new NullPointerException ("null array provided.");
+		}
+
+		this.factors = new double[factors.length][];
+
+		for (int i = 0; i < factors.length; ++i)
+		{
+			if (factors[i] == null)
+			{
+				throw new NullPointerException ("null polynomial provided.");
+			}
+
+			this.factors[i] = factors[i].getCoefficients ();
+		}
+	}
+
+	//adopts the array of factors (no copy)
+	private FactoredPolynomial (double[][] factors)
+	{
+		this.factors = factors;
+	}
+
+	/** Creates the product (x - roots[0]) * (x - roots[1]) * ...
+	*
+	* @param roots the roots.
+	*
+	* @throws NullPointerException if roots is null.
+	*
+	* @return the monic polynomial having those roots. An empty array gives the constant 1.
+	*/
+	public static FactoredPolynomial fromRoots (double[] roots)
+	{
+		if (roots == null)
+		{
+			throw new NullPointerException ("null array provided.");
+		}
+
+		double[][] factors = new double[roots.length][];
+
+		for (int i = 0; i < roots.length; ++i)
+		{
+			factors[i] = new double[] { -roots[i], 1.0 };
+		}
+
+		return new FactoredPolynomial (factors);
+	}
+
+	/** Returns the number of factors.
+	*
+	* @return the number of factors.
+	*/
+	public int getFactorCount ()
+	{
+		return this.factors.length;
+	}
+
+	/** Returns one of the factors.
+	*
+	* @param index the index of the factor, between 0 and getFactorCount () - 1.
+	*
+	* @throws IllegalArgumentException if the index is out of range.
+	*
+	* @return a copy of the factor.
+	*/
+	public Polynomial getFactor (int index)
+	{
+		if (index < 0 || index >= this.factors.length)
+		{
+			throw new IllegalArgumentException ("factor with that index does not exist.");
+		}
+
+		return new Polynomial (this.factors[index].clone ());
+	}
+
+	/** Returns the degree of the product (the sum of the degrees of the factors, 0 if any factor is zero).
+	*
+	* @return the degree.
+	*/
+	public int getDegree ()
+	{
+		int degree = 0;
+
+		for (double[] f : this.factors)
+		{
+			if (f.length == 1 && f[0] == 0.0)
+			{
+				return 0;
+			}
+
+			degree += f.length - 1;
+		}
+
+		return degree;
+	}
+
+	/** Multiplies this product by another one (only their factors are concatenated).
+	*
+	* @param p the other product.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return the product.
+	*/
+	public FactoredPolynomial multiply (FactoredPolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		double[][] result = Arrays.copyOf (this.factors, this.factors.length + p.factors.length);
+		System.arraycopy (p.factors, 0, result, this.factors.length, p.factors.length);
+
+		return new FactoredPolynomial (result);
+	}
+
+	/** Multiplies this product by a polynomial, which becomes a new factor.
+	*
+	* @param p the polynomial.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return the product.
+	*/
+	public FactoredPolynomial multiply (Polynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		double[][] result = Arrays.copyOf (this.factors, this.factors.length + 1);
+		result[this.factors.length] = p.getCoefficients ();
+
+		return new FactoredPolynomial (result);
+	}
+
+	/** Evaluates the product for a value of its variable, by multiplying the values of the factors.
+	*
+	* @param value the value of the variable.
+	*
+	* @return the value of the product.
+	*/
+	public double evaluate (double value)
+	{
+		double result = 1.0;
+
+		for (double[] f : this.factors)
+		{
+			result *= CoefficientKernels.evaluate (f, value);
+		}
+
+		return result;
+	}
+
+	/** Evaluates the derivative of the product for a value of its variable, as P (value) times the
+	* logarithmic derivative (the factors vanishing at value are handled separately).
+	*
+	* @param value the value of the variable.
+	*
+	* @return the value of the derivative.
+	*/
+	public double evaluateDerivative (double value)
+	{
+		double[] results = new double[2];
+
+		//the product of the non zero values, the sum of their logarithmic derivatives and the number of zero values
+		double product = 1.0, sum = 0.0, zeroderivative = 0.0;
+		int zeros = 0;
+
+		for (double[] f : this.factors)
+		{
+			CoefficientKernels.evaluateDerivatives (f, f.length - 1, value, 1, results, 0);
+
+			if (results[0] == 0.0)
+			{
+				zeros++;
+				zeroderivative = results[1];
+			}
+			else
+			{
+				product *= results[0];
+				sum += results[1] / results[0];
+			}
+		}
+
+		//the product rule: with 1 zero factor, only the term where it's derived survives; with more, none does
+		switch (zeros)
+		{
+			case 0: return product * sum;
+			case 1: return product * zeroderivative;
+			default: return 0.0;
+		}
+	}
+
+	/** Evaluates the logarithmic derivative P' / P for a value of the variable, as the sum of the logarithmic
+	* derivatives of the factors. A Newton step for a root of the product is then value - 1 / result.
+	*
+	* @param value the value of the variable.
+	*
+	* @return the logarithmic derivative, infinite or NaN if value is a root of a factor.
+	*/
+	public double evaluateLogarithmicDerivative (double value)
+	{
+		double[] results = new double[2];
+		double sum = 0.0;
+
+		for (double[] f : this.factors)
+		{
+			CoefficientKernels.evaluateDerivatives (f, f.length - 1, value, 1, results, 0);
+			sum += results[1] / results[0];
+		}
+
+		return sum;
+	}
+
+	/** Multiplies the factors, in a balanced product tree.
+	*
+	* @return the expanded polynomial.
+	*/
+	public Polynomial expand ()
+	{
+		if (this.factors.length == 0)
+		{
+			return new Polynomial (new double[] { 1.0 });
+		}
+
+		//a single factor is its own product, so it's copied (the polynomial adopts the array)
+		double[] result = product (0, this.factors.length);
+
+		return new Polynomial (CoefficientKernels.trim ((this.factors.length == 1) ? result.clone () : result));
+	}
+
+	/** Returns the derivative of the product, expanded. The product rule is applied in the nodes of the balanced
+	* product tree, (L * R)' = L' * R + L * R', so this costs about 3 times as much as expand.
+	*
+	* @return the derivative.
+	*/
+	public Polynomial derivative ()
+	{
+		if (this.factors.length == 0)
+		{
+			return new Polynomial (1);
+		}
+
+		return new Polynomial (CoefficientKernels.trim (productAndDerivative (0, this.factors.length)[1]));
+	}
+
+	/** Divides the product by a polynomial. The remainder is computed like remainder does; if the divisor is one
+	* of the factors (it has the same coefficients), the quotient is the product of the other factors and the
+	* remainder is zero, otherwise the product is expanded and divided.
+	*
+	* @param divisor the divisor.
+	*
+	* @throws NullPointerException if divisor is null.
+	*
+	* @throws ArithmeticException if divisor is zero.
+	*
+	* @return an array of 2 Polynomials, the quotient and the remainder.
+	*/
+	public Polynomial[] divide (Polynomial divisor)
+	{
+		if (divisor == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (divisor.isZero ())
+		{
+			throw new ArithmeticException ("DIVISION BY ZERO ERROR");
+		}
+
+		double[] d = divisor.getCoefficients ();
+
+		for (int i = 0; i < this.factors.length; ++i)
+		{
+			if (Arrays.equals (this.factors[i], d))
+			{
+				double[][] others = new double[this.factors.length - 1][];
+				System.arraycopy (this.factors, 0, others, 0, i);
+				System.arraycopy (this.factors, i + 1, others, i, others.length - i);
+
+				return new Polynomial[] { new FactoredPolynomial (others).expand (), new Polynomial (1) };
+			}
+		}
+
+		return PolynomialOperations.divide (expand (), divisor);
+	}
+
+	/** Returns the remainder of the division of the product by a polynomial, without expanding the product: the
+	* products of the tree are reduced modulo the divisor, so no intermediate result has a degree bigger than
+	* twice the degree of the divisor.
+	*
+	* @param divisor the divisor.
+	*
+	* @throws NullPointerException if divisor is null.
+	*
+	* @throws ArithmeticException if divisor is zero.
+	*
+	* @return the remainder.
+	*/
+	public Polynomial remainder (Polynomial divisor)
+	{
+		if (divisor == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (divisor.isZero ())
+		{
+			throw new ArithmeticException ("DIVISION BY ZERO ERROR");
+		}
+
+		double[] d = divisor.getCoefficients ();
+
+		if (this.factors.length == 0)
+		{
+			return new Polynomial (CoefficientKernels.trim (CoefficientKernels.remainder (new double[] { 1.0 }, d, null)));
+		}
+
+		double[] reversedinverse = CoefficientKernels.reciprocal (CoefficientKernels.reverse (d), d.length);
+
+		//the remainder of a factor of a smaller degree than the divisor may be the factor itself, so it's copied
+		return new Polynomial (CoefficientKernels.trim (productModulo (0, this.factors.length, d, reversedinverse)).clone ());
+	}
+
+	//the product of factors[from] ... factors[to - 1]
+	private double[] product (int from, int to)
+	{
+		if (to - from == 1)
+		{
+			return this.factors[from];
+		}
+
+		int middle = (from + to) >>> 1;
+
+		return CoefficientKernels.multiply (product (from, middle), product (middle, to));
+	}
+
+	//the product of factors[from] ... factors[to - 1] and its derivative
+	private double[][] productAndDerivative (int from, int to)
+	{
+		if (to - from == 1)
+		{
+			double[] f = this.factors[from];
+			double[] derivative = new double[Math.max (f.length - 1, 1)];
+
+			for (int i = 1; i < f.length; ++i)
+			{
+				derivative[i - 1] = i * f[i];
+			}
+
+			return new double[][] { f, derivative };
+		}
+
+		int middle = (from + to) >>> 1;
+
+		double[][] left = productAndDerivative (from, middle), right = productAndDerivative (middle, to);
+
+		double[] a = CoefficientKernels.multiply (left[1], right[0]), b = CoefficientKernels.multiply (left[0], right[1]);
+		double[] derivative = Arrays.copyOf (a, Math.max (a.length, b.length));
+
+		for (int i = 0; i < b.length; ++i)
+		{
+			derivative[i] += b[i];
+		}
+
+		return new double[][] { CoefficientKernels.multiply (left[0], right[0]), derivative };
+	}
+
+	//the product of factors[from] ... factors[to - 1] modulo divisor
+	private double[] productModulo (int from, int to, double[] divisor, double[] reversedinverse)
+	{
+		if (to - from == 1)
+		{
+			return CoefficientKernels.remainder (this.factors[from], divisor, reversedinverse);
+		}
+
+		int middle = (from + to) >>> 1;
+
+		double[] product = CoefficientKernels.multiply (productModulo (from, middle, divisor, reversedinverse),
+														productModulo (middle, to, divisor, reversedinverse));
+
+		return CoefficientKernels.remainder (product, divisor, reversedinverse);
+	}
+
+	/** Returns a string representation of this product, with every factor in parentheses.
+	*
+	* @return a String representation of this product.
+	*/
+	@Override public String toString ()
+	{
+		if (this.factors.length == 0)
+		{
+			return "P(x) = 1";
+		}
+
+		StringBuilder result = new StringBuilder ("P(x) = ");
+
+		for (int i = 0; i < this.factors.length; ++i)
+		{
+			//the factors are formatted like Polynomial does, without its "P(x) = " prefix
+			String factor = new Polynomial (this.factors[i].clone ()).toString ();
+
+			result.append ((i == 0) ? "(" : " * (").append (factor.substring (factor.indexOf ('=') + 2)).append (')');
+		}
+
+		return result.toString ();
+	}
+}
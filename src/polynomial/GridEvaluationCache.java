@@ -0,0 +1,292 @@
+package polynomial;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/** Keeps the values of a polynomial on a fixed grid of points up to date while its coefficients are edited.
+* Changing the coefficient of x^i by d changes the value at every point t by d * t^i, so after a few edits
+* (setElement) the values are updated in O(grid) per edited coefficient instead of being evaluated again in
+* O(grid * degree). The powers t^i are computed once per magnitude, the first time a coefficient of that
+* magnitude is edited.
+* <br />
+* The cache notices the edits through the modification version of the polynomial, so reading the values of an
+* unchanged polynomial costs nothing, and listens to its changes to know which magnitudes were edited (only
+* those are compared with the coefficients it last saw; the listener doesn't keep the cache alive). When many
+* coefficients changed at once (after reset, for example), the values are evaluated again with Horner's scheme,
+* and they are also evaluated again every FULL_EVALUATION_INTERVAL updates.
+* <br />
+* An update can cancel most of a value: removing x^20 from x^5 + x^20 at t = 100 subtracts 1e40 from
+* 1e40 + 1e10, and the rounding error of the first value (about 1e24) is all that is left. So the cache keeps,
+* for every point, a bound of the rounding errors of the updates since the point was last evaluated with
+* Horner's scheme (each update adds about 2^-52 times |delta * t^i| plus the new value). The points whose bound
+* exceeds ACCURACY times their value are evaluated again with Horner's scheme, so the values always have about
+* the accuracy of a direct evaluation.
+* <br />
+* Objects of this class can be shared between threads, provided the polynomial isn't modified while the values
+* are read.
+*/
+public final class GridEvaluationCache
+{
+	/** After this many coefficient updates, the values are evaluated again from scratch. */
+	public static final int FULL_EVALUATION_INTERVAL = 256;
+
+	/** The largest rounding error bound accepted for an updated value, relative to the value (about 1e-12).
+	* Values with a bigger bound are evaluated again with Horner's scheme.
+	*/
+	public static final double ACCURACY = 0x1p-40;
+
+	//a bound of the relative rounding error of a multiplication and an addition (with the error of pow)
+	private static final double UPDATE_ERROR = 0x1p-50;
+
+	//the polynomial whose values are kept
+	private final Polynomial polynomial;
+
+	//the points
+	private final double[] grid;
+
+	//the values at the points
+	private final double[] values;
+
+	//bounds of the rounding errors of the values, accumulated by the updates since their last evaluation
+	private final double[] errors;
+
+	//powers[i][j] is grid[j]^i, computed when the coefficient of x^i is first edited
+	private final double[][] powers;
+
+	//the coefficients the values correspond to
+	private final double[] coefficients;
+
+	//the modification version of the polynomial the values correspond to
+	private long version;
+
+	//the range of magnitudes changed since the values were last updated (empty if from > to)
+	private int changedfrom = Integer.MAX_VALUE, changedto = -1;
+
+	//the number of coefficient updates since the last full evaluation
+	private int updates;
+
+	/** Creates a cache for the values of a polynomial at some points, and evaluates them.
+	*
+	* @param polynomial the polynomial. The cache follows its changes.
+	*
+	* @param grid the points. The array is copied.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*/
+	public GridEvaluationCache (Polynomial polynomial, double[] grid)
+	{
+		if (polynomial == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (grid == null)
+		{
+			throw new NullPointerException ("null points provided.");
+		}
+
+		this.polynomial = polynomial;
+		this.grid = grid.clone ();
+		this.values = new double[grid.length];
+		this.errors = new double[grid.length];
+
+		double[] current = polynomial.getCoefficientsArray ();
+		this.powers = new double[current.length][];
+		this.coefficients = new double[current.length];
+
+		evaluate ();
+
+		polynomial.addChangeListener (new ChangeRecorder (this));
+	}
+
+	/** Returns the number of points.
+	*
+	* @return the number of points.
+	*/
+	public int getGridSize ()
+	{
+		return this.grid.length;
+	}
+
+	/** Returns the points.
+	*
+	* @return a copy of the points.
+	*/
+	public double[] getGrid ()
+	{
+		return this.grid.clone ();
+	}
+
+	/** Returns the value of the polynomial at one of the points.
+	*
+	* @param index the index of the point.
+	*
+	* @throws IllegalArgumentException if the index is out of range.
+	*
+	* @return the value at grid[index].
+	*/
+	public synchronized double getValue (int index)
+	{
+		if (index < 0 || index >= this.grid.length)
+		{
+			throw new IllegalArgumentException ("point with that index does not exist.");
+		}
+
+		update ();
+
+		return this.values[index];
+	}
+
+	/** Returns the values of the polynomial at all the points.
+	*
+	* @return a new array, whose i-th element is the value at grid[i].
+	*/
+	public synchronized double[] getValues ()
+	{
+		update ();
+
+		return this.values.clone ();
+	}
+
+	//brings the values up to date with the coefficients
+	private void update ()
+	{
+		if (this.polynomial.getVersion () == this.version)
+		{
+			return;
+		}
+
+		double[] current = this.polynomial.getCoefficientsArray ();
+
+		//the edited magnitudes
+		int from = this.changedfrom, to = Math.min (this.changedto, current.length - 1);
+		int[] changed = new int[Math.max (to - from + 1, 0)];
+		int count = 0;
+
+		for (int i = from; i <= to; ++i)
+		{
+			if (Double.compare (current[i], this.coefficients[i]) != 0)
+			{
+				changed[count++] = i;
+			}
+		}
+
+		//updating costs O(grid) per coefficient, evaluating again O(grid) per coefficient of the polynomial
+		if (this.updates + count > FULL_EVALUATION_INTERVAL || 2 * count > this.polynomial.getBiggestNonZeroIndex () + 1)
+		{
+			evaluate ();
+			return;
+		}
+
+		for (int k = 0; k < count; ++k)
+		{
+			int i = changed[k];
+			double delta = current[i] - this.coefficients[i];
+			double[] row = powers (i);
+
+			for (int j = 0; j < this.grid.length; ++j)
+			{
+				double change = delta * row[j];
+
+				this.values[j] += change;
+				this.errors[j] += UPDATE_ERROR * (Math.abs (change) + Math.abs (this.values[j]));
+			}
+
+			this.coefficients[i] = current[i];
+		}
+
+		//the values that may have lost their accuracy by cancellation are evaluated again. That includes the
+		//infinite and NaN ones (their bound isn't finite), which later updates couldn't undo
+		double[] trimmed = null;
+
+		for (int j = 0; j < this.values.length; ++j)
+		{
+			if (! (this.errors[j] <= ACCURACY * Math.abs (this.values[j])))
+			{
+				if (trimmed == null)
+				{
+					trimmed = Arrays.copyOf (current, this.polynomial.getBiggestNonZeroIndex () + 1);
+				}
+
+				this.values[j] = CoefficientKernels.evaluate (trimmed, this.grid[j]);
+				this.errors[j] = 0.0;
+			}
+		}
+
+		this.updates += count;
+		this.version = this.polynomial.getVersion ();
+		this.changedfrom = Integer.MAX_VALUE;
+		this.changedto = -1;
+	}
+
+	//evaluates all the values again, with Horner's scheme
+	private void evaluate ()
+	{
+		double[] current = this.polynomial.getCoefficientsArray ();
+		double[] trimmed = Arrays.copyOf (current, this.polynomial.getBiggestNonZeroIndex () + 1);
+
+		for (int j = 0; j < this.grid.length; ++j)
+		{
+			this.values[j] = CoefficientKernels.evaluate (trimmed, this.grid[j]);
+		}
+
+		Arrays.fill (this.errors, 0.0);
+
+		System.arraycopy (current, 0, this.coefficients, 0, current.length);
+
+		this.updates = 0;
+		this.version = this.polynomial.getVersion ();
+		this.changedfrom = Integer.MAX_VALUE;
+		this.changedto = -1;
+	}
+
+	//records a change of the polynomial
+	private synchronized void changed (int from, int to)
+	{
+		this.changedfrom = Math.min (this.changedfrom, from);
+		this.changedto = Math.max (this.changedto, to);
+	}
+
+	//returns the powers grid[j]^i, computing them if needed
+	private double[] powers (int i)
+	{
+		if (this.powers[i] == null)
+		{
+			double[] row = new double[this.grid.length];
+
+			for (int j = 0; j < row.length; ++j)
+			{
+				row[j] = Math.pow (this.grid[j], i);
+			}
+
+			this.powers[i] = row;
+		}
+
+		return this.powers[i];
+	}
+
+	//forwards the changes of the polynomial to a cache without keeping it alive: once the cache is garbage
+	//collected, the listener removes itself at the next change
+	private static final class ChangeRecorder implements PolynomialChangeListener
+	{
+		private final WeakReference<GridEvaluationCache> cache;
+
+		ChangeRecorder (GridEvaluationCache cache)
+		{
+			this.cache = new WeakReference<GridEvaluationCache> (cache);
+		}
+
+		@Override public void polynomialChanged (Polynomial source, int from, int to)
+		{
+			GridEvaluationCache c = this.cache.get ();
+
+			if (c == null)
+			{
+				source.removeChangeListener (this);
+			}
+			else
+			{
+				c.changed (from, to);
+			}
+		}
+	}
+}
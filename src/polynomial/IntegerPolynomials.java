@@ -0,0 +1,1078 @@
+package polynomial;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Exact kernels for polynomials with integer coefficients, stored as BigInteger arrays (index represents
+* the magnitude). The exact algorithms of this package (root isolation, GCD etc.) work on these arrays.
+* <br />
+* Every finite double is a dyadic rational, so any Polynomial can be converted exactly to an integer polynomial
+* with the same roots, by multiplying all its coefficients with a power of 2.
+* Unless specified otherwise, the arrays received are not modified and the arrays returned are new and
+* have no zero coefficients at the end (except for the zero polynomial, which is a single zero).
+*/
+final class IntegerPolynomials
+{
+	//below this length (of the shorter operand) schoolbook multiplication beats Kronecker substitution
+	private static final int KRONECKER_THRESHOLD = 16;
+
+	//below this length, the classical Taylor shift beats the divide and conquer one
+	private static final int FAST_SHIFT_THRESHOLD = 64;
+
+	//numbers known to be at most 2^bits in absolute value, with bits below this, fit in a long
+	private static final int LONG_BITS = 63;
+
+	//utility class, no instances
+	private IntegerPolynomials ()
+	{
+	}
+
+	/** Converts the polynomial to integer coefficients, multiplying all of them with the smallest power of 2
+	* that makes them integers. The result has the same roots as the polynomial.
+	*
+	* @throws IllegalArgumentException if any coefficient is infinite or NaN.
+	*/
+	static BigInteger[] fromPolynomial (Polynomial p)
+	{
+		return fromCoefficients (p.getCoefficients ());
+	}
+
+	/** Converts the coefficients exactly, like fromPolynomial does. */
+	static BigInteger[] fromCoefficients (double[] coefficients)
+	{
+		return fromCoefficients (coefficients, null);
+	}
+
+	/** Converts the coefficients exactly, like fromPolynomial does, and stores in shift[0] the k such
+	* that the integers returned are the coefficients multiplied by 2^k (the shift array may be null).
+	*/
+	static BigInteger[] fromCoefficients (double[] coefficients, int[] shift)
+	{
+		int n = coefficients.length;
+
+		long[] mantissas = new long[n];
+		int[] exponents = new int[n];
+		int minexponent = 0;
+
+		//every coefficient is mantissa * 2^exponent, with an odd mantissa
+		for (int i = 0; i < n; ++i)
+		{
+			double c = coefficients[i];
+
+			if (Double.isNaN (c) || Double.isInfinite (c))
+			{
+				throw new IllegalArgumentException ("coefficients must be finite.");
+			}
+			else if (c == 0.0)
+			{
+				continue;
+			}
+
+			long bits = Double.doubleToLongBits (c);
+			int biased = (int) ((bits >>> 52) & 0x7ff);
+			long mantissa = bits & 0xfffffffffffffL;
+			int exponent;
+
+			if (biased == 0)
+			{
+				//subnormal
+				exponent = -1074;
+			}
+			else
+			{
+				mantissa |= 1L << 52;
+				exponent = biased - 1075;
+			}
+
+			int zeros = Long.numberOfTrailingZeros (mantissa);
+			mantissa >>= zeros;
+			exponent += zeros;
+
+			mantissas[i] = (c < 0.0) ? -mantissa : mantissa;
+			exponents[i] = exponent;
+			minexponent = Math.min (minexponent, exponent);
+		}
+
+		if (shift != null)
+		{
+			shift[0] = -minexponent;
+		}
+
+		BigInteger[] result = new BigInteger[n];
+
+		for (int i = 0; i < n; ++i)
+		{
+			result[i] = (mantissas[i] == 0) ? BigInteger.ZERO
+											: BigInteger.valueOf (mantissas[i]).shiftLeft (exponents[i] - minexponent);
+		}
+
+		return trim (result);
+	}
+
+	/** Converts integer coefficients to a Polynomial (rounding them to the nearest doubles). */
+	static Polynomial toPolynomial (BigInteger[] a)
+	{
+		double[] coefficients = new double[a.length];
+
+		for (int i = 0; i < a.length; ++i)
+		{
+			coefficients[i] = a[i].doubleValue ();
+		}
+
+		return new Polynomial (coefficients);
+	}
+
+	/** Returns the degree of the coefficients, ignoring zero coefficients at the end. A zero polynomial has
+	* degree 0.
+	*/
+	static int degree (BigInteger[] a)
+	{
+		int i = a.length - 1;
+
+		while (i > 0 && a[i].signum () == 0)
+		{
+			i--;
+		}
+
+		return i;
+	}
+
+	/** Returns the coefficients without the zero coefficients at the end (at least 1 element is always
+	* kept). If nothing needs removing, the same array is returned.
+	*/
+	static BigInteger[] trim (BigInteger[] a)
+	{
+		int length = degree (a) + 1;
+
+		if (length == a.length)
+		{
+			return a;
+		}
+
+		BigInteger[] result = new BigInteger[length];
+		System.arraycopy (a, 0, result, 0, length);
+
+		return result;
+	}
+
+	/** Tells whether all coefficients are zero. */
+	static boolean isZero (BigInteger[] a)
+	{
+		return degree (a) == 0 && a[0].signum () == 0;
+	}
+
+	/** Returns the biggest number of bits of the coefficients' absolute values. */
+	static int maxBitLength (BigInteger[] a)
+	{
+		int bits = 0;
+
+		for (BigInteger c : a)
+		{
+			bits = Math.max (bits, c.abs ().bitLength ());
+		}
+
+		return bits;
+	}
+
+	/** Returns the content (the positive GCD of all coefficients). The content of zero is zero. */
+	static BigInteger content (BigInteger[] a)
+	{
+		//small coefficients: the GCD is computed with longs
+		if (bitLength (a, 0, a.length) < LONG_BITS)
+		{
+			long gcd = 0;
+
+			for (int i = a.length - 1; i >= 0 && gcd != 1; --i)
+			{
+				gcd = gcd (gcd, Math.abs (a[i].longValue ()));
+			}
+
+			return BigInteger.valueOf (gcd);
+		}
+
+		BigInteger gcd = BigInteger.ZERO;
+
+		//start from the leading coefficient, the GCD usually drops to 1 quickly
+		for (int i = a.length - 1; i >= 0; --i)
+		{
+			gcd = gcd.gcd (a[i]);
+
+			if (gcd.equals (BigInteger.ONE))
+			{
+				break;
+			}
+		}
+
+		return gcd;
+	}
+
+	/** Returns the primitive part: the coefficients divided by the content, with a positive leading
+	* coefficient. The primitive part of zero is zero.
+	*/
+	static BigInteger[] primitivePart (BigInteger[] a)
+	{
+		a = trim (a);
+
+		BigInteger content = content (a);
+
+		if (content.signum () == 0)
+		{
+			return a;
+		}
+
+		if (a[a.length - 1].signum () < 0)
+		{
+			content = content.negate ();
+		}
+
+		BigInteger[] result = new BigInteger[a.length];
+
+		for (int i = 0; i < a.length; ++i)
+		{
+			result[i] = a[i].divide (content);
+		}
+
+		return result;
+	}
+
+	/** Returns the derivative. */
+	static BigInteger[] derivative (BigInteger[] a)
+	{
+		if (a.length == 1)
+		{
+			return new BigInteger[] { BigInteger.ZERO };
+		}
+
+		BigInteger[] result = new BigInteger[a.length - 1];
+
+		for (int i = 1; i < a.length; ++i)
+		{
+			result[i - 1] = a[i].multiply (BigInteger.valueOf (i));
+		}
+
+		return trim (result);
+	}
+
+	/** Returns a + b. */
+	static BigInteger[] add (BigInteger[] a, BigInteger[] b)
+	{
+		if (a.length < b.length)
+		{
+			BigInteger[] aux = a;
+			a = b;
+			b = aux;
+		}
+
+		BigInteger[] result = a.clone ();
+
+		for (int i = 0; i < b.length; ++i)
+		{
+			result[i] = result[i].add (b[i]);
+		}
+
+		return trim (result);
+	}
+
+	/** Returns a - b. */
+	static BigInteger[] subtract (BigInteger[] a, BigInteger[] b)
+	{
+		BigInteger[] result = new BigInteger[Math.max (a.length, b.length)];
+
+		for (int i = 0; i < result.length; ++i)
+		{
+			BigInteger x = (i < a.length) ? a[i] : BigInteger.ZERO;
+			BigInteger y = (i < b.length) ? b[i] : BigInteger.ZERO;
+
+			result[i] = x.subtract (y);
+		}
+
+		return trim (result);
+	}
+
+	/** Returns a * b. Big operands are multiplied by Kronecker substitution: both are packed into a single
+	* integer, so the sub-quadratic multiplication of BigInteger does all the work.
+	*/
+	static BigInteger[] multiply (BigInteger[] a, BigInteger[] b)
+	{
+		a = trim (a);
+		b = trim (b);
+
+		if (isZero (a) || isZero (b))
+		{
+			return new BigInteger[] { BigInteger.ZERO };
+		}
+
+		if (Math.min (a.length, b.length) < KRONECKER_THRESHOLD)
+		{
+			return multiplySchoolbook (a, b);
+		}
+
+		//every coefficient of the product is a sum of at most min (lengths) products, so it fits in
+		//slot - 1 bits (the last one is for the sign)
+		int countbits = 32 - Integer.numberOfLeadingZeros (Math.min (a.length, b.length));
+		int slot = maxBitLength (a) + maxBitLength (b) + countbits + 2;
+
+		BigInteger product = pack (a, slot).multiply (pack (b, slot));
+
+		return unpack (product, slot, a.length + b.length - 1);
+	}
+
+	//the classical O(n*m) multiplication
+	private static BigInteger[] multiplySchoolbook (BigInteger[] a, BigInteger[] b)
+	{
+		//small coefficients: every sum of products fits in a long, so no BigInteger is created in the loops
+		int countbits = 32 - Integer.numberOfLeadingZeros (Math.min (a.length, b.length));
+
+		if (maxBitLength (a) + maxBitLength (b) + countbits < 63)
+		{
+			return multiplyLongs (a, b);
+		}
+
+		BigInteger[] result = new BigInteger[a.length + b.length - 1];
+
+		for (int k = 0; k < result.length; ++k)
+		{
+			result[k] = BigInteger.ZERO;
+		}
+
+		for (int i = 0; i < a.length; ++i)
+		{
+			if (a[i].signum () == 0)
+			{
+				continue;
+			}
+
+			for (int j = 0; j < b.length; ++j)
+			{
+				result[i + j] = result[i + j].add (a[i].multiply (b[j]));
+			}
+		}
+
+		return trim (result);
+	}
+
+	//the classical multiplication done with longs. The caller guarantees that nothing overflows
+	private static BigInteger[] multiplyLongs (BigInteger[] a, BigInteger[] b)
+	{
+		long[] x = new long[a.length], y = new long[b.length];
+
+		for (int i = 0; i < x.length; ++i)
+		{
+			x[i] = a[i].longValue ();
+		}
+
+		for (int j = 0; j < y.length; ++j)
+		{
+			y[j] = b[j].longValue ();
+		}
+
+		long[] product = new long[x.length + y.length - 1];
+
+		for (int i = 0; i < x.length; ++i)
+		{
+			if (x[i] == 0)
+			{
+				continue;
+			}
+
+			for (int j = 0; j < y.length; ++j)
+			{
+				product[i + j] += x[i] * y[j];
+			}
+		}
+
+		BigInteger[] result = new BigInteger[product.length];
+
+		for (int k = 0; k < result.length; ++k)
+		{
+			result[k] = BigInteger.valueOf (product[k]);
+		}
+
+		return trim (result);
+	}
+
+	//returns the sum of a[i] * 2^(slot * i). The positive and negative coefficients are written directly
+	//into 2 byte arrays (in linear time), which are then subtracted
+	private static BigInteger pack (BigInteger[] a, int slot)
+	{
+		int bytes = (int) (((long) slot * a.length + 7) / 8) + 1;
+
+		byte[] positive = new byte[bytes];
+		byte[] negative = new byte[bytes];
+
+		for (int i = 0; i < a.length; ++i)
+		{
+			int signum = a[i].signum ();
+
+			if (signum != 0)
+			{
+				writeBits ((signum > 0) ? positive : negative, (long) slot * i, a[i].abs ().toByteArray ());
+			}
+		}
+
+		return new BigInteger (1, reverseBytes (positive)).subtract (new BigInteger (1, reverseBytes (negative)));
+	}
+
+	//ORs a big-endian magnitude into a little-endian buffer, starting at the bit position provided
+	private static void writeBits (byte[] buffer, long position, byte[] magnitude)
+	{
+		int start = (int) (position >>> 3);
+		int shift = (int) (position & 7);
+
+		for (int t = 0; t < magnitude.length; ++t)
+		{
+			int value = magnitude[magnitude.length - 1 - t] & 0xff;
+
+			buffer[start + t] |= (byte) (value << shift);
+
+			if (shift > 0)
+			{
+				buffer[start + t + 1] |= (byte) (value >>> (8 - shift));
+			}
+		}
+	}
+
+	//splits the packed integer back into count signed coefficients of slot bits each
+	private static BigInteger[] unpack (BigInteger packed, int slot, int count)
+	{
+		//two's complement, big-endian
+		byte[] bytes = packed.toByteArray ();
+		int fieldbytes = (slot + 7) / 8;
+		int sign = (packed.signum () < 0) ? 0xff : 0;
+
+		BigInteger[] result = new BigInteger[count];
+		BigInteger half = BigInteger.ONE.shiftLeft (slot - 1);
+		BigInteger full = BigInteger.ONE.shiftLeft (slot);
+		int carry = 0;
+
+		for (int i = 0; i < count; ++i)
+		{
+			long position = (long) slot * i;
+			int start = (int) (position >>> 3);
+			int shift = (int) (position & 7);
+
+			//the field, as an unsigned big-endian number (plus a leading zero byte)
+			byte[] field = new byte[fieldbytes + 1];
+
+			for (int t = 0; t < fieldbytes; ++t)
+			{
+				int low = byteAt (bytes, start + t, sign);
+				int high = byteAt (bytes, start + t + 1, sign);
+
+				field[fieldbytes - t] = (byte) ((low >>> shift) | (high << (8 - shift)));
+			}
+
+			//clear the bits that belong to the next field
+			int extra = fieldbytes * 8 - slot;
+			field[1] &= (byte) (0xff >>> extra);
+
+			BigInteger value = new BigInteger (field);
+
+			if (carry != 0)
+			{
+				value = value.add (BigInteger.ONE);
+			}
+
+			//fields represent signed digits: big values are negative, and borrow from the next field
+			if (value.compareTo (half) >= 0)
+			{
+				value = value.subtract (full);
+				carry = 1;
+			}
+			else
+			{
+				carry = 0;
+			}
+
+			result[i] = value;
+		}
+
+		return trim (result);
+	}
+
+	//returns the byte of a big-endian two's complement array, counting from the least significant one
+	private static int byteAt (byte[] bytes, int index, int sign)
+	{
+		return (index < bytes.length) ? bytes[bytes.length - 1 - index] & 0xff : sign;
+	}
+
+	private static byte[] reverseBytes (byte[] bytes)
+	{
+		byte[] result = new byte[bytes.length];
+
+		for (int i = 0; i < bytes.length; ++i)
+		{
+			result[i] = bytes[bytes.length - 1 - i];
+		}
+
+		return result;
+	}
+
+	/** Returns a(x + 1). Small polynomials are shifted with the classical O(n^2) additions, big ones by divide
+	* and conquer: a(x + 1) = lo(x + 1) + (x + 1)^m * hi(x + 1), with fast multiplications.
+	*/
+	static BigInteger[] taylorShiftOne (BigInteger[] a)
+	{
+		if (a.length < FAST_SHIFT_THRESHOLD)
+		{
+			BigInteger[] result = a.clone ();
+			taylorShiftOneInPlace (result);
+
+			return result;
+		}
+
+		int m = a.length / 2;
+
+		BigInteger[] low = new BigInteger[m];
+		BigInteger[] high = new BigInteger[a.length - m];
+
+		System.arraycopy (a, 0, low, 0, m);
+		System.arraycopy (a, m, high, 0, a.length - m);
+
+		//(x + 1)^m
+		BigInteger[] binomial = new BigInteger[m + 1];
+		binomial[0] = BigInteger.ONE;
+
+		for (int k = 1; k <= m; ++k)
+		{
+			binomial[k] = binomial[k - 1].multiply (BigInteger.valueOf (m - k + 1)).divide (BigInteger.valueOf (k));
+		}
+
+		BigInteger[] result = add (taylorShiftOne (low), multiply (taylorShiftOne (high), binomial));
+
+		//the degree never changes, keep the length of the input
+		BigInteger[] padded = new BigInteger[a.length];
+
+		for (int i = 0; i < a.length; ++i)
+		{
+			padded[i] = (i < result.length) ? result[i] : BigInteger.ZERO;
+		}
+
+		return padded;
+	}
+
+	/** Replaces a(x) with a(x + 1), using the classical O(n^2) additions. */
+	static void taylorShiftOneInPlace (BigInteger[] a)
+	{
+		int n = a.length - 1;
+
+		for (int i = 0; i < n; ++i)
+		{
+			for (int j = n - 1; j >= i; --j)
+			{
+				a[j] = a[j].add (a[j + 1]);
+			}
+		}
+	}
+
+	/** Returns the number of sign variations of the coefficients (zeros are ignored). */
+	static int signVariations (BigInteger[] a)
+	{
+		int variations = 0;
+		int last = 0;
+
+		for (BigInteger c : a)
+		{
+			int signum = c.signum ();
+
+			if (signum != 0)
+			{
+				if (last != 0 && signum != last)
+				{
+					variations++;
+				}
+
+				last = signum;
+			}
+		}
+
+		return variations;
+	}
+
+	/** Returns the sign of a(numerator / 2^k), computed exactly. */
+	static int signAt (BigInteger[] a, BigInteger numerator, int k)
+	{
+		//2^(k * n) * a(c / 2^k) = sum (a[i] * c^i * 2^(k * (n - i))), with Horner's scheme
+		int n = a.length - 1;
+		BigInteger result = a[n];
+
+		for (int i = n - 1; i >= 0; --i)
+		{
+			result = result.multiply (numerator).add (a[i].shiftLeft (k * (n - i)));
+		}
+
+		return result.signum ();
+	}
+
+	/** Replaces the contents of the remainder buffer with the pseudo-remainder of its first length coefficients
+	* by b: lc (b)^(da - db + 1) * a mod b. No BigInteger array is allocated (small coefficients are handled
+	* in a long array). Returns the length of the pseudo-remainder (trimmed, at least 1). b must be trimmed
+	* and not zero.
+	*/
+	static int pseudoRemainderInPlace (BigInteger[] remainder, int length, BigInteger[] b)
+	{
+		int db = b.length - 1;
+		BigInteger lc = b[db];
+
+		while (length > 1 && remainder[length - 1].signum () == 0)
+		{
+			length--;
+		}
+
+		if (fitsInLongs (remainder, length, b))
+		{
+			long[] r = toLongs (remainder, length), y = toLongs (b, b.length);
+			long[] quotient = new long[Math.max (length - db, 1)];
+
+			pseudoDivideLongs (r, y, quotient);
+
+			for (int i = 0; i < length; ++i)
+			{
+				remainder[i] = BigInteger.valueOf (r[i]);
+			}
+		}
+		else
+		{
+			for (int i = length - 1; i >= db; --i)
+			{
+				BigInteger t = remainder[i];
+
+				//r = lc * r - t * x^(i - db) * b, which cancels the coefficient i
+				for (int j = 0; j < i; ++j)
+				{
+					remainder[j] = remainder[j].multiply (lc);
+				}
+
+				if (t.signum () != 0)
+				{
+					for (int j = 0; j < db; ++j)
+					{
+						remainder[i - db + j] = remainder[i - db + j].subtract (t.multiply (b[j]));
+					}
+				}
+
+				remainder[i] = BigInteger.ZERO;
+			}
+		}
+
+		length = Math.min (length, Math.max (db, 1));
+
+		while (length > 1 && remainder[length - 1].signum () == 0)
+		{
+			length--;
+		}
+
+		return length;
+	}
+
+	/** Returns the pseudo-remainder lc (b)^(da - db + 1) * a mod b. b must not be zero. */
+	static BigInteger[] pseudoRemainder (BigInteger[] a, BigInteger[] b)
+	{
+		b = trim (b);
+
+		BigInteger[] buffer = a.clone ();
+		int length = pseudoRemainderInPlace (buffer, buffer.length, b);
+
+		BigInteger[] result = new BigInteger[length];
+		System.arraycopy (buffer, 0, result, 0, length);
+
+		return result;
+	}
+
+	/** Returns the pseudo-quotient (at index 0) and the pseudo-remainder (at index 1) of a by b, such that
+	* lc (b)^(da - db + 1) * a = quotient * b + remainder. Only integers are involved. b must not be zero
+	* and da must be at least db.
+	*/
+	static BigInteger[][] pseudoDivide (BigInteger[] a, BigInteger[] b)
+	{
+		a = trim (a);
+		b = trim (b);
+
+		int da = a.length - 1, db = b.length - 1;
+		BigInteger lc = b[db];
+
+		BigInteger[] rest = a.clone ();
+		BigInteger[] quotient = new BigInteger[da - db + 1];
+
+		if (fitsInLongs (a, a.length, b))
+		{
+			long[] r = toLongs (a, a.length), q = new long[quotient.length];
+
+			pseudoDivideLongs (r, toLongs (b, b.length), q);
+
+			for (int i = 0; i < r.length; ++i)
+			{
+				rest[i] = BigInteger.valueOf (r[i]);
+			}
+
+			for (int i = 0; i < q.length; ++i)
+			{
+				quotient[i] = BigInteger.valueOf (q[i]);
+			}
+		}
+		else
+		{
+			for (int i = da; i >= db; --i)
+			{
+				BigInteger t = rest[i];
+
+				//the quotient found so far and the rest are multiplied by lc, then t * x^(i - db) is
+				//added to the quotient and t * x^(i - db) * b subtracted from the rest
+				for (int j = i - db + 1; j < quotient.length; ++j)
+				{
+					quotient[j] = quotient[j].multiply (lc);
+				}
+
+				quotient[i - db] = t;
+
+				for (int j = 0; j < i; ++j)
+				{
+					rest[j] = rest[j].multiply (lc);
+				}
+
+				if (t.signum () != 0)
+				{
+					for (int j = 0; j < db; ++j)
+					{
+						rest[i - db + j] = rest[i - db + j].subtract (t.multiply (b[j]));
+					}
+				}
+
+				rest[i] = BigInteger.ZERO;
+			}
+		}
+
+		BigInteger[] remainder = new BigInteger[Math.max (db, 1)];
+
+		for (int i = 0; i < remainder.length; ++i)
+		{
+			remainder[i] = (i < rest.length) ? rest[i] : BigInteger.ZERO;
+		}
+
+		return new BigInteger[][] { trim (quotient), trim (remainder) };
+	}
+
+	//tells whether the pseudo-division of a[0] ... a[length - 1] by b can be done with longs. Every step
+	//computes lc * r - t * b[j], whose absolute value is at most 2^(B + L + 1) if the coefficients of r are at
+	//most 2^B and those of b at most 2^L, so after the da - db + 1 steps all the numbers (the quotient too)
+	//are at most 2^(B + (da - db + 1) * (L + 1))
+	private static boolean fitsInLongs (BigInteger[] a, int length, BigInteger[] b)
+	{
+		long steps = Math.max (length - b.length + 1, 0);
+		long bits = bitLength (a, 0, length) + steps * (bitLength (b, 0, b.length) + 1);
+
+		return bits < LONG_BITS;
+	}
+
+	//the pseudo-division of pseudoDivide, with longs: r (the dividend) is replaced with the pseudo-remainder
+	//(the coefficients above the remainder become zero) and q receives the pseudo-quotient (q is left zero
+	//if the degree of r is below the one of b). The caller guarantees that nothing overflows
+	private static void pseudoDivideLongs (long[] r, long[] b, long[] q)
+	{
+		int db = b.length - 1;
+		long lc = b[db];
+
+		for (int i = r.length - 1; i >= db; --i)
+		{
+			long t = r[i];
+
+			for (int j = i - db + 1; j < q.length; ++j)
+			{
+				q[j] *= lc;
+			}
+
+			q[i - db] = t;
+
+			for (int j = 0; j < i; ++j)
+			{
+				r[j] *= lc;
+			}
+
+			if (t != 0)
+			{
+				for (int j = 0; j < db; ++j)
+				{
+					r[i - db + j] -= t * b[j];
+				}
+			}
+
+			r[i] = 0;
+		}
+	}
+
+	//returns a[0] ... a[length - 1] as longs. The caller guarantees that they fit
+	private static long[] toLongs (BigInteger[] a, int length)
+	{
+		long[] result = new long[length];
+
+		for (int i = 0; i < length; ++i)
+		{
+			result[i] = a[i].longValue ();
+		}
+
+		return result;
+	}
+
+	//returns the biggest bit length of a[from] ... a[to - 1]: their absolute values are at most 2^bitLength
+	private static int bitLength (BigInteger[] a, int from, int to)
+	{
+		int bits = 0;
+
+		for (int i = from; i < to; ++i)
+		{
+			bits = Math.max (bits, a[i].bitLength ());
+		}
+
+		return bits;
+	}
+
+	//the positive GCD of 2 non negative longs, with Euclid's algorithm
+	private static long gcd (long a, long b)
+	{
+		while (b != 0)
+		{
+			long t = a % b;
+			a = b;
+			b = t;
+		}
+
+		return a;
+	}
+
+	/** Returns the subresultant polynomial remainder sequence of a and b (both not zero): a, b (or b, a, so
+	* that the first one has the bigger degree), followed by the remainders, up to the last non-zero one.
+	* Every remainder is a pseudo-remainder divided exactly by a factor known in advance, so the coefficients
+	* grow only linearly with the degree drops (instead of exponentially, as with plain pseudo-remainders),
+	* and no content computation is needed. The last polynomial is the GCD of a and b, up to a constant.
+	*/
+	static BigInteger[][] subresultants (BigInteger[] a, BigInteger[] b)
+	{
+		a = trim (a);
+		b = trim (b);
+
+		if (degree (a) < degree (b))
+		{
+			BigInteger[] t = a;
+			a = b;
+			b = t;
+		}
+
+		List<BigInteger[]> sequence = new ArrayList<BigInteger[]> ();
+		sequence.add (a);
+		sequence.add (b);
+
+		//g is the leading coefficient of the previous divisor, h the previous subresultant's scalar
+		BigInteger g = BigInteger.ONE, h = BigInteger.ONE;
+
+		while (degree (b) > 0)
+		{
+			int delta = degree (a) - degree (b);
+			BigInteger[] r = pseudoRemainder (a, b);
+
+			if (isZero (r))
+			{
+				break;
+			}
+
+			a = b;
+			b = divideExactly (r, g.multiply (h.pow (delta)));
+			sequence.add (b);
+
+			//h = g^delta / h^(delta - 1), always an integer
+			g = a[a.length - 1];
+			h = (delta == 0) ? h : g.pow (delta).divide (h.pow (delta - 1));
+		}
+
+		return sequence.toArray (new BigInteger[sequence.size ()][]);
+	}
+
+	/** Returns the resultant of a and b (zero if any of them is zero), from their subresultant remainder
+	* sequence (the last subresultant is the resultant, when it is a constant). All the computations are
+	* exact integer ones, with the same linear coefficient growth as subresultants.
+	*/
+	static BigInteger subresultantResultant (BigInteger[] a, BigInteger[] b)
+	{
+		a = trim (a);
+		b = trim (b);
+
+		if (isZero (a) || isZero (b))
+		{
+			return BigInteger.ZERO;
+		}
+
+		int da = a.length - 1, db = b.length - 1;
+
+		if (da == 0)
+		{
+			return a[0].pow (db);
+		}
+		else if (db == 0)
+		{
+			return b[0].pow (da);
+		}
+
+		int sign = 1;
+
+		if (da < db)
+		{
+			BigInteger[] t = a;
+			a = b;
+			b = t;
+
+			sign = ((da & db & 1) == 1) ? -1 : 1;
+			da = a.length - 1;
+			db = b.length - 1;
+		}
+
+		//the contents come out: res (c * a, d * b) = c^deg b * d^deg a * res (a, b)
+		BigInteger ca = content (a), cb = content (b);
+		BigInteger factor = ca.pow (db).multiply (cb.pow (da));
+
+		a = divideExactly (a, ca);
+		b = divideExactly (b, cb);
+
+		BigInteger g = BigInteger.ONE, h = BigInteger.ONE;
+
+		while (true)
+		{
+			da = a.length - 1;
+			db = b.length - 1;
+
+			int delta = da - db;
+
+			if ((da & db & 1) == 1)
+			{
+				sign = -sign;
+			}
+
+			BigInteger[] r = pseudoRemainder (a, b);
+
+			if (isZero (r))
+			{
+				return BigInteger.ZERO;
+			}
+
+			a = b;
+			b = divideExactly (r, g.multiply (h.pow (delta)));
+
+			g = a[a.length - 1];
+			h = (delta == 0) ? h : g.pow (delta).divide (h.pow (delta - 1));
+
+			if (b.length == 1)
+			{
+				//h = lc (b)^deg a / h^(deg a - 1)
+				da = a.length - 1;
+				h = b[0].pow (da).divide (h.pow (da - 1));
+
+				BigInteger result = factor.multiply (h);
+
+				return (sign < 0) ? result.negate () : result;
+			}
+		}
+	}
+
+	//returns a / c. c must divide every coefficient
+	private static BigInteger[] divideExactly (BigInteger[] a, BigInteger c)
+	{
+		if (c.equals (BigInteger.ONE))
+		{
+			return a;
+		}
+
+		BigInteger[] result = new BigInteger[a.length];
+
+		for (int i = 0; i < a.length; ++i)
+		{
+			result[i] = a[i].divide (c);
+		}
+
+		return result;
+	}
+
+	/** Returns a / b, when b divides a exactly in Z[x].
+	*
+	* @throws ArithmeticException if the division is not exact.
+	*/
+	static BigInteger[] exactQuotient (BigInteger[] a, BigInteger[] b)
+	{
+		BigInteger[] quotient = quotientIfExact (a, b);
+
+		if (quotient == null)
+		{
+			throw new ArithmeticException ("inexact polynomial division.");
+		}
+
+		return quotient;
+	}
+
+	/** Returns a / b if b divides a exactly in Z[x], null otherwise. The division stops at the first
+	* coefficient that is not divisible, so failing trial divisions are cheap.
+	*/
+	static BigInteger[] quotientIfExact (BigInteger[] a, BigInteger[] b)
+	{
+		a = trim (a);
+		b = trim (b);
+
+		int da = a.length - 1, db = b.length - 1;
+
+		if (isZero (a))
+		{
+			return a;
+		}
+		else if (da < db)
+		{
+			return null;
+		}
+
+		BigInteger[] rest = a.clone ();
+		BigInteger[] quotient = new BigInteger[da - db + 1];
+		BigInteger lc = b[db];
+
+		for (int i = da; i >= db; --i)
+		{
+			BigInteger[] division = rest[i].divideAndRemainder (lc);
+
+			if (division[1].signum () != 0)
+			{
+				return null;
+			}
+
+			BigInteger q = division[0];
+			quotient[i - db] = q;
+
+			if (q.signum () != 0)
+			{
+				for (int j = 0; j <= db; ++j)
+				{
+					rest[i - db + j] = rest[i - db + j].subtract (q.multiply (b[j]));
+				}
+			}
+		}
+
+		for (int i = 0; i < db; ++i)
+		{
+			if (rest[i].signum () != 0)
+			{
+				return null;
+			}
+		}
+
+		return quotient;
+	}
+
+	/** Returns the squarefree part of a: the primitive polynomial having the same roots as a, each with
+	* multiplicity 1. a must not be zero.
+	*/
+	static BigInteger[] squarefreePart (BigInteger[] a)
+	{
+		a = primitivePart (a);
+
+		if (a.length <= 2)
+		{
+			return a;
+		}
+
+		return primitivePart (exactQuotient (a, PolynomialGCD.gcd (a, derivative (a))));
+	}
+}
@@ -0,0 +1,119 @@
+package polynomial;
+
+import java.math.BigInteger;
+
+/** An interval containing exactly one real root of a polynomial. The interval is open, unless it is exact,
+* in which case both bounds are equal to the root. Intervals returned for the same polynomial are disjoint.
+* <br />
+* The bounds are computed exactly (as dyadic numbers) and then converted to doubles; when the conversion is
+* not exact, the bounds are rounded outwards so the interval still contains the root.
+*/
+public final class IsolatingInterval implements Comparable<IsolatingInterval>
+{
+	private final double lower, upper;
+
+	//tells whether the root is known exactly (and is equal to both bounds)
+	private final boolean exact;
+
+	//package-private: creates the interval (lowernumerator / 2^k, uppernumerator / 2^k).
+	//k may be negative. If exact is true, the numerators must be equal
+	IsolatingInterval (BigInteger lowernumerator, BigInteger uppernumerator, int k, boolean exact)
+	{
+		this.exact = exact;
+
+		double low = toDouble (lowernumerator, k);
+		double high = toDouble (uppernumerator, k);
+
+		//round outwards whenever the conversion was not exact
+		if (! isExactDouble (lowernumerator))
+		{
+			low = Math.nextDown (low);
+		}
+
+		if (! isExactDouble (uppernumerator))
+		{
+			high = Math.nextUp (high);
+		}
+
+		this.lower = low;
+		this.upper = high;
+	}
+
+	//tells whether the numerator has at most 53 significant bits (the precision of a double)
+	private static boolean isExactDouble (BigInteger numerator)
+	{
+		return numerator.signum () == 0 || numerator.abs ().bitLength () - numerator.getLowestSetBit () <= 53;
+	}
+
+	//numerator / 2^k, as a double
+	private static double toDouble (BigInteger numerator, int k)
+	{
+		//keep only the most significant bits, so doubleValue () doesn't overflow for huge numerators
+		int extra = Math.max (numerator.abs ().bitLength () - 64, 0);
+
+		return Math.scalb (numerator.shiftRight (extra).doubleValue (), extra - k);
+	}
+
+	/** Returns the lower bound of the interval.
+	*
+	* @return the lower bound.
+	*/
+	public double getLowerBound ()
+	{
+		return this.lower;
+	}
+
+	/** Returns the upper bound of the interval.
+	*
+	* @return the upper bound.
+	*/
+	public double getUpperBound ()
+	{
+		return this.upper;
+	}
+
+	/** Tells whether the root is known exactly. In that case, both bounds are equal to it (unless it could
+	* not be represented exactly as a double).
+	*
+	* @return true if the root is exact, false otherwise.
+	*/
+	public boolean isExact ()
+	{
+		return this.exact;
+	}
+
+	/** Compares the intervals by their lower bounds.
+	*
+	* @param i the interval to be compared.
+	*
+	* @throws NullPointerException if the parameter is null.
+	*
+	* @return a negative integer, zero or a positive integer as this interval starts before, at the same point
+	* or after the one provided.
+	*/
+	@Override public int compareTo (IsolatingInterval i)
+	{
+		if (i == null)
+		{
+			throw new NullPointerException ("null pointer given to compareTo method");
+		}
+
+		int result = Double.compare (this.lower, i.getLowerBound ());
+
+		return (result != 0) ? result : Double.compare (this.upper, i.getUpperBound ());
+	}
+
+	/** Returns a string representation of the interval.
+	*
+	* @return a String representation of this interval.
+	*/
+	@Override public String toString ()
+	{
+		if (this.exact)
+		{
+			return "[" + this.lower + "]";
+		}
+
+		return "(" + this.lower + ", " + this.upper + ")";
+	}
+}
@@ -0,0 +1,263 @@
+package polynomial;
+
+import java.util.Arrays;
+
+/** An immutable polynomial over the 64-bit integers, stored as a primitive long array. Every operation is
+* exact: if a coefficient of a result (or of an intermediate sum) does not fit in a long, an
+* ArithmeticException is thrown instead of silently wrapping around.
+*/
+public final class LongPolynomial implements RingPolynomial<LongPolynomial>
+{
+	//the ring of the longs
+	static final CoefficientRing<LongPolynomial> RING = new CoefficientRing<LongPolynomial> ()
+	{
+		private final LongPolynomial zero = new LongPolynomial (new long[1]);
+		private final LongPolynomial one = new LongPolynomial (new long[] { 1 });
+
+		@Override public LongPolynomial zero ()
+		{
+			return this.zero;
+		}
+
+		@Override public LongPolynomial one ()
+		{
+			return this.one;
+		}
+
+		@Override public LongPolynomial fromCoefficients (long... coefficients)
+		{
+			CoefficientRings.checkCoefficients (coefficients);
+
+			return new LongPolynomial (coefficients.clone ());
+		}
+
+		@Override public String toString ()
+		{
+			return "Z";
+		}
+	};
+
+	//the coefficients (index represents the magnitude), always trimmed
+	private final long[] coefficients;
+
+	//adopts the array (no copy), trimming it if needed
+	private LongPolynomial (long[] coefficients)
+	{
+		int length = coefficients.length;
+
+		while (length > 1 && coefficients[length - 1] == 0)
+		{
+			length--;
+		}
+
+		this.coefficients = (length == coefficients.length) ? coefficients : Arrays.copyOf (coefficients, length);
+	}
+
+	/** Returns a coefficient.
+	*
+	* @param magnitude the magnitude of the coefficient.
+	*
+	* @throws IllegalArgumentException if the magnitude is negative.
+	*
+	* @return the coefficient, zero if the magnitude is bigger than the degree.
+	*/
+	public long getCoefficient (int magnitude)
+	{
+		if (magnitude < 0)
+		{
+			throw new IllegalArgumentException ("element with that magnitude does not exist.");
+		}
+
+		return (magnitude < this.coefficients.length) ? this.coefficients[magnitude] : 0;
+	}
+
+	/** Evaluates this polynomial for an integer value of its variable (with Horner's scheme), exactly.
+	*
+	* @param value the value of the variable.
+	*
+	* @throws ArithmeticException if an intermediate result does not fit in a long.
+	*
+	* @return the value of the polynomial.
+	*/
+	public long evaluate (long value)
+	{
+		long result = this.coefficients[this.coefficients.length - 1];
+
+		for (int i = this.coefficients.length - 2; i >= 0; --i)
+		{
+			result = Math.addExact (Math.multiplyExact (result, value), this.coefficients[i]);
+		}
+
+		return result;
+	}
+
+	@Override public CoefficientRing<LongPolynomial> getRing ()
+	{
+		return RING;
+	}
+
+	@Override public int getDegree ()
+	{
+		return this.coefficients.length - 1;
+	}
+
+	@Override public boolean isZero ()
+	{
+		return this.coefficients.length == 1 && this.coefficients[0] == 0;
+	}
+
+	@Override public LongPolynomial add (LongPolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		long[] a = this.coefficients, b = p.coefficients;
+		long[] result = Arrays.copyOf (a, Math.max (a.length, b.length));
+
+		for (int i = 0; i < b.length; ++i)
+		{
+			result[i] = Math.addExact (result[i], b[i]);
+		}
+
+		return new LongPolynomial (result);
+	}
+
+	@Override public LongPolynomial subtract (LongPolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		long[] a = this.coefficients, b = p.coefficients;
+		long[] result = Arrays.copyOf (a, Math.max (a.length, b.length));
+
+		for (int i = 0; i < b.length; ++i)
+		{
+			result[i] = Math.subtractExact (result[i], b[i]);
+		}
+
+		return new LongPolynomial (result);
+	}
+
+	@Override public LongPolynomial multiply (LongPolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		long[] a = this.coefficients, b = p.coefficients;
+		long[] result = new long[a.length + b.length - 1];
+
+		//schoolbook: the faster algorithms have intermediate values bigger than the result,
+		//which could overflow even when the result fits
+		for (int i = 0; i < a.length; ++i)
+		{
+			long c = a[i];
+
+			//zero coefficients don't contribute anything
+			if (c == 0)
+			{
+				continue;
+			}
+
+			for (int j = 0; j < b.length; ++j)
+			{
+				result[i + j] = Math.addExact (result[i + j], Math.multiplyExact (c, b[j]));
+			}
+		}
+
+		return new LongPolynomial (result);
+	}
+
+	@Override public LongPolynomial[] divide (LongPolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (p.isZero ())
+		{
+			throw new ArithmeticException ("DIVISION BY ZERO ERROR");
+		}
+
+		long[] b = p.coefficients;
+		int db = b.length - 1;
+
+		long[] rest = this.coefficients.clone ();
+		long[] quotient = new long[Math.max (rest.length - db, 1)];
+
+		//long division, every quotient coefficient must be an integer
+		for (int i = rest.length - 1; i >= db; --i)
+		{
+			if (rest[i] % b[db] != 0)
+			{
+				throw new ArithmeticException ("inexact polynomial division.");
+			}
+
+			//negateExact catches the only overflowing division, Long.MIN_VALUE / -1
+			long q = (b[db] == -1) ? Math.negateExact (rest[i]) : rest[i] / b[db];
+			quotient[i - db] = q;
+
+			for (int j = 0; j < db; ++j)
+			{
+				rest[i - db + j] = Math.subtractExact (rest[i - db + j], Math.multiplyExact (q, b[j]));
+			}
+
+			rest[i] = 0;
+		}
+
+		return new LongPolynomial[] { new LongPolynomial (quotient), new LongPolynomial (rest) };
+	}
+
+	@Override public Polynomial toPolynomial ()
+	{
+		double[] c = new double[this.coefficients.length];
+
+		for (int i = 0; i < c.length; ++i)
+		{
+			c[i] = this.coefficients[i];
+		}
+
+		return new Polynomial (c);
+	}
+
+	/** Checks if this object is equal to the object provided: a LongPolynomial with the same coefficients.
+	*
+	* @param o the object to be compared.
+	*
+	* @return true if the objects are equal, false otherwise.
+	*/
+	@Override public boolean equals (Object o)
+	{
+		return (o instanceof LongPolynomial) && Arrays.equals (this.coefficients, ((LongPolynomial) o).coefficients);
+	}
+
+	/** Returns a hash code for this polynomial.
+	*
+	* @return the hash code of this polynomial.
+	*/
+	@Override public int hashCode ()
+	{
+		return Arrays.hashCode (this.coefficients);
+	}
+
+	/** Returns a string representation of this polynomial.
+	*
+	* @return a String representation of this polynomial.
+	*/
+	@Override public String toString ()
+	{
+		String[] c = new String[this.coefficients.length];
+
+		for (int i = 0; i < c.length; ++i)
+		{
+			c[i] = Long.toString (this.coefficients[i]);
+		}
+
+		return CoefficientRings.format (c);
+	}
+}
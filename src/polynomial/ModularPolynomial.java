@@ -0,0 +1,312 @@
+package polynomial;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/** An immutable polynomial over the prime field GF(p), for a prime p smaller than 2^31. The coefficients are
+* stored as a primitive long array of residues in [0, p), and the operations run on the kernels of
+* ModularPolynomials (NTT multiplication, Newton division).
+*/
+public final class ModularPolynomial implements RingPolynomial<ModularPolynomial>
+{
+	//the field GF(p)
+	static final class Ring implements CoefficientRing<ModularPolynomial>
+	{
+		private final long p;
+
+		Ring (long p)
+		{
+			if (p < 2 || p > Integer.MAX_VALUE || ! BigInteger.valueOf (p).isProbablePrime (40))
+			{
+				throw new IllegalArgumentException ("the modulus must be a prime smaller than 2^31.");
+			}
+
+			this.p = p;
+		}
+
+		/** Returns the prime p of GF(p). */
+		long getModulus ()
+		{
+			return this.p;
+		}
+
+		@Override public ModularPolynomial zero ()
+		{
+			return new ModularPolynomial (this, new long[1]);
+		}
+
+		@Override public ModularPolynomial one ()
+		{
+			return new ModularPolynomial (this, new long[] { 1 });
+		}
+
+		@Override public ModularPolynomial fromCoefficients (long... coefficients)
+		{
+			CoefficientRings.checkCoefficients (coefficients);
+
+			long[] residues = new long[coefficients.length];
+
+			for (int i = 0; i < residues.length; ++i)
+			{
+				residues[i] = Math.floorMod (coefficients[i], this.p);
+			}
+
+			return new ModularPolynomial (this, residues);
+		}
+
+		@Override public boolean equals (Object o)
+		{
+			return (o instanceof Ring) && ((Ring) o).p == this.p;
+		}
+
+		@Override public int hashCode ()
+		{
+			return Long.hashCode (this.p);
+		}
+
+		@Override public String toString ()
+		{
+			return "GF(" + this.p + ")";
+		}
+	}
+
+	private final Ring ring;
+
+	//the residues (index represents the magnitude), always trimmed
+	private final long[] coefficients;
+
+	//adopts the array (no copy), trimming it if needed. The residues must be reduced
+	ModularPolynomial (Ring ring, long[] coefficients)
+	{
+		this.ring = ring;
+		this.coefficients = ModularPolynomials.trim (coefficients);
+	}
+
+	/** Returns the prime p of the field GF(p) of the coefficients.
+	*
+	* @return the modulus.
+	*/
+	public long getModulus ()
+	{
+		return this.ring.getModulus ();
+	}
+
+	/** Returns a coefficient.
+	*
+	* @param magnitude the magnitude of the coefficient.
+	*
+	* @throws IllegalArgumentException if the magnitude is negative.
+	*
+	* @return the coefficient (between 0 and p - 1), zero if the magnitude is bigger than the degree.
+	*/
+	public long getCoefficient (int magnitude)
+	{
+		if (magnitude < 0)
+		{
+			throw new IllegalArgumentException ("element with that magnitude does not exist.");
+		}
+
+		return (magnitude < this.coefficients.length) ? this.coefficients[magnitude] : 0;
+	}
+
+	/** Evaluates this polynomial for a value of its variable, modulo p (with Horner's scheme).
+	*
+	* @param value the value of the variable (any long, it is reduced modulo p).
+	*
+	* @return the value of the polynomial, between 0 and p - 1.
+	*/
+	public long evaluate (long value)
+	{
+		long p = this.ring.getModulus ();
+		long x = Math.floorMod (value, p);
+		long result = this.coefficients[this.coefficients.length - 1];
+
+		for (int i = this.coefficients.length - 2; i >= 0; --i)
+		{
+			result = (result * x + this.coefficients[i]) % p;
+		}
+
+		return result;
+	}
+
+	@Override public CoefficientRing<ModularPolynomial> getRing ()
+	{
+		return this.ring;
+	}
+
+	@Override public int getDegree ()
+	{
+		return this.coefficients.length - 1;
+	}
+
+	@Override public boolean isZero ()
+	{
+		return this.coefficients.length == 1 && this.coefficients[0] == 0;
+	}
+
+	//the checks done by every operation
+	private void check (ModularPolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (p.ring.getModulus () != this.ring.getModulus ())
+		{
+			throw new IllegalArgumentException ("the polynomials have different moduli.");
+		}
+	}
+
+	@Override public ModularPolynomial add (ModularPolynomial p)
+	{
+		check (p);
+
+		return new ModularPolynomial (this.ring, ModularPolynomials.add (this.coefficients, p.coefficients, this.ring.getModulus ()));
+	}
+
+	@Override public ModularPolynomial subtract (ModularPolynomial p)
+	{
+		check (p);
+
+		return new ModularPolynomial (this.ring, ModularPolynomials.subtract (this.coefficients, p.coefficients, this.ring.getModulus ()));
+	}
+
+	@Override public ModularPolynomial multiply (ModularPolynomial p)
+	{
+		check (p);
+
+		return new ModularPolynomial (this.ring, ModularPolynomials.multiply (this.coefficients, p.coefficients, this.ring.getModulus ()));
+	}
+
+	@Override public ModularPolynomial[] divide (ModularPolynomial p)
+	{
+		check (p);
+
+		if (p.isZero ())
+		{
+			throw new ArithmeticException ("DIVISION BY ZERO ERROR");
+		}
+
+		long[][] division = ModularPolynomials.divideAndRemainder (this.coefficients, p.coefficients, this.ring.getModulus ());
+
+		return new ModularPolynomial[] { new ModularPolynomial (this.ring, division[0]), new ModularPolynomial (this.ring, division[1]) };
+	}
+
+	/** Raises this polynomial to a power, modulo another polynomial: returns this^exponent mod modulus. The
+	* exponent can be huge (like p^k, used for factoring over GF(p)), since repeated squaring needs only
+	* O(log exponent) multiplications and every reduction is done with a precomputed inverse of the modulus.
+	*
+	* @param exponent the exponent.
+	*
+	* @param modulus the polynomial to reduce by.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if the exponent is negative, or the moduli are different.
+	*
+	* @throws ArithmeticException if the modulus is a constant.
+	*
+	* @return the remainder of this^exponent divided by modulus.
+	*/
+	public ModularPolynomial powerModulo (BigInteger exponent, ModularPolynomial modulus)
+	{
+		check (modulus);
+
+		if (exponent == null)
+		{
+			throw new NullPointerException ("null exponent provided.");
+		}
+		else if (exponent.signum () < 0)
+		{
+			throw new IllegalArgumentException ("the exponent must not be negative.");
+		}
+		else if (modulus.getDegree () < 1)
+		{
+			throw new ArithmeticException ("the modulus must have degree at least 1.");
+		}
+
+		return new ModularPolynomial (this.ring, ModularPolynomials.powerModulo (this.coefficients, exponent,
+																		modulus.coefficients, this.ring.getModulus ()));
+	}
+
+	/** Returns the inverse of this polynomial modulo x^n: the first n coefficients of the power series
+	* 1 / this, computed by Newton iteration (with NTT multiplications).
+	*
+	* @param n the number of coefficients of the inverse.
+	*
+	* @throws IllegalArgumentException if n is smaller than 1.
+	*
+	* @throws ArithmeticException if the constant coefficient is zero (there is no inverse).
+	*
+	* @return the polynomial q of degree below n such that this * q = 1 mod x^n.
+	*/
+	public ModularPolynomial inverse (int n)
+	{
+		if (n < 1)
+		{
+			throw new IllegalArgumentException ("at least 1 coefficient is needed.");
+		}
+		else if (this.coefficients[0] == 0)
+		{
+			throw new ArithmeticException ("the constant coefficient is zero, there is no inverse.");
+		}
+
+		return new ModularPolynomial (this.ring, ModularPolynomials.reciprocal (this.coefficients, n, this.ring.getModulus ()));
+	}
+
+	@Override public Polynomial toPolynomial ()
+	{
+		double[] c = new double[this.coefficients.length];
+
+		for (int i = 0; i < c.length; ++i)
+		{
+			c[i] = this.coefficients[i];
+		}
+
+		return new Polynomial (c);
+	}
+
+	/** Checks if this object is equal to the object provided: a ModularPolynomial with the same modulus and
+	* the same coefficients.
+	*
+	* @param o the object to be compared.
+	*
+	* @return true if the objects are equal, false otherwise.
+	*/
+	@Override public boolean equals (Object o)
+	{
+		if (! (o instanceof ModularPolynomial))
+		{
+			return false;
+		}
+
+		ModularPolynomial p = (ModularPolynomial) o;
+
+		return p.ring.getModulus () == this.ring.getModulus () && Arrays.equals (this.coefficients, p.coefficients);
+	}
+
+	/** Returns a hash code for this polynomial.
+	*
+	* @return the hash code of this polynomial.
+	*/
+	@Override public int hashCode ()
+	{
+		return 31 * Arrays.hashCode (this.coefficients) + this.ring.hashCode ();
+	}
+
+	/** Returns a string representation of this polynomial, followed by its modulus.
+	*
+	* @return a String representation of this polynomial.
+	*/
+	@Override public String toString ()
+	{
+		String[] c = new String[this.coefficients.length];
+
+		for (int i = 0; i < c.length; ++i)
+		{
+			c[i] = Long.toString (this.coefficients[i]);
+		}
+
+		return CoefficientRings.format (c) + " (mod " + this.ring.getModulus () + ")";
+	}
+}
@@ -0,0 +1,996 @@
+package polynomial;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Kernels for polynomials over the prime field GF(p), stored as long arrays of residues in [0, p)
+* (index represents the magnitude). The prime must be smaller than 2^31, so products of 2 residues fit
+* in a long.
+* <br />
+* Multiplication uses a number theoretic transform when p - 1 is divisible by a big enough power of 2 (the
+* primes returned by nttPrime always are), and division uses Newton inversion for big operands. The GCD uses
+* the half-GCD algorithm for big degrees, which makes it quasi-linear.
+* Unless specified otherwise, the arrays received are not modified and the arrays returned are new and
+* have no zero coefficients at the end (except for the zero polynomial, which is a single zero).
+*/
+final class ModularPolynomials
+{
+	//below this length (of the shorter operand) schoolbook multiplication beats the NTT
+	private static final int NTT_THRESHOLD = 64;
+
+	//for primes small enough to add the products without reducing them, schoolbook multiplication beats the
+	//3 prime NTTs below this length (of the shorter operand)
+	private static final int UNREDUCED_THRESHOLD = 1024;
+
+	//below this divisor length, classical long division beats Newton inversion
+	private static final int NEWTON_DIVISION_THRESHOLD = 128;
+
+	//below this degree, Euclid's algorithm beats the half-GCD
+	private static final int HALF_GCD_THRESHOLD = 2048;
+
+	//the NTT primes have the form c * 2^NTT_ORDER + 1, so transforms of up to 2^NTT_ORDER elements are possible
+	private static final int NTT_ORDER = 20;
+
+	//the NTT primes found so far, in decreasing order
+	private static final List<Long> NTT_PRIMES = new ArrayList<Long> ();
+
+	//the primes below 2^31 found so far, in decreasing order
+	private static final List<Long> PRIMES = new ArrayList<Long> ();
+
+	//the primitive roots of the primes used for NTTs
+	private static final ConcurrentHashMap<Long, Long> PRIMITIVE_ROOTS = new ConcurrentHashMap<Long, Long> ();
+
+	//transforms up to this length have their twiddle factors cached
+	private static final int MAX_CACHED_TWIDDLES = 1 << 16;
+
+	//the NTT twiddle factors, by prime, length and direction (see twiddles)
+	private static final ConcurrentHashMap<Long, long[]> TWIDDLES = new ConcurrentHashMap<Long, long[]> ();
+
+	//utility class, no instances
+	private ModularPolynomials ()
+	{
+	}
+
+	/** Returns the index-th prime of the form c * 2^20 + 1 smaller than 2^31, in decreasing order.
+	* There are more than 100 of them.
+	*
+	* @throws IllegalArgumentException if there's no such prime.
+	*/
+	static long nttPrime (int index)
+	{
+		synchronized (NTT_PRIMES)
+		{
+			long c = NTT_PRIMES.isEmpty () ? (Integer.MAX_VALUE >> NTT_ORDER)
+											: ((NTT_PRIMES.get (NTT_PRIMES.size () - 1) - 1) >> NTT_ORDER) - 1;
+
+			while (NTT_PRIMES.size () <= index && c > 0)
+			{
+				long candidate = (c << NTT_ORDER) + 1;
+
+				if (BigInteger.valueOf (candidate).isProbablePrime (40))
+				{
+					NTT_PRIMES.add (candidate);
+				}
+
+				c--;
+			}
+
+			if (index >= NTT_PRIMES.size ())
+			{
+				throw new IllegalArgumentException ("not enough NTT primes.");
+			}
+
+			return NTT_PRIMES.get (index);
+		}
+	}
+
+	/** Returns the index-th prime smaller than 2^31, in decreasing order. Used by the multi-modular
+	* algorithms needing more primes than there are NTT primes.
+	*/
+	static long prime (int index)
+	{
+		synchronized (PRIMES)
+		{
+			long candidate = PRIMES.isEmpty () ? Integer.MAX_VALUE : PRIMES.get (PRIMES.size () - 1) - 2;
+
+			while (PRIMES.size () <= index)
+			{
+				if (BigInteger.valueOf (candidate).isProbablePrime (40))
+				{
+					PRIMES.add (candidate);
+				}
+
+				candidate -= 2;
+			}
+
+			return PRIMES.get (index);
+		}
+	}
+
+	/** Reduces integer coefficients modulo p. */
+	static long[] reduce (BigInteger[] a, long p)
+	{
+		BigInteger modulus = BigInteger.valueOf (p);
+		long[] result = new long[a.length];
+
+		for (int i = 0; i < a.length; ++i)
+		{
+			result[i] = a[i].mod (modulus).longValue ();
+		}
+
+		return trim (result);
+	}
+
+	/** Returns the degree, ignoring zero coefficients at the end. A zero polynomial has degree 0. */
+	static int degree (long[] a)
+	{
+		int i = a.length - 1;
+
+		while (i > 0 && a[i] == 0)
+		{
+			i--;
+		}
+
+		return i;
+	}
+
+	/** Returns the coefficients without the zero coefficients at the end (at least 1 element is always kept).
+	* If nothing needs removing, the same array is returned.
+	*/
+	static long[] trim (long[] a)
+	{
+		int length = degree (a) + 1;
+
+		if (length == a.length)
+		{
+			return a;
+		}
+
+		long[] result = new long[length];
+		System.arraycopy (a, 0, result, 0, length);
+
+		return result;
+	}
+
+	/** Tells whether all coefficients are zero. */
+	static boolean isZero (long[] a)
+	{
+		return degree (a) == 0 && a[0] == 0;
+	}
+
+	/** Returns base^exponent mod p. */
+	static long power (long base, long exponent, long p)
+	{
+		long result = 1;
+		base %= p;
+
+		while (exponent > 0)
+		{
+			if ((exponent & 1) == 1)
+			{
+				result = result * base % p;
+			}
+
+			base = base * base % p;
+			exponent >>= 1;
+		}
+
+		return result;
+	}
+
+	/** Returns the inverse of a modulo p (a must not be divisible by p). */
+	static long inverse (long a, long p)
+	{
+		return power (a, p - 2, p);
+	}
+
+	/** Returns a + b. */
+	static long[] add (long[] a, long[] b, long p)
+	{
+		long[] result = new long[Math.max (a.length, b.length)];
+
+		for (int i = 0; i < result.length; ++i)
+		{
+			long sum = ((i < a.length) ? a[i] : 0) + ((i < b.length) ? b[i] : 0);
+			result[i] = (sum >= p) ? sum - p : sum;
+		}
+
+		return trim (result);
+	}
+
+	/** Returns a - b. */
+	static long[] subtract (long[] a, long[] b, long p)
+	{
+		long[] result = new long[Math.max (a.length, b.length)];
+
+		for (int i = 0; i < result.length; ++i)
+		{
+			long difference = ((i < a.length) ? a[i] : 0) - ((i < b.length) ? b[i] : 0);
+			result[i] = (difference < 0) ? difference + p : difference;
+		}
+
+		return trim (result);
+	}
+
+	/** Returns c * a. */
+	static long[] scale (long[] a, long c, long p)
+	{
+		long[] result = new long[a.length];
+
+		for (int i = 0; i < a.length; ++i)
+		{
+			result[i] = a[i] * c % p;
+		}
+
+		return trim (result);
+	}
+
+	/** Returns a divided by its leading coefficient (a zero polynomial is returned unchanged). */
+	static long[] monic (long[] a, long p)
+	{
+		a = trim (a);
+
+		long leading = a[a.length - 1];
+
+		if (leading == 0 || leading == 1)
+		{
+			return a;
+		}
+
+		return scale (a, inverse (leading, p), p);
+	}
+
+	/** Returns a * b. Big operands are multiplied with NTTs: directly modulo p when p is an NTT prime for
+	* the length needed, otherwise modulo 3 NTT primes whose product is bigger than any coefficient of the
+	* integer product, and the results are combined with the Chinese remainder theorem. Products longer
+	* than the transforms of the NTT primes (2^20 coefficients) are added up from the products of blocks of
+	* the operands.
+	*/
+	static long[] multiply (long[] a, long[] b, long p)
+	{
+		a = trim (a);
+		b = trim (b);
+
+		int resultlength = a.length + b.length - 1;
+
+		int n = 1;
+		while (n < resultlength)
+		{
+			n <<= 1;
+		}
+
+		int shorter = Math.min (a.length, b.length);
+		boolean direct = (p - 1) % n == 0 && p > 2;
+
+		if (shorter < NTT_THRESHOLD || (! direct && shorter < UNREDUCED_THRESHOLD && fitsUnreduced (p, shorter)))
+		{
+			return multiplySchoolbook (a, b, p);
+		}
+		else if (direct)
+		{
+			return trim (multiplyNTT (a, b, p, n, resultlength));
+		}
+		else if (n > (1 << NTT_ORDER))
+		{
+			return multiplyBlocks (a, b, p);
+		}
+
+		//the integer product has coefficients below min (la, lb) * p^2 < 2^82, the 3 primes multiply to about 2^92
+		long p0 = nttPrime (0), p1 = nttPrime (1), p2 = nttPrime (2);
+
+		long[] r0 = multiplyNTT (a, b, p0, n, resultlength);
+		long[] r1 = multiplyNTT (a, b, p1, n, resultlength);
+		long[] r2 = multiplyNTT (a, b, p2, n, resultlength);
+
+		//Garner's algorithm: x = r0 + p0 * t1 + p0 * p1 * t2, with t1 < p1 and t2 < p2
+		long p0inverse = inverse (p0 % p1, p1);
+		long p0p1inverse = inverse (p0 % p2 * (p1 % p2) % p2, p2);
+
+		long p0modp = p0 % p, p0p1modp = (p0 % p) * (p1 % p) % p;
+
+		long[] result = new long[resultlength];
+
+		for (int i = 0; i < resultlength; ++i)
+		{
+			long t1 = (r1[i] - r0[i] % p1 + p1) % p1 * p0inverse % p1;
+
+			long partial = (r0[i] + p0 % p2 * t1) % p2;
+			long t2 = (r2[i] - partial + p2) % p2 * p0p1inverse % p2;
+
+			result[i] = (r0[i] % p + p0modp * (t1 % p) % p + p0p1modp * (t2 % p) % p) % p;
+		}
+
+		return trim (result);
+	}
+
+	//multiplies operands whose product is longer than the transforms the NTT primes allow: the operands are
+	//cut in blocks whose products fit a transform, and the products of the blocks are added at their offsets
+	private static long[] multiplyBlocks (long[] a, long[] b, long p)
+	{
+		int maximum = 1 << NTT_ORDER;
+		int ablock = maximum / 2, bblock = maximum / 2;
+
+		//a short operand is kept whole, and the other one is cut in blocks as long as the transforms allow
+		if (a.length <= maximum / 2)
+		{
+			ablock = a.length;
+			bblock = maximum - a.length + 1;
+		}
+		else if (b.length <= maximum / 2)
+		{
+			bblock = b.length;
+			ablock = maximum - b.length + 1;
+		}
+
+		long[] result = new long[a.length + b.length - 1];
+
+		for (int i = 0; i < a.length; i += ablock)
+		{
+			long[] x = slice (a, i, ablock);
+
+			if (isZero (x))
+			{
+				continue;
+			}
+
+			for (int j = 0; j < b.length; j += bblock)
+			{
+				long[] product = multiply (x, slice (b, j, bblock), p);
+
+				for (int k = 0; k < product.length; ++k)
+				{
+					long sum = result[i + j + k] + product[k];
+					result[i + j + k] = (sum >= p) ? sum - p : sum;
+				}
+			}
+		}
+
+		return trim (result);
+	}
+
+	//returns at most length coefficients of a, starting with the one at index from
+	private static long[] slice (long[] a, int from, int length)
+	{
+		long[] result = new long[Math.min (length, a.length - from)];
+		System.arraycopy (a, from, result, 0, result.length);
+
+		return result;
+	}
+
+	//multiplies with NTTs modulo p, which must have an n-th root of unity. The operands may be residues modulo
+	//another prime. Returns resultlength coefficients (reduced, not trimmed)
+	private static long[] multiplyNTT (long[] a, long[] b, long p, int n, int resultlength)
+	{
+		MontgomeryReduction montgomery = MontgomeryReduction.forPrime (p);
+
+		long[] fa = new long[n];
+		copyReduced (a, fa, p);
+		ntt (fa, p, false);
+
+		//squaring needs only 1 forward transform
+		long[] fb = fa;
+
+		if (b != a)
+		{
+			fb = new long[n];
+			copyReduced (b, fb, p);
+			ntt (fb, p, false);
+		}
+
+		//each Montgomery product divides by R, the second one (by R^2 mod p) multiplies it back
+		long r2 = montgomery.toMontgomery (montgomery.toMontgomery (1));
+
+		for (int i = 0; i < n; ++i)
+		{
+			fa[i] = montgomery.multiply (montgomery.multiply (fa[i], fb[i]), r2);
+		}
+
+		ntt (fa, p, true);
+
+		long[] result = new long[resultlength];
+		System.arraycopy (fa, 0, result, 0, resultlength);
+
+		return result;
+	}
+
+	//the classical O(n*m) multiplication
+	private static long[] multiplySchoolbook (long[] a, long[] b, long p)
+	{
+		long[] result = new long[a.length + b.length - 1];
+
+		if (fitsUnreduced (p, Math.min (a.length, b.length)))
+		{
+			//every coefficient is a sum of at most min (lengths) products, reduced only at the end
+			for (int i = 0; i < a.length; ++i)
+			{
+				long c = a[i];
+
+				if (c == 0)
+				{
+					continue;
+				}
+
+				for (int j = 0; j < b.length; ++j)
+				{
+					result[i + j] += c * b[j];
+				}
+			}
+
+			for (int k = 0; k < result.length; ++k)
+			{
+				result[k] %= p;
+			}
+
+			return trim (result);
+		}
+
+		//products are below 2^62, so a residue plus a product never overflows
+		for (int i = 0; i < a.length; ++i)
+		{
+			if (a[i] == 0)
+			{
+				continue;
+			}
+
+			for (int j = 0; j < b.length; ++j)
+			{
+				result[i + j] = (result[i + j] + a[i] * b[j]) % p;
+			}
+		}
+
+		return trim (result);
+	}
+
+	//tells whether count products of residues modulo p can be added without overflowing
+	private static boolean fitsUnreduced (long p, int count)
+	{
+		return (p - 1) * (p - 1) <= Long.MAX_VALUE / count;
+	}
+
+	//copies the coefficients of a (residues modulo some prime below 2^31) to the start of destination,
+	//reduced modulo p
+	private static void copyReduced (long[] a, long[] destination, long p)
+	{
+		for (int i = 0; i < a.length; ++i)
+		{
+			destination[i] = (a[i] >= p) ? a[i] % p : a[i];
+		}
+	}
+
+	//in-place iterative NTT. The length must be a power of 2 dividing p - 1 (and p must be odd).
+	//The inverse transform is scaled by 1 / n. The butterflies use Montgomery multiplication
+	private static void ntt (long[] a, long p, boolean inverse)
+	{
+		int n = a.length;
+
+		//bit-reversal permutation
+		for (int i = 1, j = 0; i < n; ++i)
+		{
+			int bit = n >> 1;
+
+			for (; (j & bit) != 0; bit >>= 1)
+			{
+				j ^= bit;
+			}
+
+			j ^= bit;
+
+			if (i < j)
+			{
+				long t = a[i];
+				a[i] = a[j];
+				a[j] = t;
+			}
+		}
+
+		MontgomeryReduction montgomery = MontgomeryReduction.forPrime (p);
+		long[] roots = twiddles (p, n, inverse);
+
+		for (int len = 2; len <= n; len <<= 1)
+		{
+			int half = len >> 1;
+			int step = n / len;
+
+			for (int i = 0; i < n; i += len)
+			{
+				for (int j = 0; j < half; ++j)
+				{
+					long u = a[i + j];
+					long v = montgomery.multiply (a[i + j + half], roots[j * step]);
+
+					a[i + j] = (u + v >= p) ? u + v - p : u + v;
+					a[i + j + half] = (u - v < 0) ? u - v + p : u - v;
+				}
+			}
+		}
+
+		if (inverse)
+		{
+			long ninverse = montgomery.toMontgomery (inverse (n, p));
+
+			for (int i = 0; i < n; ++i)
+			{
+				a[i] = montgomery.multiply (a[i], ninverse);
+			}
+		}
+	}
+
+	//returns the powers 0 ... n / 2 - 1 of the n-th root of unity (or of its inverse) modulo p, in Montgomery
+	//form. The tables are cached, they only depend on the arguments
+	private static long[] twiddles (long p, int n, boolean inverse)
+	{
+		//p < 2^31 and n < 2^31, so the key is unique
+		long key = (p << 22) | ((long) Integer.numberOfTrailingZeros (n) << 1) | (inverse ? 1 : 0);
+
+		long[] cached = TWIDDLES.get (key);
+
+		if (cached != null)
+		{
+			return cached;
+		}
+
+		MontgomeryReduction montgomery = MontgomeryReduction.forPrime (p);
+
+		long root = power (primitiveRoot (p), (p - 1) / n, p);
+
+		if (inverse)
+		{
+			root = inverse (root, p);
+		}
+
+		long[] roots = new long[Math.max (n / 2, 1)];
+		long montgomeryroot = montgomery.toMontgomery (root);
+
+		roots[0] = montgomery.toMontgomery (1);
+
+		for (int i = 1; i < roots.length; ++i)
+		{
+			roots[i] = montgomery.multiply (roots[i - 1], montgomeryroot);
+		}
+
+		//the big tables are not kept, recomputing them costs much less than the transform
+		if (n <= MAX_CACHED_TWIDDLES)
+		{
+			TWIDDLES.putIfAbsent (key, roots);
+		}
+
+		return roots;
+	}
+
+	/** Returns a primitive root modulo the prime p (the results are cached). */
+	static long primitiveRoot (long p)
+	{
+		Long cached = PRIMITIVE_ROOTS.get (p);
+
+		if (cached != null)
+		{
+			return cached;
+		}
+
+		//the prime factors of p - 1 (p is below 2^31, so trial division is fast)
+		List<Long> factors = new ArrayList<Long> ();
+		long m = p - 1;
+
+		for (long f = 2; f * f <= m; ++f)
+		{
+			if (m % f == 0)
+			{
+				factors.add (f);
+
+				while (m % f == 0)
+				{
+					m /= f;
+				}
+			}
+		}
+
+		if (m > 1)
+		{
+			factors.add (m);
+		}
+
+		//g is a primitive root if g^((p - 1) / q) != 1 for every prime factor q of p - 1
+		for (long g = 2; ; ++g)
+		{
+			boolean primitive = true;
+
+			for (long q : factors)
+			{
+				if (power (g, (p - 1) / q, p) == 1)
+				{
+					primitive = false;
+					break;
+				}
+			}
+
+			if (primitive)
+			{
+				PRIMITIVE_ROOTS.put (p, g);
+				return g;
+			}
+		}
+	}
+
+	/** Returns the first n coefficients of the power series 1 / a (a[0] must not be zero), by Newton iteration. */
+	static long[] reciprocal (long[] a, int n, long p)
+	{
+		long[] g = { inverse (a[0], p) };
+		int precision = 1;
+
+		while (precision < n)
+		{
+			precision = Math.min (2 * precision, n);
+
+			//g = g * (2 - a * g) mod x^precision
+			long[] e = truncate (multiply (truncate (a, precision), g, p), precision);
+
+			for (int i = 0; i < precision; ++i)
+			{
+				e[i] = (e[i] == 0) ? 0 : p - e[i];
+			}
+
+			e[0] = (e[0] + 2) % p;
+
+			g = truncate (multiply (g, e, p), precision);
+		}
+
+		return g;
+	}
+
+	/** Returns the first n coefficients (padding with zeros if needed), without trimming. */
+	static long[] truncate (long[] a, int n)
+	{
+		long[] result = new long[n];
+		System.arraycopy (a, 0, result, 0, Math.min (n, a.length));
+
+		return result;
+	}
+
+	/** Returns the coefficients of a, in reverse order, considering that a has length coefficients. */
+	static long[] reverse (long[] a, int length)
+	{
+		long[] result = new long[length];
+
+		for (int i = 0; i < length && i < a.length; ++i)
+		{
+			result[length - 1 - i] = a[i];
+		}
+
+		return result;
+	}
+
+	/** Returns the quotient and the remainder of the division of a by b (b must not be zero). */
+	static long[][] divideAndRemainder (long[] a, long[] b, long p)
+	{
+		a = trim (a);
+		b = trim (b);
+
+		int da = a.length - 1, db = b.length - 1;
+
+		if (da < db || isZero (a))
+		{
+			return new long[][] { { 0 }, a };
+		}
+
+		if (db < NEWTON_DIVISION_THRESHOLD || da - db < NEWTON_DIVISION_THRESHOLD / 4)
+		{
+			return divideClassical (a, b, p);
+		}
+
+		//rev (q) = rev (a) / rev (b) mod x^(da - db + 1)
+		int quotientlength = da - db + 1;
+
+		long[] inverse = reciprocal (reverse (b, b.length), quotientlength, p);
+		long[] reversedquotient = truncate (multiply (truncate (reverse (a, a.length), quotientlength), inverse, p), quotientlength);
+		long[] quotient = trim (reverse (reversedquotient, quotientlength));
+
+		long[] remainder = subtract (a, multiply (quotient, b, p), p);
+
+		return new long[][] { quotient, remainder };
+	}
+
+	//long division
+	private static long[][] divideClassical (long[] a, long[] b, long p)
+	{
+		int da = a.length - 1, db = b.length - 1;
+
+		long[] rest = a.clone ();
+		long[] quotient = new long[da - db + 1];
+		long leadinginverse = inverse (b[db], p);
+
+		for (int i = da; i >= db; --i)
+		{
+			long q = rest[i] * leadinginverse % p;
+			quotient[i - db] = q;
+
+			if (q != 0)
+			{
+				//adding (p - q) * b needs a single reduction per coefficient
+				long negated = p - q;
+
+				for (int j = 0; j <= db; ++j)
+				{
+					rest[i - db + j] = (rest[i - db + j] + negated * b[j]) % p;
+				}
+			}
+		}
+
+		return new long[][] { trim (quotient), trim (truncate (rest, Math.max (db, 1))) };
+	}
+
+	/** Returns the remainder of the division of a by b (b must not be zero), using the first coefficients of
+	* the power series 1 / reverse (b) when they are provided (reversedinverse may be null). Dividing many
+	* times by the same b, the inverse is computed only once.
+	*/
+	static long[] remainder (long[] a, long[] b, long[] reversedinverse, long p)
+	{
+		a = trim (a);
+		b = trim (b);
+
+		int da = a.length - 1, db = b.length - 1;
+		int quotientlength = da - db + 1;
+
+		if (da < db || isZero (a))
+		{
+			return a;
+		}
+		else if (reversedinverse == null || reversedinverse.length < quotientlength || db < NEWTON_DIVISION_THRESHOLD)
+		{
+			return divideAndRemainder (a, b, p)[1];
+		}
+
+		long[] reversedquotient = truncate (multiply (truncate (reverse (a, a.length), quotientlength),
+													  truncate (reversedinverse, quotientlength), p), quotientlength);
+		long[] quotient = reverse (reversedquotient, quotientlength);
+
+		return subtract (a, multiply (quotient, b, p), p);
+	}
+
+	/** Returns a^exponent mod m (m must have degree at least 1), by repeated squaring. The inverse of the
+	* reversed modulus is computed once, so every reduction is a multiplication.
+	*/
+	static long[] powerModulo (long[] a, BigInteger exponent, long[] m, long p)
+	{
+		m = trim (m);
+
+		int dm = m.length - 1;
+		long[] reversedinverse = reciprocal (reverse (m, m.length), Math.max (dm, 1), p);
+
+		long[] base = remainder (a, m, reversedinverse, p);
+		long[] result = remainder (new long[] { 1 }, m, reversedinverse, p);
+
+		for (int i = exponent.bitLength () - 1; i >= 0; --i)
+		{
+			result = remainder (multiply (result, result, p), m, reversedinverse, p);
+
+			if (exponent.testBit (i))
+			{
+				result = remainder (multiply (result, base, p), m, reversedinverse, p);
+			}
+		}
+
+		return result;
+	}
+
+	/** Returns the remainder of the division of a by b (b must not be zero). */
+	static long[] remainder (long[] a, long[] b, long p)
+	{
+		return divideAndRemainder (a, b, p)[1];
+	}
+
+	/** Returns the monic GCD of a and b (zero if both are zero). Big degrees use the half-GCD algorithm. */
+	static long[] gcd (long[] a, long[] b, long p)
+	{
+		a = trim (a);
+		b = trim (b);
+
+		if (degree (a) < degree (b))
+		{
+			long[] aux = a;
+			a = b;
+			b = aux;
+		}
+
+		while (! isZero (b))
+		{
+			if (degree (b) >= HALF_GCD_THRESHOLD)
+			{
+				//the half-GCD needs deg a > deg b
+				if (degree (a) == degree (b))
+				{
+					long[] r = remainder (a, b, p);
+					a = b;
+					b = r;
+
+					continue;
+				}
+
+				long[][] m = halfGcd (a, b, p);
+				long[][] reduced = apply (m, a, b, p);
+
+				a = reduced[0];
+				b = reduced[1];
+
+				if (isZero (b))
+				{
+					break;
+				}
+			}
+
+			long[] r = remainder (a, b, p);
+			a = b;
+			b = r;
+		}
+
+		return monic (a, p);
+	}
+
+	/** Returns the resultant of a and b modulo p (zero if any of them is zero), with the Euclidean algorithm:
+	* res (a, b) = (-1)^(deg a * deg b) * lc (b)^(deg a - deg r) * res (b, r), r being a mod b.
+	*/
+	static long resultant (long[] a, long[] b, long p)
+	{
+		a = trim (a);
+		b = trim (b);
+
+		if (isZero (a) || isZero (b))
+		{
+			return 0;
+		}
+
+		long result = 1;
+
+		while (true)
+		{
+			int da = a.length - 1, db = b.length - 1;
+
+			//res (c, b) = c^deg b and res (a, c) = c^deg a for a constant c
+			if (da == 0)
+			{
+				return result * power (a[0], db, p) % p;
+			}
+			else if (db == 0)
+			{
+				return result * power (b[0], da, p) % p;
+			}
+
+			if (da < db)
+			{
+				long[] aux = a;
+				a = b;
+				b = aux;
+
+				if ((da & db & 1) == 1)
+				{
+					result = (p - result) % p;
+				}
+
+				continue;
+			}
+
+			long[] r = remainder (a, b, p);
+
+			if (isZero (r))
+			{
+				return 0;
+			}
+
+			result = result * power (b[db], da - (r.length - 1), p) % p;
+
+			if ((da & db & 1) == 1)
+			{
+				result = (p - result) % p;
+			}
+
+			a = b;
+			b = r;
+		}
+	}
+
+	/** Returns s and t such that s * a + t * b = 1, for coprime a and b (not both constant), with
+	* deg s < deg b and deg t < deg a. Classical extended Euclidean algorithm.
+	*/
+	static long[][] extendedGcd (long[] a, long[] b, long p)
+	{
+		long[] r0 = trim (a), r1 = trim (b);
+		long[] s0 = { 1 }, s1 = { 0 };
+		long[] t0 = { 0 }, t1 = { 1 };
+
+		while (! isZero (r1))
+		{
+			long[][] division = divideAndRemainder (r0, r1, p);
+
+			long[] r = division[1];
+			long[] s = subtract (s0, multiply (division[0], s1, p), p);
+			long[] t = subtract (t0, multiply (division[0], t1, p), p);
+
+			r0 = r1;
+			r1 = r;
+			s0 = s1;
+			s1 = s;
+			t0 = t1;
+			t1 = t;
+		}
+
+		//r0 is the GCD, a non-zero constant
+		long c = inverse (r0[0], p);
+
+		return new long[][] { scale (s0, c, p), scale (t0, c, p) };
+	}
+
+	//the half-GCD: returns a matrix M (2 x 2 polynomials, row-major) such that M * (a, b) are 2 consecutive
+	//remainders of the Euclidean remainder sequence of a and b, the second one having a degree below
+	//ceil (deg a / 2). deg a must be bigger than deg b
+	private static long[][] halfGcd (long[] a, long[] b, long p)
+	{
+		int n = degree (a);
+		int m = (n + 1) / 2;
+
+		if (degree (b) < m || isZero (b))
+		{
+			return identity ();
+		}
+
+		//the top halves determine the first half of the quotient sequence
+		long[][] r = halfGcd (shiftDown (a, m), shiftDown (b, m), p);
+		long[][] reduced = apply (r, a, b, p);
+
+		long[] b0 = reduced[0], b1 = reduced[1];
+
+		if (degree (b1) < m || isZero (b1))
+		{
+			return r;
+		}
+
+		long[][] division = divideAndRemainder (b0, b1, p);
+		long[] q = division[0];
+		long[] b2 = division[1];
+
+		//Q = [[0, 1], [1, -q]]
+		long[][] qmatrix = { { 0 }, { 1 }, { 1 }, subtract (new long[] { 0 }, q, p) };
+
+		int k = 2 * m - degree (b1);
+
+		long[][] s = halfGcd (shiftDown (b1, k), shiftDown (b2, k), p);
+
+		return multiplyMatrices (s, multiplyMatrices (qmatrix, r, p), p);
+	}
+
+	//returns a divided by x^k (the low coefficients are dropped)
+	private static long[] shiftDown (long[] a, int k)
+	{
+		if (a.length <= k)
+		{
+			return new long[] { 0 };
+		}
+
+		long[] result = new long[a.length - k];
+		System.arraycopy (a, k, result, 0, result.length);
+
+		return trim (result);
+	}
+
+	//the identity matrix
+	private static long[][] identity ()
+	{
+		return new long[][] { { 1 }, { 0 }, { 0 }, { 1 } };
+	}
+
+	//returns M * (a, b)
+	private static long[][] apply (long[][] m, long[] a, long[] b, long p)
+	{
+		return new long[][] { add (multiply (m[0], a, p), multiply (m[1], b, p), p),
+							add (multiply (m[2], a, p), multiply (m[3], b, p), p) };
+	}
+
+	//returns x * y, for 2 x 2 matrices of polynomials
+	private static long[][] multiplyMatrices (long[][] x, long[][] y, long p)
+	{
+		return new long[][] { add (multiply (x[0], y[0], p), multiply (x[1], y[2], p), p),
+							add (multiply (x[0], y[1], p), multiply (x[1], y[3], p), p),
+							add (multiply (x[2], y[0], p), multiply (x[3], y[2], p), p),
+							add (multiply (x[2], y[1], p), multiply (x[3], y[3], p), p) };
+	}
+}
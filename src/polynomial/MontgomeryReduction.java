@@ -0,0 +1,80 @@
+package polynomial;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Montgomery multiplication modulo an odd prime p smaller than 2^31, with R = 2^32.
+* reduce (t) returns t / R mod p using only multiplications, additions and shifts (no division), so
+* multiply (a, b) = a * b / R mod p is much faster than a * b % p.
+* <br />
+* The usual trick to avoid converting to and from the Montgomery form: if c is a constant stored as c * R mod p
+* (see toMontgomery), multiply (a, that) returns a * c mod p for an ordinary residue a. The NTT twiddle
+* factors are stored like that.
+*/
+final class MontgomeryReduction
+{
+	//the instances created so far, one per prime
+	private static final ConcurrentHashMap<Long, MontgomeryReduction> INSTANCES = new ConcurrentHashMap<Long, MontgomeryReduction> ();
+
+	private final long p;
+
+	//-p^-1 mod 2^32
+	private final long negativeinverse;
+
+	//R^2 mod p
+	private final long r2;
+
+	private MontgomeryReduction (long p)
+	{
+		this.p = p;
+
+		//Newton iteration for p^-1 mod 2^32: every step doubles the number of correct bits (p * p = 1 mod 8)
+		long inverse = p;
+
+		for (int i = 0; i < 4; ++i)
+		{
+			inverse *= 2 - p * inverse;
+		}
+
+		this.negativeinverse = (-inverse) & 0xffffffffL;
+
+		long r = (1L << 32) % p;
+		this.r2 = r * r % p;
+	}
+
+	/** Returns the instance for the odd prime p (p < 2^31). The instances are cached. */
+	static MontgomeryReduction forPrime (long p)
+	{
+		MontgomeryReduction result = INSTANCES.get (p);
+
+		if (result == null)
+		{
+			result = new MontgomeryReduction (p);
+			INSTANCES.putIfAbsent (p, result);
+		}
+
+		return result;
+	}
+
+	/** Returns t / R mod p, in [0, p). t must be in [0, p * R). */
+	long reduce (long t)
+	{
+		long m = ((t & 0xffffffffL) * this.negativeinverse) & 0xffffffffL;
+
+		//t + m * p is below 2^64 (as an unsigned number) and divisible by R
+		long u = (t + m * this.p) >>> 32;
+
+		return (u >= this.p) ? u - this.p : u;
+	}
+
+	/** Returns a * b / R mod p, for a and b in [0, p). */
+	long multiply (long a, long b)
+	{
+		return reduce (a * b);
+	}
+
+	/** Returns a * R mod p (the Montgomery form of a), for a in [0, p). */
+	long toMontgomery (long a)
+	{
+		return reduce (a * this.r2);
+	}
+}
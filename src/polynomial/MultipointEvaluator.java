@@ -0,0 +1,125 @@
+package polynomial;
+
+/** Evaluates polynomials at a fixed set of points (and interpolates values at them, see
+* PolynomialInterpolation).
+* <br />
+* The values are computed with Horner's scheme at every point (in parallel for big batches), so they have
+* its accuracy. Descending a remainder tree would need only O(M(n) log n) operations instead of O(n^2), but
+* in floating point it is not numerically stable: the remainders are kept in the monomial basis, and their
+* coefficients grow exponentially with the number of points they must take values at, even for well spread
+* points (Chebyshev points in [-1, 1], interleaved in the tree). Compared to Horner's error bound, the values
+* it gives lose about 4 digits from 33 points, 10 digits from 64, and are meaningless from 128.
+* <br />
+* Objects of this class are immutable, so they can be shared between threads.
+*/
+public final class MultipointEvaluator
+{
+	//the points are evaluated in parallel, each task handling about this many coefficient operations
+	private static final int PARALLEL_WORK = 1 << 16;
+
+	//the points at which the polynomials are evaluated
+	private final double[] points;
+
+	/** Creates an evaluator for the points provided.
+	*
+	* @param points the points at which polynomials will be evaluated. The array is copied.
+	*
+	* @throws NullPointerException if points is null.
+	*
+	* @throws IllegalArgumentException if points is empty.
+	*/
+	public MultipointEvaluator (double[] points)
+	{
+		if (points == null)
+		{
+			throw new NullPointerException ("null points provided.");
+		}
+		else if (points.length == 0)
+		{
+			throw new IllegalArgumentException ("at least 1 point is needed.");
+		}
+
+		this.points = points.clone ();
+	}
+
+	/** Returns the number of points of this evaluator.
+	*
+	* @return the number of points.
+	*/
+	public int getPointCount ()
+	{
+		return this.points.length;
+	}
+
+	/** Returns one of the points of this evaluator.
+	*
+	* @param index the index of the point, between 0 and getPointCount () - 1.
+	*
+	* @throws IllegalArgumentException if the index is out of range.
+	*
+	* @return the point.
+	*/
+	public double getPoint (int index)
+	{
+		if (index < 0 || index >= this.points.length)
+		{
+			throw new IllegalArgumentException ("point with that index does not exist.");
+		}
+
+		return this.points[index];
+	}
+
+	/** Evaluates the polynomial at all the points of this evaluator.
+	*
+	* @param p the polynomial to evaluate.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return an array with the values of the polynomial, in the order of the points.
+	*/
+	public double[] evaluate (Polynomial p)
+	{
+		double[] results = new double[this.points.length];
+
+		evaluate (p, results);
+
+		return results;
+	}
+
+	/** Evaluates the polynomial at all the points of this evaluator and stores the values in the array
+	* provided.
+	*
+	* @param p the polynomial to evaluate.
+	*
+	* @param results the array in which the values are stored, in the order of the points.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if the results array is smaller than the number of points.
+	*/
+	public void evaluate (Polynomial p, double[] results)
+	{
+		if (p == null || results == null)
+		{
+			throw new NullPointerException ("null parameter provided.");
+		}
+		else if (results.length < this.points.length)
+		{
+			throw new IllegalArgumentException ("results array is too small.");
+		}
+
+		final double[] coefficients = p.getCoefficients ();
+		final double[] values = results;
+
+		ParallelLoops.forRange (0, this.points.length, Math.max (PARALLEL_WORK / coefficients.length, 1), new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				for (int i = from; i < to; ++i)
+				{
+					values[i] = CoefficientKernels.evaluate (coefficients, MultipointEvaluator.this.points[i]);
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,67 @@
+package polynomial;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/** Runs loops over index ranges on the common fork/join pool. The range is split in halves until the
+* pieces are not bigger than a grain size, and the pieces run in parallel.
+*/
+final class ParallelLoops
+{
+	/** The body of a loop: processes the indexes between from (inclusive) and to (exclusive). */
+	interface RangeTask
+	{
+		void run (int from, int to);
+	}
+
+	//utility class, no instances
+	private ParallelLoops ()
+	{
+	}
+
+	/** Runs the task over the range [from, to), in parallel when the range is bigger than the grain.
+	* Returns only after the whole range has been processed. Exceptions thrown by the task are rethrown.
+	*/
+	static void forRange (int from, int to, int grain, RangeTask task)
+	{
+		//small ranges (and single core machines) are not worth the scheduling overhead
+		if (to - from <= grain || ForkJoinPool.getCommonPoolParallelism () < 2)
+		{
+			task.run (from, to);
+			return;
+		}
+
+		ForkJoinPool.commonPool ().invoke (new RangeAction (from, to, Math.max (grain, 1), task));
+	}
+
+	//splits its range in 2 until it's small enough
+	private static final class RangeAction extends RecursiveAction
+	{
+		private static final long serialVersionUID = 3925840372251174713L;
+
+		private final int from, to, grain;
+		private final RangeTask task;
+
+		RangeAction (int from, int to, int grain, RangeTask task)
+		{
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+			this.task = task;
+		}
+
+		@Override protected void compute ()
+		{
+			if (this.to - this.from <= this.grain)
+			{
+				this.task.run (this.from, this.to);
+				return;
+			}
+
+			int middle = (this.from + this.to) >>> 1;
+
+			invokeAll (new RangeAction (this.from, middle, this.grain, this.task),
+						new RangeAction (middle, this.to, this.grain, this.task));
+		}
+	}
+}
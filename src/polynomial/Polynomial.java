@@ -24,6 +24,16 @@ public final class Polynomial implements Serializable, Comparable<Polynomial>
 	private int biggest_non_zero_index;
 	private double biggest_non_zero_coeff;
 
+	//incremented by every change of a coefficient, so that the caches built from the coefficients can
+	//tell when they are stale. It's not part of the value of the polynomial, so it's not serialized.
+	//Volatile, so that caches used from other threads see the changes
+	private transient volatile long version;
+
+	//the listeners notified of the changes (copied on write), null when there are none, so that changes
+	//cost nothing more than a null check when nobody listens. Volatile, so that the changes made from any
+	//thread notify the listeners added from another one
+	private transient volatile PolynomialChangeListener[] listeners;
+
 	/** The serial version ID for this current implementation of this class (used by the Serializable interface).
 	*/
 	private static final long serialVersionUID = -8803174995935847264L;
@@ -56,6 +66,31 @@ public final class Polynomial implements Serializable, Comparable<Polynomial>
 		Arrays.fill (elements, 0.0);
 	}
 	
+	//package-private constructor used by the algorithms of this package: the polynomial takes
+	//ownership of the coefficients array (which must have at least 1 element), so no copy is made
+	Polynomial (double[] coefficients)
+	{
+		this.elements = coefficients;
+		this.polynomialsize = coefficients.length;
+
+		calculateBiggestNonZeroIndex ();
+		calculateBiggestNonZeroCoeff ();
+	}
+
+	//package-private: returns a copy of the coefficients, up to and including the biggest non zero magnitude
+	double[] getCoefficients ()
+	{
+		return Arrays.copyOf (this.elements, this.biggest_non_zero_index + 1);
+	}
+
+	//package-private: returns the coefficients array itself, not a copy, for the algorithms of this package
+	//that only read it and can't afford a copy per call. Only the magnitudes up to getBiggestNonZeroIndex
+	//are meaningful, the array may be longer
+	double[] getCoefficientsArray ()
+	{
+		return this.elements;
+	}
+	
 	/** Returns the maximum magnitude of this polynomial.
 	*
 	* @return the maximum magnitude.
@@ -85,6 +120,14 @@ public final class Polynomial implements Serializable, Comparable<Polynomial>
 			//need to be recalculated
 			calculateBiggestNonZeroIndex ();
 			calculateBiggestNonZeroCoeff ();
+
+			//after everything else, so that a thread seeing the new version sees the whole change
+			this.version++;
+
+			if (this.listeners != null)
+			{
+				fireChanged (magnitude, magnitude);
+			}
 		}
 		else
 		{
@@ -216,6 +259,106 @@ public final class Polynomial implements Serializable, Comparable<Polynomial>
 		//reset cache information to zero
 		this.biggest_non_zero_coeff = 0.0;
 		this.biggest_non_zero_index = 0;
+		this.version++;
+
+		if (this.listeners != null)
+		{
+			fireChanged (0, this.polynomialsize - 1);
+		}
+	}
+
+	/** Returns the modification version of this polynomial: a number that increases every time its
+	* coefficients are changed (by setElement or reset). Anything computed from the coefficients can store
+	* the version it was computed for, and is stale when the version changed. The version is not serialized.
+	* A change made by a thread is visible to the others as soon as the version is (the coefficients
+	* themselves must still not be changed by several threads at the same time).
+	*
+	* @return the modification version.
+	*/
+	public long getVersion ()
+	{
+		return this.version;
+	}
+
+	/** Adds a listener, which will be notified of every change of the coefficients, with the range of
+	* magnitudes changed. Polynomials without listeners don't pay anything for this mechanism. The listeners
+	* are not serialized.
+	*
+	* @param listener the listener.
+	*
+	* @throws NullPointerException if listener is null.
+	*/
+	public synchronized void addChangeListener (PolynomialChangeListener listener)
+	{
+		if (listener == null)
+		{
+			throw new NullPointerException ("null listener provided.");
+		}
+
+		PolynomialChangeListener[] current = this.listeners;
+
+		if (current == null)
+		{
+			this.listeners = new PolynomialChangeListener[] { listener };
+		}
+		else
+		{
+			PolynomialChangeListener[] updated = Arrays.copyOf (current, current.length + 1);
+			updated[current.length] = listener;
+
+			this.listeners = updated;
+		}
+	}
+
+	/** Removes a listener added by addChangeListener (if it was added more than once, only once).
+	* Nothing happens if the listener isn't registered.
+	*
+	* @param listener the listener.
+	*/
+	public synchronized void removeChangeListener (PolynomialChangeListener listener)
+	{
+		PolynomialChangeListener[] current = this.listeners;
+
+		if (current == null)
+		{
+			return;
+		}
+
+		for (int i = 0; i < current.length; ++i)
+		{
+			if (current[i] == listener)
+			{
+				if (current.length == 1)
+				{
+					this.listeners = null;
+				}
+				else
+				{
+					PolynomialChangeListener[] updated = new PolynomialChangeListener[current.length - 1];
+					System.arraycopy (current, 0, updated, 0, i);
+					System.arraycopy (current, i + 1, updated, i, updated.length - i);
+
+					this.listeners = updated;
+				}
+
+				return;
+			}
+		}
+	}
+
+	//notifies the listeners that the magnitudes from ... to changed. The array is never modified (it's
+	//replaced instead), so listeners may remove themselves while being notified
+	private void fireChanged (int from, int to)
+	{
+		PolynomialChangeListener[] current = this.listeners;
+
+		if (current != null)
+		{
+			for (PolynomialChangeListener listener : current)
+			{
+				listener.polynomialChanged (this, from, to);
+			}
+		}
 	}
 	
 	/** Compares two Polynomial objects numerically. Returns a negative integer, zero or a positive
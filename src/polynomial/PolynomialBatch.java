@@ -0,0 +1,432 @@
+package polynomial;
+
+/** Many polynomials of the same maximum size, stored together in a single double array.
+* The array is columnar: the coefficients of the same magnitude of all the polynomials are next to each other
+* (the coefficient of x^i of polynomial k is at index i * count + k). Every operation is then a sequence of
+* loops running over all the polynomials at once, with unit stride and no dependency between iterations, which
+* the JIT compiler vectorizes; there are no object headers or pointers to follow. Evaluating all the
+* polynomials, for example, is Horner's scheme where every step updates the whole row of values.
+* <br />
+* The operations return new batches and leave the batches they receive unchanged. Big batches are processed in
+* parallel (every task handles a range of polynomials).
+*/
+public final class PolynomialBatch
+{
+	//the polynomials are processed in parallel, each task handling about this many coefficients
+	private static final int PARALLEL_WORK = 1 << 16;
+
+	//the number of polynomials
+	private final int count;
+
+	//the number of coefficients of every polynomial (magnitudes 0 ... size - 1)
+	private final int size;
+
+	//the coefficient of x^i of polynomial k is data[i * count + k]
+	private final double[] data;
+
+	/** Creates a batch of zero polynomials.
+	*
+	* @param count the number of polynomials.
+	*
+	* @param size the maximum size of the polynomials: the available magnitudes are between 0 and size - 1.
+	*
+	* @throws IllegalArgumentException if count or size is less than 1, or if the batch would have more than
+	* Integer.MAX_VALUE coefficients.
+	*/
+	public PolynomialBatch (int count, int size)
+	{
+		if (count < 1 || size < 1)
+		{
+			throw new IllegalArgumentException ("invalid batch size");
+		}
+		else if ((long) count * size > Integer.MAX_VALUE)
+		{
+			throw new IllegalArgumentException ("batch too big");
+		}
+
+		this.count = count;
+		this.size = size;
+		this.data = new double[count * size];
+	}
+
+	/** Creates a batch containing the polynomials provided. The size of the batch is the smallest one that fits
+	* all of them.
+	*
+	* @param polynomials the polynomials.
+	*
+	* @throws NullPointerException if the array or any of its polynomials is null.
+	*
+	* @throws IllegalArgumentException if the array is empty or the batch would be too big.
+	*
+	* @return the batch.
+	*/
+	public static PolynomialBatch fromPolynomials (Polynomial[] polynomials)
+	{
+		if (polynomials == null)
+		{
+			throw new NullPointerException ("null array provided.");
+		}
+
+		int size = 1;
+
+		for (Polynomial p : polynomials)
+		{
+			if (p == null)
+			{
+				throw new NullPointerException ("null polynomial provided.");
+			}
+
+			size = Math.max (size, p.getBiggestNonZeroIndex () + 1);
+		}
+
+		PolynomialBatch result = new PolynomialBatch (polynomials.length, size);
+
+		for (int k = 0; k < polynomials.length; ++k)
+		{
+			double[] c = polynomials[k].getCoefficientsArray ();
+
+			for (int i = 0; i <= polynomials[k].getBiggestNonZeroIndex (); ++i)
+			{
+				result.data[i * result.count + k] = c[i];
+			}
+		}
+
+		return result;
+	}
+
+	/** Returns the number of polynomials.
+	*
+	* @return the number of polynomials.
+	*/
+	public int getCount ()
+	{
+		return this.count;
+	}
+
+	/** Returns the maximum size of the polynomials.
+	*
+	* @return the number of magnitudes available (from 0 to size - 1).
+	*/
+	public int getSize ()
+	{
+		return this.size;
+	}
+
+	/** Returns a coefficient of one of the polynomials.
+	*
+	* @param polynomial the index of the polynomial.
+	*
+	* @param magnitude the magnitude of the coefficient.
+	*
+	* @throws IllegalArgumentException if the index or the magnitude is out of range.
+	*
+	* @return the coefficient.
+	*/
+	public double getCoefficient (int polynomial, int magnitude)
+	{
+		return this.data[index (polynomial, magnitude)];
+	}
+
+	/** Changes a coefficient of one of the polynomials.
+	*
+	* @param polynomial the index of the polynomial.
+	*
+	* @param magnitude the magnitude of the coefficient.
+	*
+	* @param value the new value of the coefficient.
+	*
+	* @throws IllegalArgumentException if the index or the magnitude is out of range.
+	*/
+	public void setCoefficient (int polynomial, int magnitude, double value)
+	{
+		this.data[index (polynomial, magnitude)] = value;
+	}
+
+	/** Returns one of the polynomials.
+	*
+	* @param polynomial the index of the polynomial.
+	*
+	* @throws IllegalArgumentException if the index is out of range.
+	*
+	* @return a new Polynomial, with the size of the batch.
+	*/
+	public Polynomial getPolynomial (int polynomial)
+	{
+		index (polynomial, 0);
+
+		double[] c = new double[this.size];
+
+		for (int i = 0; i < this.size; ++i)
+		{
+			c[i] = this.data[i * this.count + polynomial];
+		}
+
+		return new Polynomial (c);
+	}
+
+	/** Adds the polynomials of 2 batches, pairwise.
+	*
+	* @param batch the other batch.
+	*
+	* @throws NullPointerException if batch is null.
+	*
+	* @throws IllegalArgumentException if the batches have different numbers of polynomials.
+	*
+	* @return a new batch whose polynomial k is the sum of the polynomials k of both batches. Its size is the
+	* bigger of the 2 sizes.
+	*/
+	public PolynomialBatch add (final PolynomialBatch batch)
+	{
+		if (batch == null)
+		{
+			throw new NullPointerException ("null batch provided.");
+		}
+		else if (batch.count != this.count)
+		{
+			throw new IllegalArgumentException ("the batches must have the same number of polynomials.");
+		}
+
+		final PolynomialBatch result = new PolynomialBatch (this.count, Math.max (this.size, batch.size));
+
+		forPolynomials (result.size, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				addRows (PolynomialBatch.this, result, from, to);
+				addRows (batch, result, from, to);
+			}
+		});
+
+		return result;
+	}
+
+	/** Multiplies all the polynomials by a constant.
+	*
+	* @param c the constant.
+	*
+	* @return a new batch, of the same size.
+	*/
+	public PolynomialBatch scale (final double c)
+	{
+		final PolynomialBatch result = new PolynomialBatch (this.count, this.size);
+		final double[] a = this.data, r = result.data;
+		final int n = this.count;
+
+		forPolynomials (this.size, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				for (int i = 0; i < PolynomialBatch.this.size; ++i)
+				{
+					int row = i * n;
+
+					for (int k = row + from; k < row + to; ++k)
+					{
+						r[k] = a[k] * c;
+					}
+				}
+			}
+		});
+
+		return result;
+	}
+
+	/** Multiplies all the polynomials by the same polynomial.
+	*
+	* @param p the polynomial.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return a new batch, whose size is the size of this batch plus the degree of p.
+	*/
+	public PolynomialBatch multiply (Polynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		final double[] b = p.getCoefficients ();
+		final PolynomialBatch result = new PolynomialBatch (this.count, this.size + b.length - 1);
+		final double[] a = this.data, r = result.data;
+		final int n = this.count;
+
+		forPolynomials (this.size * b.length, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				//row i + j of the result receives row i of this batch times b[j]
+				for (int i = 0; i < PolynomialBatch.this.size; ++i)
+				{
+					int source = i * n;
+
+					for (int j = 0; j < b.length; ++j)
+					{
+						double coeff = b[j];
+
+						//zero coefficients don't contribute anything
+						if (coeff == 0.0)
+						{
+							continue;
+						}
+
+						int offset = (i + j) * n - source;
+
+						for (int k = source + from; k < source + to; ++k)
+						{
+							r[k + offset] += coeff * a[k];
+						}
+					}
+				}
+			}
+		});
+
+		return result;
+	}
+
+	/** Derivates all the polynomials.
+	*
+	* @return a new batch, whose size is the size of this batch minus 1 (at least 1).
+	*/
+	public PolynomialBatch derivate ()
+	{
+		final PolynomialBatch result = new PolynomialBatch (this.count, Math.max (this.size - 1, 1));
+		final double[] a = this.data, r = result.data;
+		final int n = this.count;
+
+		forPolynomials (this.size, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				for (int i = 1; i < PolynomialBatch.this.size; ++i)
+				{
+					int source = i * n, target = (i - 1) * n;
+
+					for (int k = from; k < to; ++k)
+					{
+						r[target + k] = i * a[source + k];
+					}
+				}
+			}
+		});
+
+		return result;
+	}
+
+	/** Evaluates all the polynomials for the same value of the variable.
+	*
+	* @param value the value of the variable.
+	*
+	* @return a new array, whose element k is the value of polynomial k.
+	*/
+	public double[] evaluate (final double value)
+	{
+		final double[] results = new double[this.count];
+		final double[] a = this.data;
+		final int n = this.count;
+
+		forPolynomials (this.size, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				//Horner's scheme, a row at a time
+				int top = (PolynomialBatch.this.size - 1) * n;
+				System.arraycopy (a, top + from, results, from, to - from);
+
+				for (int row = top - n; row >= 0; row -= n)
+				{
+					for (int k = from; k < to; ++k)
+					{
+						results[k] = results[k] * value + a[row + k];
+					}
+				}
+			}
+		});
+
+		return results;
+	}
+
+	/** Evaluates every polynomial for its own value of the variable.
+	*
+	* @param values the values of the variable, one per polynomial.
+	*
+	* @throws NullPointerException if values is null.
+	*
+	* @throws IllegalArgumentException if values doesn't have one element per polynomial.
+	*
+	* @return a new array, whose element k is the value of polynomial k for values[k].
+	*/
+	public double[] evaluate (final double[] values)
+	{
+		if (values == null)
+		{
+			throw new NullPointerException ("null array provided.");
+		}
+		else if (values.length != this.count)
+		{
+			throw new IllegalArgumentException ("one value per polynomial is needed.");
+		}
+
+		final double[] results = new double[this.count];
+		final double[] a = this.data;
+		final int n = this.count;
+
+		forPolynomials (this.size, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				int top = (PolynomialBatch.this.size - 1) * n;
+				System.arraycopy (a, top + from, results, from, to - from);
+
+				for (int row = top - n; row >= 0; row -= n)
+				{
+					for (int k = from; k < to; ++k)
+					{
+						results[k] = results[k] * values[k] + a[row + k];
+					}
+				}
+			}
+		});
+
+		return results;
+	}
+
+	//adds the polynomials from ... to - 1 of a batch to the ones of a batch at least as big
+	private static void addRows (PolynomialBatch batch, PolynomialBatch result, int from, int to)
+	{
+		double[] a = batch.data, r = result.data;
+
+		//both batches have the same number of polynomials, so the same index in both
+		for (int k = from; k < batch.size * batch.count; k += batch.count)
+		{
+			for (int j = k; j < k + to - from; ++j)
+			{
+				r[j] += a[j];
+			}
+		}
+	}
+
+	//runs the task over the polynomials, in parallel if there are enough of them for the work per polynomial
+	private void forPolynomials (int work, ParallelLoops.RangeTask task)
+	{
+		//multiples of 8 polynomials, so that the tasks don't share cache lines of the rows
+		int grain = ((Math.max (PARALLEL_WORK / Math.max (work, 1), 1) + 7) / 8) * 8;
+
+		ParallelLoops.forRange (0, this.count, grain, task);
+	}
+
+	//returns the index of a coefficient, after checking the parameters
+	private int index (int polynomial, int magnitude)
+	{
+		if (polynomial < 0 || polynomial >= this.count)
+		{
+			throw new IllegalArgumentException ("polynomial with that index does not exist.");
+		}
+		else if (magnitude < 0 || magnitude >= this.size)
+		{
+			throw new IllegalArgumentException ("batch does not contain that magnitude");
+		}
+
+		return magnitude * this.count + polynomial;
+	}
+}
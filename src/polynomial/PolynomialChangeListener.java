@@ -0,0 +1,20 @@
+package polynomial;
+
+import java.util.EventListener;
+
+/** Receives the changes of the coefficients of a Polynomial (see Polynomial.addChangeListener).
+* The listeners are called on the thread that changed the polynomial, right after the change, so they should
+* be quick: typically they only record which magnitudes are stale.
+*/
+public interface PolynomialChangeListener extends EventListener
+{
+	/** Called after coefficients of a polynomial were changed.
+	*
+	* @param source the polynomial that changed.
+	*
+	* @param from the smallest magnitude whose coefficient may have changed.
+	*
+	* @param to the biggest magnitude whose coefficient may have changed (inclusive).
+	*/
+	void polynomialChanged (Polynomial source, int from, int to);
+}
@@ -0,0 +1,362 @@
+package polynomial;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandles;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+/** Compiles a Polynomial into an evaluator that is specialized to its coefficients.
+* The generated evaluator is a hidden class whose applyAsDouble method is an unrolled Horner chain:
+* every coefficient is folded into the bytecode as a constant and zero terms are skipped entirely.
+* This is meant for polynomials that are evaluated a very large number of times.
+* <br />
+* The evaluator is a snapshot: later modifications of the Polynomial are not seen by it.
+* The generated classes are not strongly bound to their defining loader, so they are unloaded as soon
+* as the evaluator is no longer referenced.
+*/
+public final class PolynomialEvaluatorCompiler
+{
+	//the hidden classes are defined in this package, through this lookup
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup ();
+
+	//name of every generated class (hidden classes get a unique suffix from the JVM)
+	private static final String CLASS_NAME = "polynomial/CompiledPolynomialEvaluator";
+
+	//HotSpot refuses to JIT compile methods bigger than 8000 bytes of bytecode. An unrolled term
+	//costs at most 6 bytes, so above this degree a plain loop is faster than an interpreted chain.
+	private static final int MAX_UNROLLED_DEGREE = 1200;
+
+	//bytecode instructions used by the generated methods
+	private static final int ALOAD_0 = 0x2a;
+	private static final int DCONST_0 = 0x0e;
+	private static final int DCONST_1 = 0x0f;
+	private static final int LDC2_W = 0x14;
+	private static final int DLOAD_1 = 0x27;
+	private static final int DADD = 0x63;
+	private static final int DMUL = 0x6b;
+	private static final int DNEG = 0x77;
+	private static final int DRETURN = 0xaf;
+	private static final int RETURN = 0xb1;
+	private static final int INVOKESPECIAL = 0xb7;
+
+	//constant pool tags
+	private static final int CONSTANT_UTF8 = 1;
+	private static final int CONSTANT_DOUBLE = 6;
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_METHODREF = 10;
+	private static final int CONSTANT_NAMEANDTYPE = 12;
+
+	//fixed part of the constant pool. The coefficients are appended after these entries.
+	private static final int CP_THIS_NAME = 1;
+	private static final int CP_THIS_CLASS = 2;
+	private static final int CP_OBJECT_NAME = 3;
+	private static final int CP_OBJECT_CLASS = 4;
+	private static final int CP_INTERFACE_NAME = 5;
+	private static final int CP_INTERFACE_CLASS = 6;
+	private static final int CP_INIT_NAME = 7;
+	private static final int CP_INIT_DESCRIPTOR = 8;
+	private static final int CP_INIT_NAMEANDTYPE = 9;
+	private static final int CP_INIT_METHODREF = 10;
+	private static final int CP_APPLY_NAME = 11;
+	private static final int CP_APPLY_DESCRIPTOR = 12;
+	private static final int CP_CODE_NAME = 13;
+	private static final int CP_FIRST_FREE = 14;
+
+	//utility class, no instances
+	private PolynomialEvaluatorCompiler ()
+	{
+	}
+
+	/** Compiles the polynomial provided into a specialized evaluator.
+	*
+	* @param p the Polynomial to compile.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return a DoubleUnaryOperator that returns the value of the polynomial (as it was at the moment of
+	* the call) for a given value of its variable.
+	*/
+	public static DoubleUnaryOperator compile (Polynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		int degree = p.getBiggestNonZeroIndex ();
+
+		//take a snapshot of the coefficients
+		double[] coefficients = new double[degree + 1];
+
+		for (int i = 0; i <= degree; ++i)
+		{
+			coefficients[i] = p.getElement (i);
+		}
+
+		//huge polynomials would not benefit from an unrolled chain
+		if (degree > MAX_UNROLLED_DEGREE)
+		{
+			return new HornerEvaluator (coefficients);
+		}
+
+		byte[] classbytes = generateClass (coefficients);
+
+		try
+		{
+			//no STRONG option: the class can be unloaded once the evaluator becomes unreachable
+			Class<?> evaluatorclass = LOOKUP.defineHiddenClass (classbytes, true).lookupClass ();
+
+			DoubleUnaryOperator evaluator = (DoubleUnaryOperator) evaluatorclass.getDeclaredConstructor ().newInstance ();
+
+			assert matchesHorner (evaluator, coefficients) : "the compiled evaluator differs from Horner's scheme";
+
+			return evaluator;
+		}
+		catch (ReflectiveOperationException e)
+		{
+			//the generated class is always valid, so this should never happen
+			throw new IllegalStateException ("unable to define the evaluator class", e);
+		}
+	}
+
+	//checks the evaluator against Horner's scheme at a few points. The chain does exactly the operations of
+	//Horner's scheme (the folded and skipped ones being exact), so the results must be equal
+	private static boolean matchesHorner (DoubleUnaryOperator evaluator, double[] coefficients)
+	{
+		for (double x : new double[] { 0.0, 1.0, -1.0, 2.0, -0.5, 3.25 })
+		{
+			double expected = CoefficientKernels.evaluate (coefficients, x), actual = evaluator.applyAsDouble (x);
+
+			if (! (expected == actual || (Double.isNaN (expected) && Double.isNaN (actual))))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	//generates the bytes of a class implementing DoubleUnaryOperator for the coefficients provided.
+	//the coefficients array must not have a zero on its last position (unless it has only 1 element)
+	private static byte[] generateClass (double[] coefficients)
+	{
+		ByteArrayOutputStream constants = new ByteArrayOutputStream ();
+		ByteArrayOutputStream code = new ByteArrayOutputStream ();
+
+		//constant pool indexes of the coefficients already added (equal coefficients share an entry)
+		Map<Long, Integer> constantindexes = new HashMap<Long, Integer> ();
+		int nextindex = CP_FIRST_FREE;
+
+		//the fixed entries, written in the order given by the CP_ constants
+		writeUtf8 (constants, CLASS_NAME);
+		writeClass (constants, CP_THIS_NAME);
+		writeUtf8 (constants, "java/lang/Object");
+		writeClass (constants, CP_OBJECT_NAME);
+		writeUtf8 (constants, "java/util/function/DoubleUnaryOperator");
+		writeClass (constants, CP_INTERFACE_NAME);
+		writeUtf8 (constants, "<init>");
+		writeUtf8 (constants, "()V");
+		constants.write (CONSTANT_NAMEANDTYPE);
+		writeShort (constants, CP_INIT_NAME);
+		writeShort (constants, CP_INIT_DESCRIPTOR);
+		constants.write (CONSTANT_METHODREF);
+		writeShort (constants, CP_OBJECT_CLASS);
+		writeShort (constants, CP_INIT_NAMEANDTYPE);
+		writeUtf8 (constants, "applyAsDouble");
+		writeUtf8 (constants, "(D)D");
+		writeUtf8 (constants, "Code");
+
+		int degree = coefficients.length - 1;
+		double leading = coefficients[degree];
+
+		//start the Horner chain. Leading coefficients of 1 and -1 are folded into the first multiplication:
+		//the chain starts with x or -x instead of leading * x, and the next coefficient is added to it
+		int i = degree;
+
+		if (degree > 0 && (leading == 1.0 || leading == -1.0))
+		{
+			code.write (DLOAD_1);
+
+			if (leading == -1.0)
+			{
+				code.write (DNEG);
+			}
+
+			i--;
+
+			if (coefficients[i] != 0.0)
+			{
+				nextindex = writeConstant (constants, code, constantindexes, nextindex, coefficients[i]);
+				code.write (DADD);
+			}
+		}
+		else
+		{
+			nextindex = writeConstant (constants, code, constantindexes, nextindex, leading);
+		}
+
+		//result = result * x + coefficient, skipping the addition for zero coefficients
+		for (; i > 0; --i)
+		{
+			code.write (DLOAD_1);
+			code.write (DMUL);
+
+			if (coefficients[i - 1] != 0.0)
+			{
+				nextindex = writeConstant (constants, code, constantindexes, nextindex, coefficients[i - 1]);
+				code.write (DADD);
+			}
+		}
+
+		code.write (DRETURN);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream ();
+
+		//header: magic number and version 52 (no branches are generated, so no stack map frames are needed)
+		writeInt (out, 0xCAFEBABE);
+		writeShort (out, 0);
+		writeShort (out, 52);
+
+		writeShort (out, nextindex);
+		out.write (constants.toByteArray (), 0, constants.size ());
+
+		//public final class, extends Object, implements DoubleUnaryOperator, no fields
+		writeShort (out, 0x0001 | 0x0010 | 0x0020);
+		writeShort (out, CP_THIS_CLASS);
+		writeShort (out, CP_OBJECT_CLASS);
+		writeShort (out, 1);
+		writeShort (out, CP_INTERFACE_CLASS);
+		writeShort (out, 0);
+
+		writeShort (out, 2);
+
+		//public constructor: calls Object's constructor
+		byte[] initcode = { (byte) ALOAD_0, (byte) INVOKESPECIAL, 0, (byte) CP_INIT_METHODREF, (byte) RETURN };
+		writeMethod (out, 0x0001, CP_INIT_NAME, CP_INIT_DESCRIPTOR, 1, 1, initcode);
+
+		//public final double applyAsDouble (double x): needs room for 2 doubles on the stack
+		writeMethod (out, 0x0001 | 0x0010, CP_APPLY_NAME, CP_APPLY_DESCRIPTOR, 4, 3, code.toByteArray ());
+
+		//no class attributes
+		writeShort (out, 0);
+
+		return out.toByteArray ();
+	}
+
+	//writes the instruction that pushes the value on the stack, adding it to the constant pool if needed.
+	//returns the next free constant pool index
+	private static int writeConstant (ByteArrayOutputStream constants, ByteArrayOutputStream code,
+									Map<Long, Integer> constantindexes, int nextindex, double value)
+	{
+		//1 and 0 have their own instructions (the raw bits distinguish 0.0 from -0.0)
+		if (value == 1.0)
+		{
+			code.write (DCONST_1);
+			return nextindex;
+		}
+		else if (Double.doubleToRawLongBits (value) == 0L)
+		{
+			code.write (DCONST_0);
+			return nextindex;
+		}
+
+		Long key = Double.doubleToRawLongBits (value);
+		Integer index = constantindexes.get (key);
+
+		if (index == null)
+		{
+			index = nextindex;
+			constantindexes.put (key, index);
+
+			constants.write (CONSTANT_DOUBLE);
+			writeLong (constants, key);
+
+			//doubles take 2 entries in the constant pool
+			nextindex += 2;
+		}
+
+		code.write (LDC2_W);
+		writeShort (code, index);
+
+		return nextindex;
+	}
+
+	//writes a method with a single Code attribute (no exception table, no other attributes)
+	private static void writeMethod (ByteArrayOutputStream out, int flags, int name, int descriptor,
+									int maxstack, int maxlocals, byte[] code)
+	{
+		writeShort (out, flags);
+		writeShort (out, name);
+		writeShort (out, descriptor);
+		writeShort (out, 1);
+
+		writeShort (out, CP_CODE_NAME);
+		writeInt (out, 12 + code.length);
+		writeShort (out, maxstack);
+		writeShort (out, maxlocals);
+		writeInt (out, code.length);
+		out.write (code, 0, code.length);
+		writeShort (out, 0);
+		writeShort (out, 0);
+	}
+
+	private static void writeUtf8 (ByteArrayOutputStream out, String value)
+	{
+		//all the strings used are plain ASCII, so their modified UTF-8 form is the string itself
+		out.write (CONSTANT_UTF8);
+		writeShort (out, value.length ());
+
+		for (int i = 0; i < value.length (); ++i)
+		{
+			out.write (value.charAt (i));
+		}
+	}
+
+	private static void writeClass (ByteArrayOutputStream out, int nameindex)
+	{
+		out.write (CONSTANT_CLASS);
+		writeShort (out, nameindex);
+	}
+
+	private static void writeShort (ByteArrayOutputStream out, int value)
+	{
+		out.write ((value >>> 8) & 0xff);
+		out.write (value & 0xff);
+	}
+
+	private static void writeInt (ByteArrayOutputStream out, int value)
+	{
+		writeShort (out, value >>> 16);
+		writeShort (out, value & 0xffff);
+	}
+
+	private static void writeLong (ByteArrayOutputStream out, long value)
+	{
+		writeInt (out, (int) (value >>> 32));
+		writeInt (out, (int) value);
+	}
+
+	//evaluator used for polynomials too big to be unrolled
+	private static final class HornerEvaluator implements DoubleUnaryOperator
+	{
+		private final double[] coefficients;
+
+		HornerEvaluator (double[] coefficients)
+		{
+			this.coefficients = coefficients;
+		}
+
+		@Override public double applyAsDouble (double value)
+		{
+			double result = this.coefficients[this.coefficients.length - 1];
+
+			for (int i = this.coefficients.length - 2; i >= 0; --i)
+			{
+				result = result * value + this.coefficients[i];
+			}
+
+			return result;
+		}
+	}
+}
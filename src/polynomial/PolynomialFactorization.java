@@ -0,0 +1,978 @@
+package polynomial;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/** Factors polynomials over the integers, exactly.
+* The coefficients are converted to integers first (multiplying the polynomial by a power of 2, which does
+* not change its factors), and the primitive part is factored:
+* <ul>
+* <li>Yun's algorithm splits it into squarefree factors, grouped by multiplicity.</li>
+* <li>Every squarefree factor is factored modulo a small prime: distinct-degree factorization (with a
+* precomputed matrix of the Frobenius map x -> x^p) followed by Cantor-Zassenhaus equal-degree
+* factorization. A few primes are tried and the one giving the fewest factors is kept. When the degrees
+* of the modular factors are incompatible between the primes (no degree below the full one is a sum of
+* factor degrees for all of them), the polynomial is irreducible and nothing else is done.</li>
+* <li>The modular factors are lifted with quadratic Hensel lifting (splitting them recursively in halves) to
+* a power of the prime bigger than twice the Mignotte bound of the integer factors of degree at most n / 2.</li>
+* <li>The true factors are found by recombining the lifted factors (trying subsets of increasing size, or
+* their complements when these have the smaller degree, with trial divisions that stop at the first
+* coefficient that does not divide).</li>
+* </ul>
+* Like the GCD, the factors are only defined up to constant factors: they are returned as primitive integer
+* polynomials with positive leading coefficients.
+*/
+public final class PolynomialFactorization
+{
+	//batches are processed in parallel, this many polynomials per task
+	private static final int BATCH_GRAIN = 1;
+
+	//the number of good primes tried, the one giving the fewest modular factors is used
+	private static final int PRIMES_TRIED = 3;
+
+	//the distinct-degree factorization does 1 gcd for this many degrees
+	private static final int DDF_BLOCK = 16;
+
+	//below this divisor or quotient length, the Hensel lifting uses long division instead of Newton division
+	private static final int NEWTON_DIVISION_THRESHOLD = 64;
+
+	//utility class, no instances
+	private PolynomialFactorization ()
+	{
+	}
+
+	/** Returns the squarefree decomposition of a polynomial (Yun's algorithm): the element i of the result
+	* is the product of all the irreducible factors having multiplicity i + 1. The polynomial is the product
+	* of all element[i]^(i + 1), up to a constant factor.
+	*
+	* @param p the polynomial to be decomposed.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if p is zero or any coefficient is infinite or NaN.
+	*
+	* @return the squarefree factors, primitive and with positive leading coefficients (the constant 1
+	* where there is no factor with that multiplicity). The length of the array is the biggest
+	* multiplicity, an empty array is returned for a constant polynomial.
+	*/
+	public static Polynomial[] squarefreeDecomposition (Polynomial p)
+	{
+		BigInteger[][] factors = squarefreeDecomposition (check (p));
+		Polynomial[] result = new Polynomial[factors.length];
+
+		for (int i = 0; i < result.length; ++i)
+		{
+			result[i] = IntegerPolynomials.toPolynomial (factors[i]);
+		}
+
+		return result;
+	}
+
+	/** Factors a polynomial into irreducible polynomials over the integers.
+	*
+	* @param p the polynomial to be factored.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if p is zero or any coefficient is infinite or NaN.
+	*
+	* @return the irreducible factors, primitive and with positive leading coefficients, sorted by degree.
+	* A factor with multiplicity k is repeated k times. The product of the factors is p, up to a constant
+	* factor. A constant polynomial has no factors (an empty array is returned). Factors having coefficients
+	* too big for a double are rounded.
+	*/
+	public static Polynomial[] factor (Polynomial p)
+	{
+		BigInteger[][] factors = factor (check (p));
+		Polynomial[] result = new Polynomial[factors.length];
+
+		for (int i = 0; i < result.length; ++i)
+		{
+			result[i] = IntegerPolynomials.toPolynomial (factors[i]);
+		}
+
+		return result;
+	}
+
+	/** Factors several polynomials, like factor (Polynomial) does. The polynomials are processed in parallel.
+	*
+	* @param polynomials the polynomials to be factored.
+	*
+	* @throws NullPointerException if the array or any of its polynomials is null.
+	*
+	* @throws IllegalArgumentException if any polynomial is zero or has infinite or NaN coefficients.
+	*
+	* @return the factors of each polynomial.
+	*/
+	public static Polynomial[][] factor (final Polynomial[] polynomials)
+	{
+		if (polynomials == null)
+		{
+			throw new NullPointerException ("null array provided.");
+		}
+
+		final Polynomial[][] results = new Polynomial[polynomials.length][];
+
+		ParallelLoops.forRange (0, polynomials.length, BATCH_GRAIN, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				for (int i = from; i < to; ++i)
+				{
+					results[i] = factor (polynomials[i]);
+				}
+			}
+		});
+
+		return results;
+	}
+
+	//converts the polynomial to integers, checking it can be factored
+	private static BigInteger[] check (Polynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		BigInteger[] a = IntegerPolynomials.fromPolynomial (p);
+
+		if (IntegerPolynomials.isZero (a))
+		{
+			throw new IllegalArgumentException ("the zero polynomial can not be factored.");
+		}
+
+		return a;
+	}
+
+	/** Returns the squarefree decomposition of a (not zero), like squarefreeDecomposition (Polynomial). */
+	static BigInteger[][] squarefreeDecomposition (BigInteger[] a)
+	{
+		a = IntegerPolynomials.primitivePart (a);
+
+		if (a.length == 1)
+		{
+			return new BigInteger[0][];
+		}
+
+		List<BigInteger[]> result = new ArrayList<BigInteger[]> ();
+
+		//Yun: with c = gcd (a, a'), w = a / c and y = a' / c, every gcd (w, y - w') is the product of the
+		//factors of the next multiplicity
+		BigInteger[] derivative = IntegerPolynomials.derivative (a);
+		BigInteger[] c = PolynomialGCD.gcd (a, derivative);
+		BigInteger[] w = IntegerPolynomials.exactQuotient (a, c);
+		BigInteger[] y = IntegerPolynomials.exactQuotient (derivative, c);
+
+		while (w.length > 1)
+		{
+			BigInteger[] z = IntegerPolynomials.subtract (y, IntegerPolynomials.derivative (w));
+			BigInteger[] g = PolynomialGCD.gcd (w, z);
+
+			result.add (IntegerPolynomials.primitivePart (g));
+
+			w = IntegerPolynomials.exactQuotient (w, g);
+			y = IntegerPolynomials.exactQuotient (z, g);
+		}
+
+		return result.toArray (new BigInteger[result.size ()][]);
+	}
+
+	/** Returns the irreducible factors of a (not zero), like factor (Polynomial). */
+	static BigInteger[][] factor (BigInteger[] a)
+	{
+		BigInteger[][] squarefree = squarefreeDecomposition (a);
+		List<BigInteger[]> result = new ArrayList<BigInteger[]> ();
+
+		for (int i = 0; i < squarefree.length; ++i)
+		{
+			if (squarefree[i].length == 1)
+			{
+				continue;
+			}
+
+			for (BigInteger[] f : factorSquarefree (squarefree[i]))
+			{
+				for (int k = 0; k <= i; ++k)
+				{
+					result.add (f);
+				}
+			}
+		}
+
+		//by degree, then by coefficients, so the order does not depend on the primes used
+		Collections.sort (result, new Comparator<BigInteger[]> ()
+		{
+			@Override public int compare (BigInteger[] f, BigInteger[] g)
+			{
+				if (f.length != g.length)
+				{
+					return (f.length < g.length) ? -1 : 1;
+				}
+
+				for (int i = f.length - 1; i >= 0; --i)
+				{
+					int c = f[i].compareTo (g[i]);
+
+					if (c != 0)
+					{
+						return c;
+					}
+				}
+
+				return 0;
+			}
+		});
+
+		return result.toArray (new BigInteger[result.size ()][]);
+	}
+
+	//returns the irreducible factors of a squarefree primitive polynomial of degree at least 1
+	private static List<BigInteger[]> factorSquarefree (BigInteger[] f)
+	{
+		List<BigInteger[]> result = new ArrayList<BigInteger[]> ();
+
+		if (f.length <= 2)
+		{
+			result.add (f);
+
+			return result;
+		}
+
+		BigInteger lc = f[f.length - 1];
+
+		//the distinct-degree factorizations of the first good primes, keeping the one with the fewest factors
+		long bestprime = 0;
+		List<long[]> bestfactors = null;
+		List<Integer> bestdegrees = null;
+		int bestcount = Integer.MAX_VALUE;
+		int tried = 0;
+
+		//the degrees possible for the integer factors: sums of degrees of modular factors, for every prime
+		int n = f.length - 1;
+		boolean[] possible = null;
+
+		for (long p = 3; tried < PRIMES_TRIED; p += 2)
+		{
+			if (! BigInteger.valueOf (p).isProbablePrime (20) || lc.mod (BigInteger.valueOf (p)).signum () == 0)
+			{
+				continue;
+			}
+
+			long[] fp = ModularPolynomials.reduce (f, p);
+			long[] derivative = ModularPolynomials.reduce (IntegerPolynomials.derivative (f), p);
+
+			//f must stay squarefree modulo p
+			if (ModularPolynomials.degree (ModularPolynomials.gcd (fp, derivative, p)) > 0)
+			{
+				continue;
+			}
+
+			tried++;
+
+			List<long[]> factors = new ArrayList<long[]> ();
+			List<Integer> degrees = new ArrayList<Integer> ();
+			int count = distinctDegreeFactorization (ModularPolynomials.monic (fp, p), p, factors, degrees);
+
+			possible = intersectDegrees (possible, factors, degrees, n);
+
+			//irreducible modulo a prime means irreducible, and so does having no possible degree below n
+			if (count == 1 || ! hasProperDegree (possible, n))
+			{
+				result.add (f);
+
+				return result;
+			}
+
+			if (count < bestcount)
+			{
+				bestprime = p;
+				bestfactors = factors;
+				bestdegrees = degrees;
+				bestcount = count;
+			}
+		}
+
+		List<long[]> modular = new ArrayList<long[]> ();
+		Random random = new Random (f.length * 31L + bestprime);
+
+		for (int i = 0; i < bestfactors.size (); ++i)
+		{
+			equalDegreeFactorization (bestfactors.get (i), bestdegrees.get (i), bestprime, random, modular);
+		}
+
+		//the recombination only tests factors of degree at most n / 2, so the modulus must be bigger than twice
+		//lc * their Mignotte bound 2^(n / 2) * ||f||
+		int bits = lc.abs ().bitLength () + n / 2 + IntegerPolynomials.maxBitLength (f) + (33 - Integer.numberOfLeadingZeros (n + 1)) / 2 + 2;
+
+		//the exponents of the moduli of the lifting steps: the last one gives a power of p above the bound, every other one is the ceiling of half the next one (each step can at most square the modulus)
+		BigInteger p = BigInteger.valueOf (bestprime);
+		int exponent = (int) Math.ceil ((bits + 1) / (Math.log (bestprime) / Math.log (2))) + 1;
+
+		List<BigInteger> moduli = new ArrayList<BigInteger> ();
+
+		for (int e = exponent; e > 1; e = (e + 1) / 2)
+		{
+			moduli.add (0, p.pow (e));
+		}
+
+		List<BigInteger[]> lifted = new ArrayList<BigInteger[]> ();
+		henselLift (f, modular, 0, modular.size (), bestprime, moduli, lifted);
+
+		return recombine (f, lifted, moduli.get (moduli.size () - 1), result);
+	}
+
+	//returns the degrees (from 0 to n) that are sums of degrees of the modular factors and were also possible
+	//before (possible may be null, meaning all degrees)
+	private static boolean[] intersectDegrees (boolean[] possible, List<long[]> factors, List<Integer> degrees, int n)
+	{
+		boolean[] sums = new boolean[n + 1];
+		sums[0] = true;
+
+		for (int i = 0; i < factors.size (); ++i)
+		{
+			int d = degrees.get (i);
+
+			for (int k = (factors.get (i).length - 1) / d; k > 0; --k)
+			{
+				for (int s = n - d; s >= 0; --s)
+				{
+					sums[s + d] |= sums[s];
+				}
+			}
+		}
+
+		if (possible != null)
+		{
+			for (int s = 0; s <= n; ++s)
+			{
+				sums[s] &= possible[s];
+			}
+		}
+
+		return sums;
+	}
+
+	//tells whether there is a possible degree strictly between 0 and n
+	private static boolean hasProperDegree (boolean[] possible, int n)
+	{
+		for (int s = 1; s < n; ++s)
+		{
+			if (possible[s])
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	//the distinct-degree factorization of f (monic, squarefree modulo p): adds to factors the products of all
+	//the irreducible factors having the same degree, and their degree to degrees. Returns the number of
+	//irreducible factors
+	private static int distinctDegreeFactorization (long[] f, long p, List<long[]> factors, List<Integer> degrees)
+	{
+		int n = f.length - 1;
+
+		//frobenius[j] = x^(p * j) mod f: the Frobenius map h -> h^p mod f is linear, h^p = sum h[j] * x^(p * j)
+		long[][] frobenius = new long[n][];
+		long[] reversedinverse = ModularPolynomials.reciprocal (ModularPolynomials.reverse (f, f.length), n, p);
+
+		frobenius[0] = new long[] { 1 };
+
+		if (p < n)
+		{
+			//for small primes every row is the previous one times x, p times: a shift and 1 step of long division
+			long[] power = new long[n];
+			power[0] = 1;
+
+			for (int j = 1; j < n; ++j)
+			{
+				for (int k = 0; k < p; ++k)
+				{
+					multiplyByX (power, f, p);
+				}
+
+				frobenius[j] = ModularPolynomials.trim (power.clone ());
+			}
+		}
+		else
+		{
+			long[] xp = ModularPolynomials.powerModulo (new long[] { 0, 1 }, BigInteger.valueOf (p), f, p);
+
+			for (int j = 1; j < n; ++j)
+			{
+				frobenius[j] = ModularPolynomials.remainder (ModularPolynomials.multiply (frobenius[j - 1], xp, p), f, reversedinverse, p);
+			}
+		}
+
+		int count = 0;
+		long[] rest = f;
+		long[] h = { 0, 1 };
+		long[] x = { 0, 1 };
+
+		//the gcds are done once per block of degrees, with the product of all x^(p^d) - x of the block
+		List<long[]> block = new ArrayList<long[]> ();
+		long[] product = { 1 };
+		int d = 0;
+
+		while (2 * (d + 1) <= ModularPolynomials.degree (rest))
+		{
+			//h = x^(p^d) mod f, the product of all irreducible polynomials of degree dividing d is x^(p^d) - x
+			h = applyFrobenius (frobenius, h, n, p);
+			d++;
+
+			long[] hx = ModularPolynomials.subtract (h, x, p);
+			block.add (hx);
+			product = ModularPolynomials.remainder (ModularPolynomials.multiply (product, hx, p), f, reversedinverse, p);
+
+			if (block.size () < DDF_BLOCK && 2 * (d + 1) <= ModularPolynomials.degree (rest))
+			{
+				continue;
+			}
+
+			//the factors of smaller degrees are gone, so g has the factors with degrees in the block
+			long[] g = ModularPolynomials.gcd (rest, product, p);
+			int first = d - block.size () + 1;
+
+			for (int i = 0; i < block.size () && g.length > 1; ++i)
+			{
+				long[] factor = ModularPolynomials.gcd (g, block.get (i), p);
+
+				if (factor.length > 1)
+				{
+					factors.add (factor);
+					degrees.add (first + i);
+					count += (factor.length - 1) / (first + i);
+
+					g = ModularPolynomials.divideAndRemainder (g, factor, p)[0];
+					rest = ModularPolynomials.divideAndRemainder (rest, factor, p)[0];
+				}
+			}
+
+			block.clear ();
+			product = new long[] { 1 };
+		}
+
+		//what remains is irreducible
+		if (rest.length > 1)
+		{
+			factors.add (rest);
+			degrees.add (rest.length - 1);
+			count++;
+		}
+
+		return count;
+	}
+
+	//replaces h (n coefficients, reduced modulo the monic f of degree n) with x * h mod f
+	private static void multiplyByX (long[] h, long[] f, long p)
+	{
+		int n = h.length;
+		long top = h[n - 1];
+
+		for (int i = n - 1; i > 0; --i)
+		{
+			h[i] = h[i - 1];
+		}
+
+		h[0] = 0;
+
+		//x^n = -(f[0] + f[1] * x + ... + f[n - 1] * x^(n - 1)) mod f
+		if (top != 0)
+		{
+			long negated = p - top;
+
+			for (int i = 0; i < n; ++i)
+			{
+				h[i] = (h[i] + negated * f[i]) % p;
+			}
+		}
+	}
+
+	//returns h^p mod f, with the matrix of the Frobenius map
+	private static long[] applyFrobenius (long[][] frobenius, long[] h, int n, long p)
+	{
+		//this many products of residues can be added without overflowing (all of them, for small primes)
+		long unreduced = Long.MAX_VALUE / ((p - 1) * (p - 1));
+		long[] result = new long[n];
+		long added = 0;
+
+		for (int j = 0; j < h.length; ++j)
+		{
+			long c = h[j];
+
+			if (c == 0)
+			{
+				continue;
+			}
+
+			if (added == unreduced)
+			{
+				for (int k = 0; k < n; ++k)
+				{
+					result[k] %= p;
+				}
+
+				added = 0;
+			}
+
+			long[] row = frobenius[j];
+
+			for (int k = 0; k < row.length; ++k)
+			{
+				result[k] += c * row[k];
+			}
+
+			added++;
+		}
+
+		for (int k = 0; k < n; ++k)
+		{
+			result[k] %= p;
+		}
+
+		return ModularPolynomials.trim (result);
+	}
+
+	//the Cantor-Zassenhaus equal-degree factorization of g (monic, product of irreducible factors of degree d,
+	//p odd): adds the irreducible factors to factors
+	private static void equalDegreeFactorization (long[] g, int d, long p, Random random, List<long[]> factors)
+	{
+		int n = g.length - 1;
+
+		if (n == d)
+		{
+			factors.add (g);
+
+			return;
+		}
+
+		BigInteger exponent = BigInteger.valueOf (p).pow (d).subtract (BigInteger.ONE).shiftRight (1);
+
+		while (true)
+		{
+			//for a random a, a^((p^d - 1) / 2) is 1 modulo about half of the factors, and -1 or 0 modulo the others
+			long[] a = new long[n];
+
+			for (int i = 0; i < n; ++i)
+			{
+				a[i] = (long) (random.nextDouble () * p);
+			}
+
+			a = ModularPolynomials.trim (a);
+
+			if (a.length == 1)
+			{
+				continue;
+			}
+
+			long[] b = ModularPolynomials.powerModulo (a, exponent, g, p);
+			long[] c = ModularPolynomials.gcd (g, ModularPolynomials.subtract (b, new long[] { 1 }, p), p);
+
+			if (c.length > 1 && c.length < g.length)
+			{
+				equalDegreeFactorization (c, d, p, random, factors);
+				equalDegreeFactorization (ModularPolynomials.divideAndRemainder (g, c, p)[0], d, p, random, factors);
+
+				return;
+			}
+		}
+	}
+
+	//lifts the factorization f = lc (f) * product of the monic factors from ... to - 1 (modulo p) to a
+	//factorization modulo the last of the moduli, adding the lifted monic factors to lifted. The factors
+	//are split in 2 halves, the factorization f = (lc * first half) * (second half) is lifted, and then each
+	//half recursively, so every level of the recursion lifts polynomials of total degree deg f
+	private static void henselLift (BigInteger[] f, List<long[]> factors, int from, int to, long p, List<BigInteger> moduli, List<BigInteger[]> lifted)
+	{
+		BigInteger modulus = moduli.get (moduli.size () - 1);
+
+		if (to - from == 1)
+		{
+			BigInteger inverse = f[f.length - 1].modInverse (modulus);
+			lifted.add (reduce (IntegerPolynomials.multiply (f, new BigInteger[] { inverse }), modulus));
+
+			return;
+		}
+
+		int middle = (from + to) >>> 1;
+
+		long[] g = { f[f.length - 1].mod (BigInteger.valueOf (p)).longValue () };
+		long[] h = { 1 };
+
+		for (int i = from; i < middle; ++i)
+		{
+			g = ModularPolynomials.multiply (g, factors.get (i), p);
+		}
+
+		for (int i = middle; i < to; ++i)
+		{
+			h = ModularPolynomials.multiply (h, factors.get (i), p);
+		}
+
+		long[][] st = ModularPolynomials.extendedGcd (g, h, p);
+
+		//the inverse of the reversed h, as long as any quotient by h in the lifting steps, is lifted with h
+		long[] inverse = ModularPolynomials.reciprocal (ModularPolynomials.reverse (h, h.length), f.length, p);
+		BigInteger[][] lift = { toBig (g), toBig (h), toBig (st[0]), toBig (st[1]), toBig (inverse) };
+
+		for (int i = 0; i < moduli.size (); ++i)
+		{
+			//the last step doesn't need to lift s, t and the inverse
+			lift = henselStep (f, lift[0], lift[1], lift[2], lift[3], lift[4], moduli.get (i), i < moduli.size () - 1);
+		}
+
+		henselLift (lift[0], factors, from, middle, p, moduli, lifted);
+		henselLift (lift[1], factors, middle, to, p, moduli, lifted);
+	}
+
+	//one step of quadratic Hensel lifting: from f = g * h, s * g + t * h = 1 modulo a power of p, with h
+	//monic, to the same relations modulo m (a power of p dividing the square of the previous one). v is the
+	//inverse of the reversed h modulo x^k (k being its length) and the previous power, it is lifted with h.
+	//Returns { g, h, s, t, v }, or only { g, h } when inverses is false
+	private static BigInteger[][] henselStep (BigInteger[] f, BigInteger[] g, BigInteger[] h, BigInteger[] s, BigInteger[] t,
+											  BigInteger[] v, BigInteger m, boolean inverses)
+	{
+		BigInteger[] e = reduce (IntegerPolynomials.subtract (f, IntegerPolynomials.multiply (g, h)), m);
+
+		//1 Newton step makes v an inverse modulo m, instead of computing it again for every division
+		BigInteger[] inverse = refine (reverse (h, v.length), v, v.length, m);
+
+		BigInteger[][] qr = divideMonic (multiply (s, e, m), h, inverse, m);
+		BigInteger[] liftedg = reduce (IntegerPolynomials.add (g, IntegerPolynomials.add (IntegerPolynomials.multiply (t, e),
+																			IntegerPolynomials.multiply (qr[0], g))), m);
+		BigInteger[] liftedh = reduce (IntegerPolynomials.add (h, qr[1]), m);
+
+		if (! inverses)
+		{
+			return new BigInteger[][] { liftedg, liftedh };
+		}
+
+		//the lifted h is h modulo the previous power, so the old inverse is still one for it modulo that power
+		BigInteger[] liftedv = refine (reverse (liftedh, v.length), v, v.length, m);
+
+		BigInteger[] b = reduce (IntegerPolynomials.subtract (IntegerPolynomials.add (IntegerPolynomials.multiply (s, liftedg),
+																			IntegerPolynomials.multiply (t, liftedh)),
+															 new BigInteger[] { BigInteger.ONE }), m);
+
+		BigInteger[][] cd = divideMonic (multiply (s, b, m), liftedh, liftedv, m);
+		BigInteger[] liftedt = reduce (IntegerPolynomials.subtract (t, IntegerPolynomials.add (IntegerPolynomials.multiply (t, b),
+																			IntegerPolynomials.multiply (cd[0], liftedg))), m);
+		BigInteger[] lifteds = reduce (IntegerPolynomials.subtract (s, cd[1]), m);
+
+		return new BigInteger[][] { liftedg, liftedh, lifteds, liftedt, liftedv };
+	}
+
+	//finds the true factors among the products of subsets of the lifted factors (Zassenhaus), adding them to
+	//result
+	private static List<BigInteger[]> recombine (BigInteger[] f, List<BigInteger[]> lifted, BigInteger modulus, List<BigInteger[]> result)
+	{
+		lifted = new ArrayList<BigInteger[]> (lifted);
+
+		for (int size = 1; 2 * size <= lifted.size (); )
+		{
+			int[] subset = findFactor (f, lifted, size, modulus);
+
+			if (subset == null)
+			{
+				size++;
+
+				continue;
+			}
+
+			int[] tested = tested (f, lifted, subset);
+			BigInteger[] g = product (f[f.length - 1], lifted, tested, modulus);
+			BigInteger[] quotient = IntegerPolynomials.primitivePart (IntegerPolynomials.exactQuotient (f, g));
+
+			//g is either the factor of the subset or its cofactor
+			result.add ((tested == subset) ? g : quotient);
+			f = (tested == subset) ? quotient : g;
+
+			for (int i = subset.length - 1; i >= 0; --i)
+			{
+				lifted.remove (subset[i]);
+			}
+		}
+
+		//the remaining lifted factors form a single irreducible factor
+		if (f.length > 1)
+		{
+			result.add (IntegerPolynomials.primitivePart (f));
+		}
+
+		return result;
+	}
+
+	//returns the indices (increasing) of a subset of size lifted factors whose product is a true factor of f,
+	//null if there is none
+	private static int[] findFactor (BigInteger[] f, List<BigInteger[]> lifted, int size, BigInteger modulus)
+	{
+		BigInteger lc = f[f.length - 1];
+
+		//the constant coefficient of every factor (times the right constant) divides lc * f[0]
+		BigInteger constant = lc.multiply (f[0]);
+		int[] subset = new int[size];
+
+		for (int i = 0; i < size; ++i)
+		{
+			subset[i] = i;
+		}
+
+		while (true)
+		{
+			int[] tested = tested (f, lifted, subset);
+			BigInteger g0 = symmetric (lc.multiply (constantProduct (lifted, tested, modulus)).mod (modulus), modulus);
+
+			if ((g0.signum () == 0 && constant.signum () == 0) || (g0.signum () != 0 && constant.mod (g0.abs ()).signum () == 0))
+			{
+				BigInteger[] g = product (lc, lifted, tested, modulus);
+
+				if (g.length > 1 && IntegerPolynomials.quotientIfExact (f, g) != null)
+				{
+					return subset;
+				}
+			}
+
+			//the next subset, in lexicographic order
+			int i = size - 1;
+
+			while (i >= 0 && subset[i] == lifted.size () - size + i)
+			{
+				i--;
+			}
+
+			if (i < 0)
+			{
+				return null;
+			}
+
+			subset[i]++;
+
+			for (int j = i + 1; j < size; ++j)
+			{
+				subset[j] = subset[j - 1] + 1;
+			}
+		}
+	}
+
+	//returns the subset, or its complement if the product of the subset has a degree above deg f / 2 (the
+	//modulus is only big enough for the coefficients of the factors up to that degree)
+	private static int[] tested (BigInteger[] f, List<BigInteger[]> lifted, int[] subset)
+	{
+		int degree = 0;
+
+		for (int i : subset)
+		{
+			degree += lifted.get (i).length - 1;
+		}
+
+		if (2 * degree <= f.length - 1)
+		{
+			return subset;
+		}
+
+		int[] complement = new int[lifted.size () - subset.length];
+
+		for (int i = 0, j = 0, k = 0; i < lifted.size (); ++i)
+		{
+			if (j < subset.length && subset[j] == i)
+			{
+				j++;
+			}
+			else
+			{
+				complement[k++] = i;
+			}
+		}
+
+		return complement;
+	}
+
+	//the constant coefficient of the product of the subset of lifted factors, modulo the modulus
+	private static BigInteger constantProduct (List<BigInteger[]> lifted, int[] subset, BigInteger modulus)
+	{
+		BigInteger result = BigInteger.ONE;
+
+		for (int i : subset)
+		{
+			result = result.multiply (lifted.get (i)[0]).mod (modulus);
+		}
+
+		return result;
+	}
+
+	//the primitive part of lc * the product of the subset of lifted factors, with symmetric residues
+	private static BigInteger[] product (BigInteger lc, List<BigInteger[]> lifted, int[] subset, BigInteger modulus)
+	{
+		BigInteger[] result = { lc.mod (modulus) };
+
+		for (int i : subset)
+		{
+			result = multiply (result, lifted.get (i), modulus);
+		}
+
+		for (int i = 0; i < result.length; ++i)
+		{
+			result[i] = symmetric (result[i], modulus);
+		}
+
+		return IntegerPolynomials.primitivePart (result);
+	}
+
+	//the residue in (-m / 2, m / 2]
+	private static BigInteger symmetric (BigInteger r, BigInteger m)
+	{
+		return (r.shiftLeft (1).compareTo (m) > 0) ? r.subtract (m) : r;
+	}
+
+	//a * b, modulo m
+	private static BigInteger[] multiply (BigInteger[] a, BigInteger[] b, BigInteger m)
+	{
+		return reduce (IntegerPolynomials.multiply (a, b), m);
+	}
+
+	//the coefficients reduced to [0, m), trimmed
+	private static BigInteger[] reduce (BigInteger[] a, BigInteger m)
+	{
+		BigInteger[] result = new BigInteger[a.length];
+
+		for (int i = 0; i < a.length; ++i)
+		{
+			result[i] = a[i].mod (m);
+		}
+
+		return IntegerPolynomials.trim (result);
+	}
+
+	//the quotient and the remainder of a by the monic b, modulo m. Big quotients are computed with the
+	//inverse of the reversed divisor (reversedinverse, when it is long enough, otherwise a Newton inversion),
+	//so they cost a few (Kronecker) multiplications
+	private static BigInteger[][] divideMonic (BigInteger[] a, BigInteger[] b, BigInteger[] reversedinverse, BigInteger m)
+	{
+		int da = a.length - 1, db = b.length - 1;
+
+		if (da < db)
+		{
+			return new BigInteger[][] { { BigInteger.ZERO }, a };
+		}
+
+		int quotientlength = da - db + 1;
+
+		if (db < NEWTON_DIVISION_THRESHOLD || quotientlength < NEWTON_DIVISION_THRESHOLD)
+		{
+			return divideMonicClassical (a, b, m);
+		}
+
+		//rev (q) = rev (a) / rev (b) mod x^(da - db + 1)
+		BigInteger[] inverse = (reversedinverse != null && reversedinverse.length >= quotientlength)
+								? truncate (reversedinverse, quotientlength) : reciprocal (reverse (b, quotientlength), quotientlength, m);
+		BigInteger[] quotient = reverse (truncate (multiply (reverse (a, quotientlength), inverse, m), quotientlength), quotientlength);
+
+		BigInteger[] rest = IntegerPolynomials.subtract (a, IntegerPolynomials.multiply (quotient, b));
+
+		return new BigInteger[][] { IntegerPolynomials.trim (quotient), reduce (Arrays.copyOf (rest, Math.max (db, 1)), m) };
+	}
+
+	//long division by the monic b, modulo m
+	private static BigInteger[][] divideMonicClassical (BigInteger[] a, BigInteger[] b, BigInteger m)
+	{
+		int db = b.length - 1;
+
+		BigInteger[] rest = a.clone ();
+		BigInteger[] quotient = new BigInteger[a.length - db];
+
+		for (int i = a.length - 1; i >= db; --i)
+		{
+			BigInteger q = rest[i].mod (m);
+			quotient[i - db] = q;
+
+			//the rest is reduced only when its coefficients are used, it grows by at most db * m^2
+			if (q.signum () != 0)
+			{
+				for (int j = 0; j < db; ++j)
+				{
+					rest[i - db + j] = rest[i - db + j].subtract (q.multiply (b[j]));
+				}
+			}
+		}
+
+		return new BigInteger[][] { IntegerPolynomials.trim (quotient), reduce (Arrays.copyOf (rest, Math.max (db, 1)), m) };
+	}
+
+	//the first n coefficients of the power series 1 / a modulo m (a[0] must be 1), by Newton iteration
+	private static BigInteger[] reciprocal (BigInteger[] a, int n, BigInteger m)
+	{
+		BigInteger[] g = { BigInteger.ONE };
+		int precision = 1;
+
+		while (precision < n)
+		{
+			precision = Math.min (2 * precision, n);
+
+			g = refine (a, g, precision, m);
+		}
+
+		return g;
+	}
+
+	//1 Newton step for the power series inverse of a: returns g * (2 - a * g) mod x^n, reduced modulo m. If g
+	//is an inverse of a modulo x^(n / 2) or modulo a divisor of m whose square m divides, the result is one
+	//modulo x^n and m
+	private static BigInteger[] refine (BigInteger[] a, BigInteger[] g, int n, BigInteger m)
+	{
+		BigInteger[] e = truncate (multiply (truncate (a, n), g, m), n);
+
+		for (int i = 0; i < n; ++i)
+		{
+			e[i] = (e[i].signum () == 0) ? e[i] : m.subtract (e[i]);
+		}
+
+		e[0] = e[0].add (BigInteger.valueOf (2)).mod (m);
+
+		return truncate (multiply (g, e, m), n);
+	}
+
+	//the first n coefficients (padding with zeros if needed), without trimming
+	private static BigInteger[] truncate (BigInteger[] a, int n)
+	{
+		BigInteger[] result = Arrays.copyOf (a, n);
+
+		for (int i = a.length; i < n; ++i)
+		{
+			result[i] = BigInteger.ZERO;
+		}
+
+		return result;
+	}
+
+	//the first n coefficients of the reversed a (the coefficient of the degree of a becomes the first)
+	private static BigInteger[] reverse (BigInteger[] a, int n)
+	{
+		BigInteger[] result = new BigInteger[n];
+
+		for (int i = 0; i < n; ++i)
+		{
+			result[i] = (i < a.length) ? a[a.length - 1 - i] : BigInteger.ZERO;
+		}
+
+		return result;
+	}
+
+	private static BigInteger[] toBig (long[] a)
+	{
+		BigInteger[] result = new BigInteger[a.length];
+
+		for (int i = 0; i < a.length; ++i)
+		{
+			result[i] = BigInteger.valueOf (a[i]);
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,225 @@
+package polynomial;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/** Computes greatest common divisors of polynomials, exactly.
+* The coefficients are converted to integers first (every finite double is a dyadic rational, so multiplying
+* a polynomial by a power of 2 makes all its coefficients integers without changing its divisors).
+* The GCD is then computed with a modular algorithm: the GCD is computed modulo several primes and the
+* results are combined by Chinese remaindering, stopping as soon as the combination stabilizes and divides
+* both polynomials. Each modular GCD uses the half-GCD algorithm for big degrees, so it is quasi-linear.
+* <br />
+* Since a GCD is only defined up to a constant factor, the result is always the primitive integer polynomial
+* with a positive leading coefficient (for example, the GCD of 2x + 2 and 4x^2 - 4 is x + 1).
+*/
+public final class PolynomialGCD
+{
+	//batches are processed in parallel, this many GCDs per task
+	private static final int BATCH_GRAIN = 4;
+
+	//utility class, no instances
+	private PolynomialGCD ()
+	{
+	}
+
+	/** Returns the greatest common divisor of 2 polynomials.
+	*
+	* @param p1 the first polynomial.
+	*
+	* @param p2 the second polynomial.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if any coefficient is infinite or NaN.
+	*
+	* @return the primitive GCD, with a positive leading coefficient. If both polynomials are zero,
+	* a zero polynomial is returned.
+	*/
+	public static Polynomial gcd (Polynomial p1, Polynomial p2)
+	{
+		if (p1 == null || p2 == null)
+		{
+			throw new NullPointerException ("null provided where Polynomial was expected");
+		}
+
+		return IntegerPolynomials.toPolynomial (gcd (IntegerPolynomials.fromPolynomial (p1), IntegerPolynomials.fromPolynomial (p2)));
+	}
+
+	/** Returns the greatest common divisors of pairs of polynomials. The pairs are processed in parallel.
+	*
+	* @param first the first polynomial of every pair.
+	*
+	* @param second the second polynomial of every pair.
+	*
+	* @throws NullPointerException if any of the arrays or any of their polynomials is null.
+	*
+	* @throws IllegalArgumentException if the arrays have different lengths or a coefficient is infinite or NaN.
+	*
+	* @return the GCD of each pair, like gcd (Polynomial, Polynomial) returns it.
+	*/
+	public static Polynomial[] gcd (final Polynomial[] first, final Polynomial[] second)
+	{
+		if (first == null || second == null)
+		{
+			throw new NullPointerException ("null array provided.");
+		}
+		else if (first.length != second.length)
+		{
+			throw new IllegalArgumentException ("the arrays must have the same length.");
+		}
+
+		final Polynomial[] results = new Polynomial[first.length];
+
+		ParallelLoops.forRange (0, first.length, BATCH_GRAIN, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				for (int i = from; i < to; ++i)
+				{
+					results[i] = gcd (first[i], second[i]);
+				}
+			}
+		});
+
+		return results;
+	}
+
+	/** Returns the primitive GCD of 2 integer polynomials, with a positive leading coefficient (zero if
+	* both are zero). Package-private, used by the other exact algorithms.
+	*/
+	static BigInteger[] gcd (BigInteger[] a, BigInteger[] b)
+	{
+		a = IntegerPolynomials.primitivePart (a);
+		b = IntegerPolynomials.primitivePart (b);
+
+		if (IntegerPolynomials.isZero (a))
+		{
+			return b;
+		}
+		else if (IntegerPolynomials.isZero (b))
+		{
+			return a;
+		}
+		else if (a.length == 1 || b.length == 1)
+		{
+			return new BigInteger[] { BigInteger.ONE };
+		}
+
+		//the leading coefficient of the GCD divides this, so the modular images are scaled to have it
+		BigInteger leadinggcd = a[a.length - 1].gcd (b[b.length - 1]);
+
+		//the combination of the modular images so far (symmetric residues), the product of the primes used
+		//and the degree of the images (images of higher degree come from unlucky primes)
+		BigInteger[] combined = null;
+		BigInteger modulus = BigInteger.ONE;
+		int degree = Integer.MAX_VALUE;
+
+		for (int index = 0; ; ++index)
+		{
+			long p = ModularPolynomials.nttPrime (index);
+			BigInteger bigp = BigInteger.valueOf (p);
+
+			//primes dividing the leading coefficients change the degrees, skip them
+			if (a[a.length - 1].mod (bigp).signum () == 0 || b[b.length - 1].mod (bigp).signum () == 0)
+			{
+				continue;
+			}
+
+			long[] image = ModularPolynomials.gcd (ModularPolynomials.reduce (a, p), ModularPolynomials.reduce (b, p), p);
+			int imagedegree = ModularPolynomials.degree (image);
+
+			//coprime modulo a good prime means coprime
+			if (imagedegree == 0)
+			{
+				return new BigInteger[] { BigInteger.ONE };
+			}
+			else if (imagedegree > degree)
+			{
+				continue;
+			}
+
+			image = ModularPolynomials.scale (image, leadinggcd.mod (bigp).longValue (), p);
+
+			BigInteger[] previous = combined;
+
+			if (imagedegree < degree)
+			{
+				//all the previous primes were unlucky: start over
+				degree = imagedegree;
+				combined = new BigInteger[degree + 1];
+				modulus = bigp;
+
+				for (int i = 0; i <= degree; ++i)
+				{
+					combined[i] = symmetric (BigInteger.valueOf (image[i]), modulus);
+				}
+
+				previous = null;
+			}
+			else
+			{
+				combined = chineseRemainder (combined, modulus, image, p);
+				modulus = modulus.multiply (bigp);
+			}
+
+			//early termination: once the combination stops changing, it is very likely the right one.
+			//it is certainly right if it divides both polynomials
+			if (previous != null && Arrays.equals (previous, combined))
+			{
+				BigInteger[] candidate = IntegerPolynomials.primitivePart (combined);
+
+				if (divides (candidate, a) && divides (candidate, b))
+				{
+					return candidate;
+				}
+			}
+		}
+	}
+
+	//combines the residues modulo m (symmetric) with the ones modulo p, into symmetric residues modulo m * p
+	private static BigInteger[] chineseRemainder (BigInteger[] residues, BigInteger m, long[] image, long p)
+	{
+		BigInteger bigp = BigInteger.valueOf (p);
+		BigInteger newmodulus = m.multiply (bigp);
+
+		//m^-1 mod p
+		long minverse = ModularPolynomials.inverse (m.mod (bigp).longValue (), p);
+
+		BigInteger[] result = new BigInteger[residues.length];
+
+		for (int i = 0; i < residues.length; ++i)
+		{
+			//x = r + m * ((image - r) * m^-1 mod p)
+			long r = residues[i].mod (bigp).longValue ();
+			long correction = ((image[i] - r + p) % p) * minverse % p;
+
+			result[i] = symmetric (residues[i].add (m.multiply (BigInteger.valueOf (correction))), newmodulus);
+		}
+
+		return result;
+	}
+
+	//returns the representative of x modulo m in (-m / 2, m / 2]
+	private static BigInteger symmetric (BigInteger x, BigInteger m)
+	{
+		x = x.mod (m);
+
+		return (x.shiftLeft (1).compareTo (m) > 0) ? x.subtract (m) : x;
+	}
+
+	//tells whether d divides a exactly in Z[x]
+	private static boolean divides (BigInteger[] d, BigInteger[] a)
+	{
+		try
+		{
+			IntegerPolynomials.exactQuotient (a, d);
+
+			return true;
+		}
+		catch (ArithmeticException e)
+		{
+			return false;
+		}
+	}
+}
@@ -0,0 +1,255 @@
+package polynomial;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Checks polynomial identities like A * B = C without expanding the product, in linear time.
+* Every finite double is a dyadic rational (an integer multiplied by a power of 2), and the dyadic rationals
+* can be reduced modulo any odd prime p. So both sides are evaluated modulo a random prime p between 2^30 and
+* 2^31, at a random point of GF(p) (Schwartz-Zippel): if the identity is false, the difference is a non zero
+* polynomial of degree n, which vanishes at the point with a probability of at most n / p, unless p divides
+* all its coefficients (which is even more unlikely, there are more than 5 * 10^7 such primes and only a few
+* of them can divide a given integer). Every round uses a new prime and a new point, so the rounds are
+* independent and as many of them are made as the error probability requires.
+* <br />
+* The errors are one sided: false is always right. The identity is checked exactly (the coefficients are not
+* rounded), so a product computed with floating point rounding errors is not considered equal.
+*/
+public final class PolynomialIdentity
+{
+	//the rounds are made in parallel, this many per task
+	private static final int ROUND_GRAIN = 1;
+
+	//the primes are chosen in [2^30, 2^31), there are more than this many of them
+	private static final double PRIME_COUNT = 5e7;
+
+	//the dyadic rationals that are products of doubles have binary exponents in [-1074 * k, 1024 * k], for k factors
+	private static final int EXPONENT_SPAN = 2100;
+
+	//the smallest and biggest binary exponents of the bits of a finite double
+	private static final int MIN_EXPONENT = -1074;
+	private static final int MAX_EXPONENT = 1023;
+
+	//utility class, no instances
+	private PolynomialIdentity ()
+	{
+	}
+
+	/** Checks if p1 * p2 = product.
+	*
+	* @param p1 the first factor.
+	*
+	* @param p2 the second factor.
+	*
+	* @param product the product to be checked.
+	*
+	* @param errorprobability the maximum probability of returning true when the identity is false.
+	*
+	* @throws NullPointerException if any of the polynomials is null.
+	*
+	* @throws IllegalArgumentException if the error probability is not between 0 and 1 (exclusive), or if any
+	* coefficient is infinite or NaN.
+	*
+	* @return false if the identity is false (always right), true if it is true (wrong with a probability of at
+	* most errorprobability).
+	*/
+	public static boolean isProduct (Polynomial p1, Polynomial p2, Polynomial product, double errorprobability)
+	{
+		return isProduct (new Polynomial[] { p1, p2 }, product, errorprobability);
+	}
+
+	/** Checks if the product of some polynomials is equal to a polynomial.
+	*
+	* @param factors the factors.
+	*
+	* @param product the product to be checked.
+	*
+	* @param errorprobability the maximum probability of returning true when the identity is false.
+	*
+	* @throws NullPointerException if the array or any of the polynomials is null.
+	*
+	* @throws IllegalArgumentException if the array is empty, if the error probability is not between 0 and 1
+	* (exclusive), or if any coefficient is infinite or NaN.
+	*
+	* @return false if the identity is false (always right), true if it is true (wrong with a probability of at
+	* most errorprobability).
+	*/
+	public static boolean isProduct (Polynomial[] factors, Polynomial product, double errorprobability)
+	{
+		if (factors == null)
+		{
+			throw new NullPointerException ("null array provided.");
+		}
+		else if (product == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (factors.length == 0)
+		{
+			throw new IllegalArgumentException ("at least 1 factor is needed.");
+		}
+		else if (! (errorprobability > 0.0 && errorprobability < 1.0))
+		{
+			throw new IllegalArgumentException ("the error probability must be between 0 and 1.");
+		}
+
+		final double[][] a = new double[factors.length][];
+		long degree = 0;
+
+		for (int i = 0; i < factors.length; ++i)
+		{
+			if (factors[i] == null)
+			{
+				throw new NullPointerException ("null polynomial provided.");
+			}
+
+			a[i] = checkCoefficients (factors[i]);
+			degree += a[i].length - 1;
+		}
+
+		final double[] c = checkCoefficients (product);
+		degree = Math.max (degree, c.length - 1);
+
+		//the probability that a false identity passes a round: the point is a root, or p divides the difference
+		double bits = (double) EXPONENT_SPAN * (factors.length + 1) + 64;
+		double roundprobability = degree / (double) (1L << 30) + bits / 30 / PRIME_COUNT;
+
+		int rounds = (int) Math.max (1, Math.ceil (Math.log (errorprobability) / Math.log (roundprobability)));
+		final boolean[] passed = new boolean[rounds];
+
+		ParallelLoops.forRange (0, rounds, ROUND_GRAIN, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				for (int i = from; i < to; ++i)
+				{
+					passed[i] = passesRound (a, c);
+				}
+			}
+		});
+
+		for (boolean b : passed)
+		{
+			if (! b)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	//returns the coefficients of p, after checking that they are finite
+	private static double[] checkCoefficients (Polynomial p)
+	{
+		double[] a = p.getCoefficients ();
+
+		for (double d : a)
+		{
+			if (Double.isNaN (d) || Double.isInfinite (d))
+			{
+				throw new IllegalArgumentException ("coefficients must be finite.");
+			}
+		}
+
+		return a;
+	}
+
+	//checks the identity modulo a random prime, at a random point
+	private static boolean passesRound (double[][] factors, double[] product)
+	{
+		ThreadLocalRandom random = ThreadLocalRandom.current ();
+
+		long p;
+
+		do
+		{
+			p = (1L << 30) + (random.nextLong (1L << 29) << 1) + 1;
+		}
+		while (! BigInteger.valueOf (p).isProbablePrime (40));
+
+		MontgomeryReduction montgomery = MontgomeryReduction.forPrime (p);
+		long[] powers = powersOfTwo (p, montgomery);
+		long point = montgomery.toMontgomery (random.nextLong (p));
+
+		long left = 1;
+
+		for (double[] a : factors)
+		{
+			left = left * evaluate (a, point, p, montgomery, powers) % p;
+		}
+
+		return left == evaluate (product, point, p, montgomery, powers);
+	}
+
+	//returns 2^e * R^2 mod p for e in [MIN_EXPONENT, MAX_EXPONENT] (index e - MIN_EXPONENT), see residue
+	private static long[] powersOfTwo (long p, MontgomeryReduction montgomery)
+	{
+		long[] result = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+
+		long r = (1L << 32) % p;
+		long rr = r * r % p;
+		long inverse = (p + 1) / 2;
+
+		result[-MIN_EXPONENT] = rr;
+
+		for (int e = 1; e <= MAX_EXPONENT; ++e)
+		{
+			result[e - MIN_EXPONENT] = result[e - 1 - MIN_EXPONENT] * 2 % p;
+		}
+
+		for (int e = -1; e >= MIN_EXPONENT; --e)
+		{
+			result[e - MIN_EXPONENT] = result[e + 1 - MIN_EXPONENT] * inverse % p;
+		}
+
+		return result;
+	}
+
+	//evaluates a modulo p (Horner), the point being in the Montgomery form
+	private static long evaluate (double[] a, long point, long p, MontgomeryReduction montgomery, long[] powers)
+	{
+		long result = 0;
+
+		for (int i = a.length - 1; i >= 0; --i)
+		{
+			result = montgomery.multiply (result, point) + residue (a[i], p, montgomery, powers);
+
+			if (result >= p)
+			{
+				result -= p;
+			}
+		}
+
+		return result;
+	}
+
+	//returns the residue modulo p of the dyadic rational c: mantissa * 2^exponent = (mantissa / R) * (2^exponent * R^2) / R
+	private static long residue (double c, long p, MontgomeryReduction montgomery, long[] powers)
+	{
+		if (c == 0.0)
+		{
+			return 0;
+		}
+
+		long bits = Double.doubleToRawLongBits (c);
+		int biased = (int) ((bits >>> 52) & 0x7ff);
+		long mantissa = bits & 0xfffffffffffffL;
+		int exponent;
+
+		if (biased == 0)
+		{
+			//subnormal
+			exponent = -1074;
+		}
+		else
+		{
+			mantissa |= 1L << 52;
+			exponent = biased - 1075;
+		}
+
+		long result = montgomery.multiply (montgomery.reduce (mantissa), powers[exponent - MIN_EXPONENT]);
+
+		return (c < 0.0 && result != 0) ? p - result : result;
+	}
+}
@@ -0,0 +1,210 @@
+package polynomial;
+
+import java.util.Arrays;
+
+/** Builds polynomials from sample points: given n points (x, y) with distinct x values, returns the
+* unique polynomial of degree at most n - 1 that passes through all of them, with Newton's divided differences
+* in O(n^2).
+* <br />
+* The O(M(n) log n) algorithm through a subproduct tree (M(n) being the cost of a multiplication) is not used:
+* in floating point, the products of the tree and the combinations of the weights up the tree grow
+* exponentially with the number of points (the same reason as for the remainder tree of MultipointEvaluator),
+* and on Chebyshev points it was less accurate than divided differences at every size where either is of any
+* use, with coefficient errors of about 3e18 for exact quadratic data at 1000 points.
+* <br />
+* Interpolation in the monomial basis is badly conditioned when there are many points, whatever the
+* algorithm: the coefficients themselves are extremely sensitive to the values. On Chebyshev points in [-1, 1]
+* and random values, the polynomials returned miss the values by about 1e-12 at 16 points and 1e-6 at 32
+* points, and are meaningless from about 50 points. The results are the most accurate for sample points of
+* moderate magnitude, spread over their interval (Chebyshev-like points are ideal).
+*/
+public final class PolynomialInterpolation
+{
+	//utility class, no instances
+	private PolynomialInterpolation ()
+	{
+	}
+
+	/** Returns the polynomial passing through all the points provided.
+	*
+	* @param x the x values of the points. They must be distinct.
+	*
+	* @param y the y values of the points.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if the arrays are empty, have different lengths or if x contains
+	* the same value twice.
+	*
+	* @return the interpolation polynomial. Its maximum size is the number of points.
+	*/
+	public static Polynomial interpolate (double[] x, double[] y)
+	{
+		checkPoints (x, y);
+
+		return new Polynomial (newton (x, y));
+	}
+
+	/** Returns the polynomial passing through all the points provided, using Newton's divided differences.
+	* It needs O(n^2) operations.
+	*
+	* @param x the x values of the points. They must be distinct.
+	*
+	* @param y the y values of the points.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if the arrays are empty, have different lengths or if x contains
+	* the same value twice.
+	*
+	* @return the interpolation polynomial. Its maximum size is the number of points.
+	*/
+	public static Polynomial interpolateNewton (double[] x, double[] y)
+	{
+		checkPoints (x, y);
+
+		return new Polynomial (newton (x, y));
+	}
+
+	/** Returns the polynomial that takes the values provided at the points of a MultipointEvaluator, so that
+	* the same evaluator can be used both to evaluate polynomials and to interpolate value sets at its points.
+	*
+	* @param points the evaluator holding the x values of the points. They must be distinct.
+	*
+	* @param y the y values, in the order of the evaluator's points.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if the number of values is not the number of points or if the
+	* evaluator contains the same point twice.
+	*
+	* @return the interpolation polynomial. Its maximum size is the number of points.
+	*/
+	public static Polynomial interpolate (MultipointEvaluator points, double[] y)
+	{
+		if (points == null || y == null)
+		{
+			throw new NullPointerException ("null parameter provided.");
+		}
+		else if (points.getPointCount () != y.length)
+		{
+			throw new IllegalArgumentException ("the number of values must be equal to the number of points.");
+		}
+
+		double[] x = new double[points.getPointCount ()];
+
+		for (int i = 0; i < x.length; ++i)
+		{
+			x[i] = points.getPoint (i);
+		}
+
+		checkPoints (x, y);
+
+		return new Polynomial (newton (x, y));
+	}
+
+	//validates the sample points
+	private static void checkPoints (double[] x, double[] y)
+	{
+		if (x == null || y == null)
+		{
+			throw new NullPointerException ("null parameter provided.");
+		}
+		else if (x.length == 0 || x.length != y.length)
+		{
+			throw new IllegalArgumentException ("the arrays must be non-empty and of equal length.");
+		}
+
+		double[] sorted = x.clone ();
+		Arrays.sort (sorted);
+
+		for (int i = 1; i < sorted.length; ++i)
+		{
+			if (sorted[i] == sorted[i - 1])
+			{
+				throw new IllegalArgumentException ("the x values must be distinct.");
+			}
+		}
+	}
+
+	//Newton's divided differences, then conversion of the Newton form to coefficients
+	private static double[] newton (double[] xvalues, double[] yvalues)
+	{
+		int n = xvalues.length;
+
+		//the order of the points matters a lot for the accuracy: take them in Leja order (each point
+		//maximizes the product of its distances to the points already taken)
+		double[] x = new double[n];
+		double[] y = new double[n];
+		double[] distances = new double[n];
+		boolean[] taken = new boolean[n];
+
+		Arrays.fill (distances, 1.0);
+
+		for (int k = 0; k < n; ++k)
+		{
+			int best = -1;
+
+			for (int i = 0; i < n; ++i)
+			{
+				if (! taken[i] && (best == -1 || distances[i] > distances[best]
+								|| (k == 0 && Math.abs (xvalues[i]) > Math.abs (xvalues[best]))))
+				{
+					best = i;
+				}
+			}
+
+			taken[best] = true;
+			x[k] = xvalues[best];
+			y[k] = yvalues[best];
+
+			//the products are kept as ratios to their biggest value, so they don't underflow
+			double biggest = 0.0;
+
+			for (int i = 0; i < n; ++i)
+			{
+				if (! taken[i])
+				{
+					distances[i] *= Math.abs (xvalues[i] - x[k]);
+					biggest = Math.max (biggest, distances[i]);
+				}
+			}
+
+			if (biggest > 0.0)
+			{
+				for (int i = 0; i < n; ++i)
+				{
+					distances[i] /= biggest;
+				}
+			}
+		}
+
+		//after this loop, d[i] = f[x0, ..., xi]
+		double[] d = y.clone ();
+
+		for (int level = 1; level < n; ++level)
+		{
+			for (int i = n - 1; i >= level; --i)
+			{
+				d[i] = (d[i] - d[i - 1]) / (x[i] - x[i - level]);
+			}
+		}
+
+		//Horner's scheme on the Newton form: result = result * (x - xi) + d[i]
+		double[] result = new double[n];
+		result[0] = d[n - 1];
+
+		for (int i = n - 2; i >= 0; --i)
+		{
+			//multiply by (x - xi), the degree is currently n - 2 - i
+			for (int j = n - 1 - i; j > 0; --j)
+			{
+				result[j] = result[j - 1] - x[i] * result[j];
+			}
+
+			result[0] = d[i] - x[i] * result[0];
+		}
+
+		return result;
+	}
+}
@@ -1,5 +1,8 @@
 package polynomial;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+
 /** Provides utility methods for performing common operations on polynomials.
 * The usual include addition, subtraction, multiplication, division, derivation etc.
 * WARNING: The methods in this class are not thread-safe.
@@ -14,6 +17,18 @@ public class PolynomialOperations
 	//place-holder for the PolynomialOperations object.
 	//part of the singleton pattern implementation
 	private static PolynomialOperations _instance;
+
+	//batch shifts are processed in parallel, this many offsets per task
+	private static final int SHIFT_GRAIN = 16;
+
+	//batch integrals are processed in parallel, this many intervals per task
+	private static final int INTEGRAL_GRAIN = 4096;
+
+	//batch derivative evaluations are processed in parallel, this many points per task
+	private static final int DERIVATIVES_GRAIN = 1024;
+
+	//batch discriminants are processed in parallel, this many polynomials per task
+	private static final int DISCRIMINANT_GRAIN = 1;
 	
 	/** Constructs a PolynomialOperations object. Only 1 instance of this class can be created.
 	* Subsequent calls of this method will do nothing.
@@ -387,6 +402,188 @@ public class PolynomialOperations
 		return result;
 	}
 
+	/** Evaluates a polynomial and its first k derivatives at a point, in a single pass (without building
+	* the derivated polynomials and without allocating anything).
+	*
+	* @param p the Polynomial to be evaluated.
+	*
+	* @param value the value of the variable.
+	*
+	* @param k the highest order of derivative needed. 0 means only the value of the polynomial.
+	*
+	* @param results the array where the j-th derivative at value is written, at index j (for j from 0 to k).
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if k is negative or results has less than k + 1 elements.
+	*/
+	public static void evaluateDerivatives (Polynomial p, double value, int k, double[] results)
+	{
+		if (p == null || results == null)
+		{
+			throw new NullPointerException ("null provided where Polynomial or array was expected.");
+		}
+		else if (k < 0 || results.length < (long) k + 1)
+		{
+			throw new IllegalArgumentException ("invalid derivative order or results array too small.");
+		}
+
+		CoefficientKernels.evaluateDerivatives (p.getCoefficientsArray (), p.getBiggestNonZeroIndex (), value, k, results, 0);
+	}
+
+	/** Evaluates a polynomial and its first k derivatives at many points. The results are written
+	* point after point: the j-th derivative at values[i] goes at index i * (k + 1) + j. Nothing is allocated
+	* per point and big batches are processed in parallel.
+	*
+	* @param p the Polynomial to be evaluated.
+	*
+	* @param values the values of the variable.
+	*
+	* @param k the highest order of derivative needed. 0 means only the value of the polynomial.
+	*
+	* @param results the array where the values are written. It must have at least values.length * (k + 1) elements.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if k is negative or results is too small.
+	*/
+	public static void evaluateDerivatives (Polynomial p, final double[] values, final int k, final double[] results)
+	{
+		if (p == null || values == null || results == null)
+		{
+			throw new NullPointerException ("null provided where Polynomial or array was expected.");
+		}
+		else if (k < 0 || (long) results.length < (long) values.length * ((long) k + 1))
+		{
+			throw new IllegalArgumentException ("invalid derivative order or results array too small.");
+		}
+
+		final double[] coefficients = p.getCoefficients ();
+
+		ParallelLoops.forRange (0, values.length, DERIVATIVES_GRAIN, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				//the check above guarantees that the offsets fit in an int
+				for (int i = from; i < to; ++i)
+				{
+					int offset = (int) (i * ((long) k + 1));
+
+					CoefficientKernels.evaluateDerivatives (coefficients, coefficients.length - 1, values[i], k, results, offset);
+				}
+			}
+		});
+	}
+
+	/** Integrates a polynomial, returning its antiderivative (the one with a zero constant term).
+	*
+	* @param p the Polynomial to be integrated.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return the antiderivative of p.
+	*/
+	public static Polynomial integrate (Polynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		return new Polynomial (antiderivative (p));
+	}
+
+	/** Computes the definite integral of a polynomial over an interval.
+	*
+	* @param p the Polynomial to be integrated.
+	*
+	* @param lower the lower limit of integration.
+	*
+	* @param upper the upper limit of integration.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return the integral of p from lower to upper.
+	*/
+	public static double integrate (Polynomial p, double lower, double upper)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		double[] antiderivative = antiderivative (p);
+
+		return CoefficientKernels.evaluate (antiderivative, upper) - CoefficientKernels.evaluate (antiderivative, lower);
+	}
+
+	/** Computes the definite integrals of a polynomial over many intervals. The antiderivative is built
+	* only once and evaluated at both ends of every interval; nothing is allocated per interval and big
+	* batches are processed in parallel.
+	*
+	* @param p the Polynomial to be integrated.
+	*
+	* @param lower the lower limits of integration.
+	*
+	* @param upper the upper limits of integration.
+	*
+	* @param results the array where the integral over the interval (lower[i], upper[i]) is written, at index i.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if the 3 arrays don't have the same length.
+	*/
+	public static void integrate (Polynomial p, final double[] lower, final double[] upper, final double[] results)
+	{
+		if (p == null || lower == null || upper == null || results == null)
+		{
+			throw new NullPointerException ("null provided where Polynomial or array was expected.");
+		}
+		else if (lower.length != upper.length || lower.length != results.length)
+		{
+			throw new IllegalArgumentException ("the arrays must have the same length.");
+		}
+
+		final double[] antiderivative = antiderivative (p);
+		final int last = antiderivative.length - 1;
+
+		ParallelLoops.forRange (0, results.length, INTEGRAL_GRAIN, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				for (int i = from; i < to; ++i)
+				{
+					double a = lower[i], b = upper[i];
+
+					//both ends in the same Horner loop, the 2 chains of operations are independent
+					double va = antiderivative[last], vb = va;
+
+					for (int j = last - 1; j >= 0; --j)
+					{
+						va = va * a + antiderivative[j];
+						vb = vb * b + antiderivative[j];
+					}
+
+					results[i] = vb - va;
+				}
+			}
+		});
+	}
+
+	//the coefficients of the antiderivative of p, with a zero constant term
+	private static double[] antiderivative (Polynomial p)
+	{
+		int size = p.getBiggestNonZeroIndex () + 1;
+		double[] result = new double[size + 1];
+
+		for (int i = 0; i < size; ++i)
+		{
+			result[i + 1] = p.getElement (i) / (i + 1);
+		}
+
+		return result;
+	}
+
 	/** Raises the first polynomial to a given power.
 	* 
 	* @param pow The power to which to raise. If x = 0, a polynomial with the value of 1 is
@@ -469,6 +666,214 @@ public class PolynomialOperations
 		return result;
 	}
 	
+	/** Shifts a polynomial along the x axis, computing p (x + a) (the Taylor shift). Small polynomials use
+	* the classical O(n^2) algorithm, big ones a divide and conquer algorithm built on fast multiplication.
+	*
+	* @param p the Polynomial to be shifted.
+	*
+	* @param a the offset added to the variable.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return the Polynomial p (x + a).
+	*/
+	public static Polynomial shift (Polynomial p, double a)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		return new Polynomial (CoefficientKernels.shift (p.getCoefficients (), a));
+	}
+
+	/** Shifts a polynomial by many offsets, computing p (x + a) for each of them. The shifts are
+	* computed in parallel, and the coefficients of p are read only once. Every parallel task keeps its
+	* scratch arrays (those of the fast multiplications and the powers (x + a)^(2^j), which are computed again
+	* for each offset) for all its offsets, so the only allocations per offset are the shifted polynomials;
+	* shift (Polynomial, double[], double[][]) avoids those as well.
+	*
+	* @param p the Polynomial to be shifted.
+	*
+	* @param offsets the offsets added to the variable.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @return an array with the shifted polynomials, in the order of the offsets.
+	*/
+	public static Polynomial[] shift (Polynomial p, final double[] offsets)
+	{
+		if (p == null || offsets == null)
+		{
+			throw new NullPointerException ("null provided where Polynomial or array was expected.");
+		}
+
+		final double[] coefficients = p.getCoefficients ();
+		final Polynomial[] results = new Polynomial[offsets.length];
+
+		ParallelLoops.forRange (0, offsets.length, SHIFT_GRAIN, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				CoefficientKernels.Workspace workspace = new CoefficientKernels.Workspace ();
+
+				for (int i = from; i < to; ++i)
+				{
+					double[] shifted = new double[coefficients.length];
+					CoefficientKernels.shift (coefficients, offsets[i], shifted, workspace);
+
+					results[i] = new Polynomial (shifted);
+				}
+			}
+		});
+
+		return results;
+	}
+
+	/** Shifts a polynomial by many offsets, writing the coefficients of p (x + a) for each of them to arrays
+	* provided by the caller, which can be reused from one batch to the next. The shifts are computed in
+	* parallel; every parallel task allocates its scratch arrays once and reuses them for all its offsets,
+	* so nothing is allocated per offset.
+	*
+	* @param p the Polynomial to be shifted.
+	*
+	* @param offsets the offsets added to the variable.
+	*
+	* @param results receives the coefficients (index represents magnitude) of p (x + offsets[i]) in
+	* results[i], which must have at least p.getBiggestNonZeroIndex () + 1 elements. The elements beyond that are
+	* set to 0.
+	*
+	* @throws NullPointerException if any of the parameters, or any of the arrays of results, is null.
+	*
+	* @throws IllegalArgumentException if there isn't one array of results per offset, or if any of them is
+	* too short.
+	*/
+	public static void shift (Polynomial p, final double[] offsets, final double[][] results)
+	{
+		if (p == null || offsets == null || results == null)
+		{
+			throw new NullPointerException ("null provided where Polynomial or array was expected.");
+		}
+		else if (results.length != offsets.length)
+		{
+			throw new IllegalArgumentException ("one array of results per offset is needed.");
+		}
+
+		final double[] coefficients = p.getCoefficients ();
+
+		for (double[] result : results)
+		{
+			if (result == null)
+			{
+				throw new NullPointerException ("null array provided.");
+			}
+			else if (result.length < coefficients.length)
+			{
+				throw new IllegalArgumentException ("array of results too short.");
+			}
+		}
+
+		ParallelLoops.forRange (0, offsets.length, SHIFT_GRAIN, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				CoefficientKernels.Workspace workspace = new CoefficientKernels.Workspace ();
+
+				for (int i = from; i < to; ++i)
+				{
+					CoefficientKernels.shift (coefficients, offsets[i], results[i], workspace);
+					Arrays.fill (results[i], coefficients.length, results[i].length, 0.0);
+				}
+			}
+		});
+	}
+
+	/** Scales the variable of a polynomial, computing p (c * x).
+	*
+	* @param p the Polynomial to be scaled.
+	*
+	* @param c the factor by which the variable is multiplied.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return the Polynomial p (c * x).
+	*/
+	public static Polynomial scale (Polynomial p, double c)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		return new Polynomial (CoefficientKernels.scale (p.getCoefficients (), c));
+	}
+
+	/** Composes the 2 polynomials: the second one is substituted into the first one.
+	*
+	* @return the Polynomial x (y (t)), where x and y are the 2 polynomials associated with this object.
+	*/
+	public final Polynomial compose ()
+	{
+		return compose (x, y);
+	}
+
+	/** Composes 2 polynomials, computing p (q (x)). Unlike repeated calls of toPower, this has no limit on
+	* the magnitude of the result and needs only about sqrt (n) polynomial multiplications (n being the
+	* degree of p), which are done with the FFT for big operands.
+	*
+	* @param p the outer Polynomial.
+	*
+	* @param q the Polynomial substituted into p.
+	*
+	* @throws NullPointerException if any of the 2 parameters is null.
+	*
+	* @return the Polynomial p (q (x)).
+	*/
+	public static Polynomial compose (Polynomial p, Polynomial q)
+	{
+		if (p == null || q == null)
+		{
+			throw new NullPointerException ("null provided where Polynomial was expected.");
+		}
+
+		return new Polynomial (BrentKungComposition.compose (p.getCoefficients (), q.getCoefficients ()));
+	}
+
+	/** Composes 2 polynomials modulo a third one, computing p (q (x)) mod r. The full composition is never
+	* built: every intermediate result is reduced modulo r, so the cost depends on the degree of r, not on the
+	* degree of p (q (x)).
+	*
+	* @param p the outer Polynomial.
+	*
+	* @param q the Polynomial substituted into p.
+	*
+	* @param r the modulus.
+	*
+	* @throws NullPointerException if any of the 3 parameters is null.
+	*
+	* @throws ArithmeticException if r has all coefficients equal to zero.
+	*
+	* @return the rest of the division of p (q (x)) by r.
+	*/
+	public static Polynomial compose (Polynomial p, Polynomial q, Polynomial r)
+	{
+		if (p == null || q == null || r == null)
+		{
+			throw new NullPointerException ("null provided where Polynomial was expected.");
+		}
+		else if (r.isZero ())
+		{
+			throw new ArithmeticException ("DIVISION BY ZERO ERROR");
+		}
+		else if (r.getBiggestNonZeroIndex () == 0)
+		{
+			//everything is divisible by a non-zero constant
+			return new Polynomial (1);
+		}
+
+		return new Polynomial (BrentKungComposition.compose (p.getCoefficients (), q.getCoefficients (), r.getCoefficients ()));
+	}
+
 	/** Divides the first polynomial by the second.
 	*
 	* @throws ArithmeticException if the second Polynomial has all coefficients equal to zero.
@@ -509,16 +914,17 @@ public class PolynomialOperations
 				throw new ArithmeticException ("DIVISION BY ZERO ERROR");
 			}
 
-			Polynomial result = new Polynomial (xbigg + 1);
+			//the result is divident / coefficient, and there is no rest
+			double[] quotient = p1.getCoefficients ();
+			double divisor = p2.getElement (0);
 
-			//the result is divident / coefficient
 			for (i = 0; i <= xbigg; ++i)
 			{
-				result.setElement (i, p1.getElement (i) / p2.getElement (0));
+				quotient[i] /= divisor;
 			}
 
-			totalresult[0] = result;
-			totalresult[1] = null;
+			totalresult[0] = new Polynomial (quotient);
+			totalresult[1] = new Polynomial (1);
 
 			return totalresult;
 		}
@@ -539,6 +945,45 @@ public class PolynomialOperations
 			return totalresult;
 		}
 
+		//divisor is c * x^ybigg: the quotient is a shift of the coefficients, the rest a truncation
+		if (isMonomial (p2))
+		{
+			double[] coefficients = p1.getCoefficients ();
+			double[] quotient = new double[xbigg - ybigg + 1];
+			double divisor = p2.getBiggestNonZeroCoefficient ();
+
+			for (i = 0; i < quotient.length; ++i)
+			{
+				quotient[i] = coefficients[i + ybigg] / divisor;
+			}
+
+			totalresult[0] = new Polynomial (quotient);
+			totalresult[1] = new Polynomial (CoefficientKernels.truncate (coefficients, ybigg));
+
+			return totalresult;
+		}
+
+		//divisor is c1 * x + c0: synthetic division by x - root, then division by c1
+		if (ybigg == 1)
+		{
+			double[] coefficients = p1.getCoefficients ();
+			double divisor = p2.getElement (1);
+
+			double remainder = CoefficientKernels.divideLinearInPlace (coefficients, 0, -p2.getElement (0) / divisor);
+
+			double[] quotient = new double[xbigg];
+
+			for (i = 0; i < xbigg; ++i)
+			{
+				quotient[i] = coefficients[i + 1] / divisor;
+			}
+
+			totalresult[0] = new Polynomial (quotient);
+			totalresult[1] = new Polynomial (new double[] { remainder });
+
+			return totalresult;
+		}
+
 		Polynomial result = new Polynomial (xbigg - ybigg + 1),
 					 rest = new Polynomial (p1.getMaxSize ()),
 					  neg = new Polynomial (1),
@@ -572,4 +1017,218 @@ public class PolynomialOperations
 
 		return totalresult;
 	}
-}
\ No newline at end of file
+
+	//tells whether the only non zero coefficient of p is its biggest one
+	private static boolean isMonomial (Polynomial p)
+	{
+		for (int i = p.getBiggestNonZeroIndex () - 1; i >= 0; --i)
+		{
+			if (p.getElement (i) != 0.0)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/** Divides the first polynomial by the second, exactly. The coefficients are converted to rationals
+	* without any rounding, and the quotient and the rest are computed with fraction-free (integer)
+	* pseudo-division, so they are exact even where divide (Polynomial, Polynomial) accumulates rounding
+	* errors. Use toPolynomial on the results to get them back as doubles.
+	*
+	* @param p1 the first Polynomial.
+	*
+	* @param p2 the second Polynomial.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if any coefficient is infinite or NaN.
+	*
+	* @throws ArithmeticException if the second Polynomial has all coefficients equal to zero.
+	*
+	* @return an array of size 2: the quotient at index 0 and the rest at index 1. Both are non-null.
+	*/
+	public static RationalPolynomial[] divideExact (Polynomial p1, Polynomial p2)
+	{
+		return RationalPolynomial.valueOf (p1).divide (RationalPolynomial.valueOf (p2));
+	}
+
+	/** Computes the resultant of the first polynomial and the second.
+	*
+	* @throws IllegalArgumentException if any coefficient is infinite or NaN.
+	*
+	* @return the resultant, rounded to a double.
+	*/
+	public final double resultant ()
+	{
+		return resultant (x, y);
+	}
+
+	/** Computes the resultant of 2 polynomials: the product of lc (p1)^deg p2 * lc (p2)^deg p1 and of all
+	* the differences between a root of p1 and a root of p2. It is zero exactly when the polynomials have a
+	* common root. The coefficients are converted exactly to integers (scaled by powers of 2), the resultant
+	* is computed exactly modulo word-sized primes (in parallel) and reconstructed with the Chinese remainder
+	* theorem, so the only rounding is the final conversion to a double.
+	*
+	* @param p1 the first Polynomial.
+	*
+	* @param p2 the second Polynomial.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if any coefficient is infinite or NaN.
+	*
+	* @return the resultant, rounded to a double (zero if any of the polynomials is zero). Huge or tiny
+	* resultants become infinite or zero.
+	*/
+	public static double resultant (Polynomial p1, Polynomial p2)
+	{
+		if (p1 == null || p2 == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		int[] shift1 = new int[1], shift2 = new int[1];
+		BigInteger[] a = IntegerPolynomials.fromCoefficients (p1.getCoefficients (), shift1);
+		BigInteger[] b = IntegerPolynomials.fromCoefficients (p2.getCoefficients (), shift2);
+
+		//a = 2^k1 * p1 and b = 2^k2 * p2, so res (a, b) = 2^(k1 * deg b + k2 * deg a) * res (p1, p2)
+		long shift = (long) shift1[0] * (b.length - 1) + (long) shift2[0] * (a.length - 1);
+
+		return toDouble (Resultants.resultant (a, b), shift);
+	}
+
+	/** Computes the discriminant of a polynomial of degree n: (-1)^(n * (n - 1) / 2) * res (p, p') / lc (p),
+	* which is lc (p)^(2n - 2) times the product of the squared differences of all pairs of roots. It is
+	* zero exactly when the polynomial has a repeated root. It is computed exactly, like resultant
+	* (Polynomial, Polynomial).
+	*
+	* @param p the Polynomial.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if the degree of p is smaller than 1, or any coefficient is
+	* infinite or NaN.
+	*
+	* @return the discriminant, rounded to a double. Huge or tiny discriminants become infinite or zero.
+	*/
+	public static double discriminant (Polynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		int[] shift = new int[1];
+		BigInteger[] a = IntegerPolynomials.fromCoefficients (p.getCoefficients (), shift);
+
+		if (a.length < 2)
+		{
+			throw new IllegalArgumentException ("the discriminant needs a degree of at least 1.");
+		}
+
+		//disc (c * p) = c^(2n - 2) * disc (p)
+		return toDouble (Resultants.discriminant (a), (long) shift[0] * (2 * a.length - 4));
+	}
+
+	/** Computes the discriminants of several polynomials, like discriminant (Polynomial) does. The
+	* polynomials are processed in parallel.
+	*
+	* @param polynomials the polynomials.
+	*
+	* @throws NullPointerException if the array or any of its polynomials is null.
+	*
+	* @throws IllegalArgumentException if any polynomial has a degree smaller than 1, or infinite or NaN
+	* coefficients.
+	*
+	* @return the discriminant of each polynomial.
+	*/
+	public static double[] discriminants (final Polynomial[] polynomials)
+	{
+		if (polynomials == null)
+		{
+			throw new NullPointerException ("null array provided.");
+		}
+
+		final double[] results = new double[polynomials.length];
+
+		ParallelLoops.forRange (0, polynomials.length, DISCRIMINANT_GRAIN, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				for (int i = from; i < to; ++i)
+				{
+					results[i] = discriminant (polynomials[i]);
+				}
+			}
+		});
+
+		return results;
+	}
+
+	//value / 2^shift, rounded to a double
+	private static double toDouble (BigInteger value, long shift)
+	{
+		if (value.signum () == 0)
+		{
+			return 0.0;
+		}
+		else if (shift > Integer.MAX_VALUE)
+		{
+			return 0.0 * value.signum ();
+		}
+
+		return RationalPolynomial.toDouble (value, BigInteger.ONE.shiftLeft ((int) shift));
+	}
+
+	/** Removes known roots from a polynomial (deflation): divides it by (x - r) for every root r provided,
+	* with synthetic division, and discards the rests. All the divisions are done in the same array, so
+	* only the result is allocated. The roots are removed in increasing order of their absolute values,
+	* which keeps forward deflation numerically stable.
+	*
+	* @param p the Polynomial to be deflated.
+	*
+	* @param roots the roots to be removed. Repeated roots must be repeated in the array. The array is
+	* not modified.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws IllegalArgumentException if there are more roots than the degree of the polynomial.
+	*
+	* @return the quotient of p by the product of all (x - r).
+	*/
+	public static Polynomial deflate (Polynomial p, double[] roots)
+	{
+		if (p == null || roots == null)
+		{
+			throw new NullPointerException ("null provided where Polynomial or array was expected.");
+		}
+		else if (roots.length > p.getBiggestNonZeroIndex ())
+		{
+			throw new IllegalArgumentException ("more roots than the degree of the polynomial.");
+		}
+
+		double[] coefficients = p.getCoefficients ();
+
+		//sort by absolute value: sorting the bits of the absolute values orders them like the values
+		long[] order = new long[roots.length];
+
+		for (int i = 0; i < roots.length; ++i)
+		{
+			order[i] = Double.doubleToLongBits (Math.abs (roots[i])) << 1 | ((roots[i] < 0.0) ? 1 : 0);
+		}
+
+		Arrays.sort (order);
+
+		//after removing i roots, the quotient is in coefficients[i] ... coefficients[n]
+		for (int i = 0; i < order.length; ++i)
+		{
+			double magnitude = Double.longBitsToDouble (order[i] >>> 1);
+
+			CoefficientKernels.divideLinearInPlace (coefficients, i, ((order[i] & 1) != 0) ? -magnitude : magnitude);
+		}
+
+		return new Polynomial (Arrays.copyOfRange (coefficients, roots.length, coefficients.length));
+	}
+}
@@ -0,0 +1,263 @@
+package polynomial;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Caches the powers of a polynomial, for code that needs p^2, p^3 ... p^k of the same polynomial many times.
+* The cache keeps the squaring chain p, p^2, p^4, p^8 ... and the powers requested so far. A power that isn't
+* cached is composed from the biggest cached power below it and the squares needed for the rest of the
+* exponent, so asking for p^2, p^3 ... p^k in order costs 1 multiplication per power, and any other power
+* costs at most about log2 (k) multiplications (done with the FFT for big operands).
+* <br />
+* The cache holds at most a given number of coefficients, the ones of the base itself included (the base is
+* always kept, even if it alone exceeds the budget): the squares are kept while they fit (they are the most
+* useful powers), and the other powers are evicted in least recently used order. It is emptied when the
+* coefficients of the base polynomial change (setElement or reset), so it always returns the powers of the
+* current polynomial. Since the powers are computed in floating point and may be composed differently
+* depending on what is cached, they can differ from the ones returned by PolynomialOperations.toPower in the
+* last bits.
+* <br />
+* Objects of this class can be shared between threads, provided the base polynomial isn't modified while
+* a power is being computed.
+*/
+public final class PolynomialPowerCache
+{
+	/** The default maximum number of coefficients held by a cache. */
+	public static final long DEFAULT_BUDGET = 1L << 20;
+
+	//the polynomial whose powers are cached
+	private final Polynomial base;
+
+	//the maximum number of coefficients held
+	private final long budget;
+
+	//the modification version of the base when the cache was filled
+	private long version;
+
+	//squares.get (j) is p^(2^j), squares.get (0) being p itself
+	private final List<double[]> squares = new ArrayList<double[]> ();
+
+	//the other powers, by exponent, in least recently used order
+	private final LinkedHashMap<Integer, double[]> powers = new LinkedHashMap<Integer, double[]> (16, 0.75f, true);
+
+	//the number of coefficients held, by squares (the base included) and powers
+	private long size;
+
+	/** Creates a cache for the powers of a polynomial, holding at most DEFAULT_BUDGET coefficients.
+	*
+	* @param base the polynomial. The cache follows its changes.
+	*
+	* @throws NullPointerException if base is null.
+	*/
+	public PolynomialPowerCache (Polynomial base)
+	{
+		this (base, DEFAULT_BUDGET);
+	}
+
+	/** Creates a cache for the powers of a polynomial.
+	*
+	* @param base the polynomial. The cache follows its changes.
+	*
+	* @param budget the maximum number of coefficients held by the cache, counting the ones of the base.
+	*
+	* @throws NullPointerException if base is null.
+	*
+	* @throws IllegalArgumentException if budget is negative.
+	*/
+	public PolynomialPowerCache (Polynomial base, long budget)
+	{
+		if (base == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (budget < 0)
+		{
+			throw new IllegalArgumentException ("the budget can't be negative.");
+		}
+
+		this.base = base;
+		this.budget = budget;
+		this.version = base.getVersion () - 1;
+	}
+
+	/** Returns a power of the base polynomial.
+	*
+	* @param power the power to which to raise.
+	*
+	* @throws IllegalArgumentException if the power is negative.
+	*
+	* @return the base polynomial raised to the power (a new Polynomial, 1 for power 0).
+	*/
+	public Polynomial power (int power)
+	{
+		if (power < 0)
+		{
+			throw new IllegalArgumentException ("invalid power");
+		}
+		else if (power == 0)
+		{
+			return new Polynomial (new double[] { 1.0 });
+		}
+
+		double[] start;
+		int exponent;
+		List<double[]> chain;
+		long version;
+
+		synchronized (this)
+		{
+			validate ();
+
+			start = cached (power);
+
+			if (start != null)
+			{
+				return new Polynomial (start.clone ());
+			}
+
+			//the biggest cached power below the requested one
+			exponent = 1;
+
+			for (int i = 1; i < this.squares.size () && (1 << i) <= power; ++i)
+			{
+				exponent = 1 << i;
+			}
+
+			for (int e : this.powers.keySet ())
+			{
+				if (e < power && e > exponent)
+				{
+					exponent = e;
+				}
+			}
+
+			start = cached (exponent);
+			chain = new ArrayList<double[]> (this.squares);
+			version = this.version;
+		}
+
+		//the multiplications are done outside the lock, the squares missing from the chain are added to it
+		double[] result = start;
+
+		for (int rest = power - exponent, j = 0; rest != 0; rest >>>= 1, ++j)
+		{
+			if (j == chain.size ())
+			{
+				double[] last = chain.get (j - 1);
+				chain.add (CoefficientKernels.trim (CoefficientKernels.multiply (last, last)));
+			}
+
+			if ((rest & 1) != 0)
+			{
+				result = CoefficientKernels.trim (CoefficientKernels.multiply (result, chain.get (j)));
+			}
+		}
+
+		synchronized (this)
+		{
+			//if the base changed meanwhile, the cache was already emptied, so nothing is stored
+			if (version == this.version && this.base.getVersion () == version)
+			{
+				for (int j = this.squares.size (); j < chain.size (); ++j)
+				{
+					double[] square = chain.get (j);
+
+					//a power of 2 stored before the chain reached it would now be a duplicate using up the budget
+					double[] stored = this.powers.remove (1 << j);
+
+					if (stored != null)
+					{
+						this.size -= stored.length;
+					}
+
+					if (this.size + square.length > this.budget)
+					{
+						break;
+					}
+
+					this.squares.add (square);
+					this.size += square.length;
+				}
+
+				if (! isSquare (power))
+				{
+					store (power, result);
+				}
+			}
+		}
+
+		return new Polynomial (result.clone ());
+	}
+
+	/** Removes all the cached powers. */
+	public synchronized void clear ()
+	{
+		this.squares.clear ();
+		this.powers.clear ();
+		this.size = 0;
+		this.version = this.base.getVersion () - 1;
+	}
+
+	//empties the cache if the base changed since it was filled, and caches the base itself (p^1)
+	private void validate ()
+	{
+		long current = this.base.getVersion ();
+
+		if (this.version != current)
+		{
+			this.squares.clear ();
+			this.powers.clear ();
+			this.size = 0;
+
+			//p itself is always kept, it's needed for every power and it's the smallest of them
+			double[] p = this.base.getCoefficients ();
+			this.squares.add (p);
+			this.size = p.length;
+
+			this.version = current;
+		}
+	}
+
+	//returns the cached power, or null
+	private double[] cached (int power)
+	{
+		if (isSquare (power))
+		{
+			return this.squares.get (Integer.numberOfTrailingZeros (power));
+		}
+
+		return this.powers.get (power);
+	}
+
+	//checks if the power is in the squaring chain
+	private boolean isSquare (int power)
+	{
+		return Integer.bitCount (power) == 1 && Integer.numberOfTrailingZeros (power) < this.squares.size ();
+	}
+
+	//stores a power, evicting the least recently used ones to make room for it
+	private void store (int power, double[] coefficients)
+	{
+		if (this.powers.containsKey (power))
+		{
+			return;
+		}
+
+		Iterator<Map.Entry<Integer, double[]>> iterator = this.powers.entrySet ().iterator ();
+
+		while (this.size + coefficients.length > this.budget && iterator.hasNext ())
+		{
+			this.size -= iterator.next ().getValue ().length;
+			iterator.remove ();
+		}
+
+		if (this.size + coefficients.length <= this.budget)
+		{
+			this.powers.put (power, coefficients);
+			this.size += coefficients.length;
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package polynomial;
+
+/** Holds the complex roots of a polynomial, as found by a root finder.
+* Roots are stored as pairs of real and imaginary parts. A root of multiplicity k appears k times.
+*/
+public final class PolynomialRoots
+{
+	//real and imaginary parts of the roots
+	private final double[] real, imaginary;
+
+	//number of iterations performed by the root finder
+	private final int iterations;
+
+	//tells whether all roots reached the requested accuracy
+	private final boolean converged;
+
+	//package-private: created by the root finders, which give up ownership of the arrays
+	PolynomialRoots (double[] real, double[] imaginary, int iterations, boolean converged)
+	{
+		this.real = real;
+		this.imaginary = imaginary;
+		this.iterations = iterations;
+		this.converged = converged;
+	}
+
+	/** Returns the number of roots (equal to the degree of the polynomial).
+	*
+	* @return the number of roots.
+	*/
+	public int getRootCount ()
+	{
+		return this.real.length;
+	}
+
+	/** Returns the real part of a root.
+	*
+	* @param index the index of the root, between 0 and getRootCount () - 1.
+	*
+	* @throws IllegalArgumentException if the index is out of range.
+	*
+	* @return the real part of the root.
+	*/
+	public double getRealPart (int index)
+	{
+		checkIndex (index);
+
+		return this.real[index];
+	}
+
+	/** Returns the imaginary part of a root.
+	*
+	* @param index the index of the root, between 0 and getRootCount () - 1.
+	*
+	* @throws IllegalArgumentException if the index is out of range.
+	*
+	* @return the imaginary part of the root.
+	*/
+	public double getImaginaryPart (int index)
+	{
+		checkIndex (index);
+
+		return this.imaginary[index];
+	}
+
+	/** Returns the number of iterations the root finder needed.
+	*
+	* @return the number of iterations.
+	*/
+	public int getIterations ()
+	{
+		return this.iterations;
+	}
+
+	/** Tells whether all the roots reached the accuracy requested from the root finder. If not, the
+	* roots are the best approximations found before the iteration limit was reached.
+	*
+	* @return true if the root finder converged, false otherwise.
+	*/
+	public boolean isConverged ()
+	{
+		return this.converged;
+	}
+
+	private void checkIndex (int index)
+	{
+		if (index < 0 || index >= this.real.length)
+		{
+			throw new IllegalArgumentException ("root with that index does not exist.");
+		}
+	}
+
+	/** Returns a string representation of the roots.
+	*
+	* @return a String representation of the roots.
+	*/
+	@Override public String toString ()
+	{
+		StringBuilder r = new StringBuilder ("Roots: {");
+
+		for (int i = 0; i < this.real.length; ++i)
+		{
+			if (i > 0)
+			{
+				r.append (", ");
+			}
+
+			r.append (this.real[i]);
+
+			if (this.imaginary[i] != 0.0)
+			{
+				r.append ((this.imaginary[i] < 0.0) ? " - " : " + ").append (Math.abs (this.imaginary[i])).append ("i");
+			}
+		}
+
+		return r.append ("}").toString ();
+	}
+}
@@ -0,0 +1,389 @@
+package polynomial;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+
+/** Evaluates a polynomial whose coefficients arrive as a stream, at a fixed set of points, without ever
+* holding the coefficients: the memory used depends only on the number of points, not on the degree.
+* The values of the polynomial and of its derivative at the points, and the degree, are kept up to date as the
+* coefficients are consumed, one at a time or in chunks (from arrays, iterators, DoubleStreams or channels).
+* <br />
+* The coefficients may arrive in either order:
+* <ul>
+* <li>highest magnitude first: the values are computed with Horner's scheme (v = v * x + c, with the
+* derivative d = d * x + v updated before v), which is the most accurate order;</li>
+* <li>lowest magnitude first: every coefficient is multiplied by the matching power of the point, which is
+* kept for each point. In this order the magnitude of every coefficient is known when it arrives, so the
+* coefficients of the derivative can be passed on at once, to a DoubleConsumer given to the constructor.</li>
+* </ul>
+* Objects of this class are not thread-safe.
+*/
+public final class PolynomialStream
+{
+	//the coefficients are read from iterators and channels in chunks of this many
+	private static final int CHUNK_SIZE = 4096;
+
+	//true if the coefficients arrive highest magnitude first
+	private final boolean highestfirst;
+
+	//the points
+	private final double[] points;
+
+	//the values of the polynomial and of its derivative at the points, for the coefficients consumed so far
+	private final double[] values, derivatives;
+
+	//lowest magnitude first: the powers points[j]^count and points[j]^(count - 1) (0 before the first coefficient)
+	private final double[] powers, previouspowers;
+
+	//lowest magnitude first: receives the coefficients of the derivative (may be null)
+	private final DoubleConsumer derivativeoutput;
+
+	//the number of coefficients consumed
+	private long count;
+
+	//holds the coefficients consumed one at a time, so that they don't need an array each
+	private final double[] single = new double[1];
+
+	//the position in the stream of the first (highest magnitude first) or last (lowest magnitude first)
+	//non zero coefficient consumed, -1 if there's none
+	private long nonzero = -1;
+
+	/** Creates a stream evaluator.
+	*
+	* @param points the points at which the polynomial is evaluated. The array is copied.
+	*
+	* @param highestfirst true if the coefficients will arrive highest magnitude first, false if they will arrive
+	* lowest magnitude first (magnitude 0, then 1 etc.).
+	*
+	* @throws NullPointerException if points is null.
+	*/
+	public PolynomialStream (double[] points, boolean highestfirst)
+	{
+		this (points, highestfirst, null);
+	}
+
+	/** Creates a stream evaluator for coefficients arriving lowest magnitude first, which passes on the
+	* coefficients of the derivative as they become known (the coefficient of x^(i - 1), i * c, as soon as the
+	* coefficient c of x^i is consumed).
+	*
+	* @param points the points at which the polynomial is evaluated. The array is copied.
+	*
+	* @param derivativeoutput receives the coefficients of the derivative, lowest magnitude first.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*/
+	public PolynomialStream (double[] points, DoubleConsumer derivativeoutput)
+	{
+		this (points, false, derivativeoutput);
+
+		if (derivativeoutput == null)
+		{
+			throw new NullPointerException ("null output provided.");
+		}
+	}
+
+	//the public constructors delegate here
+	private PolynomialStream (double[] points, boolean highestfirst, DoubleConsumer derivativeoutput)
+	{
+		if (points == null)
+		{
+			throw new NullPointerException ("null points provided.");
+		}
+
+		this.highestfirst = highestfirst;
+		this.points = points.clone ();
+		this.values = new double[points.length];
+		this.derivatives = new double[points.length];
+		this.derivativeoutput = derivativeoutput;
+
+		if (highestfirst)
+		{
+			this.powers = null;
+			this.previouspowers = null;
+		}
+		else
+		{
+			this.powers = new double[points.length];
+			this.previouspowers = new double[points.length];
+			Arrays.fill (this.powers, 1.0);
+		}
+	}
+
+	/** Consumes the next coefficient.
+	*
+	* @param coefficient the coefficient.
+	*/
+	public void accept (double coefficient)
+	{
+		this.single[0] = coefficient;
+		accept (this.single, 0, 1);
+	}
+
+	/** Consumes the next coefficients, in the order of the array.
+	*
+	* @param coefficients the coefficients.
+	*
+	* @param offset the index of the first coefficient consumed.
+	*
+	* @param length the number of coefficients consumed.
+	*
+	* @throws NullPointerException if coefficients is null.
+	*
+	* @throws IllegalArgumentException if offset and length don't describe a range of the array.
+	*/
+	public void accept (double[] coefficients, int offset, int length)
+	{
+		if (coefficients == null)
+		{
+			throw new NullPointerException ("null array provided.");
+		}
+		else if (offset < 0 || length < 0 || offset > coefficients.length - length)
+		{
+			throw new IllegalArgumentException ("invalid range of the array.");
+		}
+
+		int end = offset + length;
+
+		if (this.highestfirst)
+		{
+			//Horner's scheme, a point at a time, so that the values stay in registers for the whole chunk
+			for (int j = 0; j < this.points.length; ++j)
+			{
+				double x = this.points[j], v = this.values[j], d = this.derivatives[j];
+
+				for (int i = offset; i < end; ++i)
+				{
+					d = d * x + v;
+					v = v * x + coefficients[i];
+				}
+
+				this.values[j] = v;
+				this.derivatives[j] = d;
+			}
+		}
+		else
+		{
+			for (int j = 0; j < this.points.length; ++j)
+			{
+				double x = this.points[j], v = this.values[j], d = this.derivatives[j];
+				double power = this.powers[j], previous = this.previouspowers[j];
+				double magnitude = this.count;
+
+				//c x^m adds c * x^m to the value and m * c * x^(m - 1) to the derivative. Zero coefficients add
+				//nothing, and must be skipped: once the powers overflow, 0 * infinity would be NaN
+				for (int i = offset; i < end; ++i, ++magnitude)
+				{
+					double c = coefficients[i];
+
+					if (c != 0.0)
+					{
+						v += c * power;
+						d += magnitude * c * previous;
+					}
+
+					previous = power;
+					power *= x;
+				}
+
+				this.values[j] = v;
+				this.derivatives[j] = d;
+				this.powers[j] = power;
+				this.previouspowers[j] = previous;
+			}
+
+			if (this.derivativeoutput != null)
+			{
+				for (int i = offset; i < end; ++i)
+				{
+					long magnitude = this.count + i - offset;
+
+					if (magnitude > 0)
+					{
+						this.derivativeoutput.accept (magnitude * coefficients[i]);
+					}
+				}
+			}
+		}
+
+		//the degree
+		for (int i = offset; i < end; ++i)
+		{
+			if (coefficients[i] != 0.0 && (! this.highestfirst || this.nonzero < 0))
+			{
+				this.nonzero = this.count + i - offset;
+			}
+		}
+
+		this.count += length;
+	}
+
+	/** Consumes all the remaining coefficients of an iterator.
+	*
+	* @param coefficients the coefficients.
+	*
+	* @throws NullPointerException if the iterator or any of its coefficients is null.
+	*/
+	public void consume (Iterator<Double> coefficients)
+	{
+		if (coefficients == null)
+		{
+			throw new NullPointerException ("null iterator provided.");
+		}
+
+		double[] chunk = new double[CHUNK_SIZE];
+		int length = 0;
+
+		while (coefficients.hasNext ())
+		{
+			chunk[length++] = coefficients.next ();
+
+			if (length == chunk.length)
+			{
+				accept (chunk, 0, length);
+				length = 0;
+			}
+		}
+
+		accept (chunk, 0, length);
+	}
+
+	/** Consumes all the coefficients of a stream, in its encounter order.
+	*
+	* @param coefficients the coefficients.
+	*
+	* @throws NullPointerException if the stream is null.
+	*/
+	public void consume (DoubleStream coefficients)
+	{
+		if (coefficients == null)
+		{
+			throw new NullPointerException ("null stream provided.");
+		}
+
+		PrimitiveIterator.OfDouble iterator = coefficients.iterator ();
+
+		double[] chunk = new double[CHUNK_SIZE];
+		int length = 0;
+
+		while (iterator.hasNext ())
+		{
+			chunk[length++] = iterator.nextDouble ();
+
+			if (length == chunk.length)
+			{
+				accept (chunk, 0, length);
+				length = 0;
+			}
+		}
+
+		accept (chunk, 0, length);
+	}
+
+	/** Consumes all the coefficients of a (blocking) channel, until its end, as 8 byte IEEE 754 doubles.
+	* The channel is not closed.
+	*
+	* @param channel the channel.
+	*
+	* @param order the byte order of the doubles.
+	*
+	* @throws NullPointerException if any of the parameters is null.
+	*
+	* @throws EOFException if the channel ends in the middle of a double (the complete ones are consumed).
+	*
+	* @throws IOException if reading from the channel fails.
+	*/
+	public void consume (ReadableByteChannel channel, ByteOrder order) throws IOException
+	{
+		if (channel == null)
+		{
+			throw new NullPointerException ("null channel provided.");
+		}
+		else if (order == null)
+		{
+			throw new NullPointerException ("null byte order provided.");
+		}
+
+		ByteBuffer bytes = ByteBuffer.allocate (CHUNK_SIZE * 8).order (order);
+		double[] chunk = new double[CHUNK_SIZE];
+
+		while (channel.read (bytes) >= 0)
+		{
+			bytes.flip ();
+
+			//only the complete doubles are consumed, the remaining bytes wait for the next read
+			DoubleBuffer doubles = bytes.asDoubleBuffer ();
+			int length = doubles.remaining ();
+
+			doubles.get (chunk, 0, length);
+			accept (chunk, 0, length);
+
+			bytes.position (length * 8);
+			bytes.compact ();
+		}
+
+		if (bytes.position () != 0)
+		{
+			throw new EOFException ("the channel ended in the middle of a coefficient.");
+		}
+	}
+
+	/** Returns the number of coefficients consumed so far.
+	*
+	* @return the number of coefficients.
+	*/
+	public long getCount ()
+	{
+		return this.count;
+	}
+
+	/** Returns the degree of the polynomial made of the coefficients consumed so far.
+	*
+	* @return the degree (0 for a zero polynomial or when nothing was consumed).
+	*/
+	public long getDegree ()
+	{
+		if (this.nonzero < 0)
+		{
+			return 0;
+		}
+
+		//highest magnitude first, the degree is the number of coefficients after the first non zero one
+		return this.highestfirst ? this.count - 1 - this.nonzero : this.nonzero;
+	}
+
+	/** Returns the number of points.
+	*
+	* @return the number of points.
+	*/
+	public int getPointCount ()
+	{
+		return this.points.length;
+	}
+
+	/** Returns the values of the polynomial made of the coefficients consumed so far.
+	*
+	* @return a new array, whose element j is the value at the j-th point.
+	*/
+	public double[] getValues ()
+	{
+		return this.values.clone ();
+	}
+
+	/** Returns the values of the derivative of the polynomial made of the coefficients consumed so far.
+	*
+	* @return a new array, whose element j is the value of the derivative at the j-th point.
+	*/
+	public double[] getDerivativeValues ()
+	{
+		return this.derivatives.clone ();
+	}
+}
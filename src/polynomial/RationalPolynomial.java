@@ -0,0 +1,499 @@
+package polynomial;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/** An immutable polynomial over the rational numbers, exact and with arbitrary precision. It is stored as an
+* integer polynomial and a single common denominator, instead of one fraction object per coefficient, so
+* all the operations run on the integer kernels (IntegerPolynomials) and only 1 GCD is needed per result
+* to keep it reduced.
+*/
+public final class RationalPolynomial implements RingPolynomial<RationalPolynomial>
+{
+	//the field of the rationals
+	static final CoefficientRing<RationalPolynomial> RING = new CoefficientRing<RationalPolynomial> ()
+	{
+		private final RationalPolynomial zero = new RationalPolynomial (new BigInteger[] { BigInteger.ZERO }, BigInteger.ONE);
+		private final RationalPolynomial one = new RationalPolynomial (new BigInteger[] { BigInteger.ONE }, BigInteger.ONE);
+
+		@Override public RationalPolynomial zero ()
+		{
+			return this.zero;
+		}
+
+		@Override public RationalPolynomial one ()
+		{
+			return this.one;
+		}
+
+		@Override public RationalPolynomial fromCoefficients (long... coefficients)
+		{
+			CoefficientRings.checkCoefficients (coefficients);
+
+			BigInteger[] numerators = new BigInteger[coefficients.length];
+
+			for (int i = 0; i < numerators.length; ++i)
+			{
+				numerators[i] = BigInteger.valueOf (coefficients[i]);
+			}
+
+			return new RationalPolynomial (numerators, BigInteger.ONE);
+		}
+
+		@Override public String toString ()
+		{
+			return "Q";
+		}
+	};
+
+	//the polynomial is numerators / denominator. The denominator is positive and has no common factor
+	//with all the numerators; the numerators are trimmed
+	private final BigInteger[] numerators;
+	private final BigInteger denominator;
+
+	/** Creates a rational polynomial from integer numerators and a common denominator.
+	*
+	* @param numerators the numerators of the coefficients (index represents the magnitude).
+	*
+	* @param denominator the denominator of all the coefficients.
+	*
+	* @throws NullPointerException if any of the parameters (or of the numerators) is null.
+	*
+	* @throws IllegalArgumentException if there are no numerators.
+	*
+	* @throws ArithmeticException if the denominator is zero.
+	*/
+	public RationalPolynomial (BigInteger[] numerators, BigInteger denominator)
+	{
+		if (numerators == null || denominator == null)
+		{
+			throw new NullPointerException ("null provided where array or BigInteger was expected.");
+		}
+		else if (numerators.length == 0)
+		{
+			throw new IllegalArgumentException ("at least 1 coefficient is needed.");
+		}
+		else if (denominator.signum () == 0)
+		{
+			throw new ArithmeticException ("zero denominator.");
+		}
+
+		for (BigInteger n : numerators)
+		{
+			if (n == null)
+			{
+				throw new NullPointerException ("null numerator provided.");
+			}
+		}
+
+		BigInteger[] n = IntegerPolynomials.trim (numerators.clone ());
+
+		//reduce the fraction: divide by the GCD of the content and the denominator
+		BigInteger g = IntegerPolynomials.content (n).gcd (denominator);
+
+		if (denominator.signum () < 0)
+		{
+			g = g.negate ();
+		}
+
+		if (! g.equals (BigInteger.ONE))
+		{
+			for (int i = 0; i < n.length; ++i)
+			{
+				n[i] = n[i].divide (g);
+			}
+
+			denominator = denominator.divide (g);
+		}
+
+		//the zero polynomial is always 0 / 1
+		this.numerators = n;
+		this.denominator = IntegerPolynomials.isZero (n) ? BigInteger.ONE : denominator;
+	}
+
+	/** Converts a Polynomial exactly: every finite double is a dyadic rational, so the result has exactly
+	* the same coefficients (with a power of 2 as denominator).
+	*
+	* @param p the Polynomial to be converted.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if any coefficient is infinite or NaN.
+	*
+	* @return the rational polynomial equal to p.
+	*/
+	public static RationalPolynomial valueOf (Polynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		int[] exponent = new int[1];
+		BigInteger[] numerators = IntegerPolynomials.fromCoefficients (p.getCoefficients (), exponent);
+
+		return new RationalPolynomial (numerators, BigInteger.ONE.shiftLeft (exponent[0]));
+	}
+
+	/** Returns the numerator of a coefficient, over the common denominator returned by getDenominator.
+	*
+	* @param magnitude the magnitude of the coefficient.
+	*
+	* @throws IllegalArgumentException if the magnitude is negative.
+	*
+	* @return the numerator, zero if the magnitude is bigger than the degree.
+	*/
+	public BigInteger getNumerator (int magnitude)
+	{
+		if (magnitude < 0)
+		{
+			throw new IllegalArgumentException ("element with that magnitude does not exist.");
+		}
+
+		return (magnitude < this.numerators.length) ? this.numerators[magnitude] : BigInteger.ZERO;
+	}
+
+	/** Returns the common denominator of all the coefficients (positive, and as small as possible).
+	*
+	* @return the denominator.
+	*/
+	public BigInteger getDenominator ()
+	{
+		return this.denominator;
+	}
+
+	@Override public CoefficientRing<RationalPolynomial> getRing ()
+	{
+		return RING;
+	}
+
+	@Override public int getDegree ()
+	{
+		return this.numerators.length - 1;
+	}
+
+	@Override public boolean isZero ()
+	{
+		return IntegerPolynomials.isZero (this.numerators);
+	}
+
+	@Override public RationalPolynomial add (RationalPolynomial p)
+	{
+		return add (p, false);
+	}
+
+	@Override public RationalPolynomial subtract (RationalPolynomial p)
+	{
+		return add (p, true);
+	}
+
+	//a / d1 +- b / d2 = (a * (l / d1) +- b * (l / d2)) / l, with l = lcm (d1, d2)
+	private RationalPolynomial add (RationalPolynomial p, boolean subtract)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		BigInteger g = this.denominator.gcd (p.denominator);
+		BigInteger[] a = scale (this.numerators, p.denominator.divide (g));
+		BigInteger[] b = scale (p.numerators, this.denominator.divide (g));
+
+		BigInteger[] sum = subtract ? IntegerPolynomials.subtract (a, b) : IntegerPolynomials.add (a, b);
+
+		return new RationalPolynomial (sum, this.denominator.divide (g).multiply (p.denominator));
+	}
+
+	@Override public RationalPolynomial multiply (RationalPolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		return new RationalPolynomial (IntegerPolynomials.multiply (this.numerators, p.numerators),
+										this.denominator.multiply (p.denominator));
+	}
+
+	/** Divides this polynomial by another one, exactly. The division is fraction-free: with A / d1 divided
+	* by B / d2, the integer pseudo-division lc (B)^k * A = Q * B + R is computed, and the quotient and rest
+	* are Q * d2 / (lc (B)^k * d1) and R / (lc (B)^k * d1).
+	*
+	* @param p the divisor.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws ArithmeticException if p is zero.
+	*
+	* @return an array of size 2: the quotient at index 0 and the rest at index 1. Both are non-null.
+	*/
+	@Override public RationalPolynomial[] divide (RationalPolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (p.isZero ())
+		{
+			throw new ArithmeticException ("DIVISION BY ZERO ERROR");
+		}
+
+		if (this.numerators.length < p.numerators.length)
+		{
+			return new RationalPolynomial[] { RING.zero (), this };
+		}
+
+		BigInteger[][] division = IntegerPolynomials.pseudoDivide (this.numerators, p.numerators);
+
+		int k = this.numerators.length - p.numerators.length + 1;
+		BigInteger scale = p.numerators[p.numerators.length - 1].pow (k).multiply (this.denominator);
+
+		return new RationalPolynomial[] { new RationalPolynomial (scale (division[0], p.denominator), scale),
+										  new RationalPolynomial (division[1], scale) };
+	}
+
+	/** Pseudo-divides the numerators of the polynomials, without any fraction: with A and B the numerators
+	* (the polynomials multiplied by their denominators) and k = max (deg A - deg B + 1, 0), it returns the
+	* integer polynomials Q and R such that lc (B)^k * A = Q * B + R, with deg R < deg B.
+	*
+	* @param p the divisor.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws ArithmeticException if p is zero.
+	*
+	* @return an array of size 2: the pseudo-quotient at index 0 and the pseudo-remainder at index 1. Both
+	* have the denominator 1.
+	*/
+	public RationalPolynomial[] pseudoDivide (RationalPolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (p.isZero ())
+		{
+			throw new ArithmeticException ("DIVISION BY ZERO ERROR");
+		}
+
+		if (this.numerators.length < p.numerators.length)
+		{
+			return new RationalPolynomial[] { RING.zero (), new RationalPolynomial (this.numerators, BigInteger.ONE) };
+		}
+
+		BigInteger[][] division = IntegerPolynomials.pseudoDivide (this.numerators, p.numerators);
+
+		return new RationalPolynomial[] { new RationalPolynomial (division[0], BigInteger.ONE),
+										  new RationalPolynomial (division[1], BigInteger.ONE) };
+	}
+
+	/** Returns the subresultant remainder sequence of the numerators of this polynomial and p: the 2
+	* numerators (the one with the bigger degree first), followed by remainders of decreasing degrees, up to
+	* the last non-zero one, which is the GCD up to a constant factor. Unlike the plain pseudo-remainder
+	* sequence, the coefficient sizes grow only linearly.
+	*
+	* @param p the second polynomial.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws ArithmeticException if any of the polynomials is zero.
+	*
+	* @return the sequence, as polynomials with the denominator 1.
+	*/
+	public RationalPolynomial[] subresultants (RationalPolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (this.isZero () || p.isZero ())
+		{
+			throw new ArithmeticException ("the remainder sequence of a zero polynomial is not defined.");
+		}
+
+		BigInteger[][] sequence = IntegerPolynomials.subresultants (this.numerators, p.numerators);
+		RationalPolynomial[] result = new RationalPolynomial[sequence.length];
+
+		for (int i = 0; i < result.length; ++i)
+		{
+			result[i] = new RationalPolynomial (sequence[i], BigInteger.ONE);
+		}
+
+		return result;
+	}
+
+	/** Returns the resultant of this polynomial and p, exactly. It is computed on the numerators, with the
+	* subresultant remainder sequence: with this = A / d1 and p = B / d2, res (this, p) is
+	* res (A, B) / (d1^deg B * d2^deg A).
+	*
+	* @param p the second polynomial.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return the resultant, as a constant polynomial (zero if any of the polynomials is zero).
+	*/
+	public RationalPolynomial resultant (RationalPolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		BigInteger numerator = IntegerPolynomials.subresultantResultant (this.numerators, p.numerators);
+		BigInteger denominator = this.denominator.pow (p.getDegree ()).multiply (p.denominator.pow (getDegree ()));
+
+		return new RationalPolynomial (new BigInteger[] { numerator }, denominator);
+	}
+
+	/** Returns the discriminant of this polynomial, exactly: (-1)^(n * (n - 1) / 2) * res (this, this') / lc,
+	* n being the degree. It is zero exactly when the polynomial has a repeated root.
+	*
+	* @throws IllegalArgumentException if the degree is smaller than 1.
+	*
+	* @return the discriminant, as a constant polynomial.
+	*/
+	public RationalPolynomial discriminant ()
+	{
+		int n = getDegree ();
+
+		if (n < 1)
+		{
+			throw new IllegalArgumentException ("the discriminant needs a degree of at least 1.");
+		}
+
+		//with this = A / d: disc (this) = disc (A) / d^(2n - 2)
+		BigInteger resultant = IntegerPolynomials.subresultantResultant (this.numerators, IntegerPolynomials.derivative (this.numerators));
+		BigInteger numerator = resultant.divide (this.numerators[n]);
+
+		if ((n * (n - 1L) / 2) % 2 != 0)
+		{
+			numerator = numerator.negate ();
+		}
+
+		return new RationalPolynomial (new BigInteger[] { numerator }, this.denominator.pow (2 * n - 2));
+	}
+
+	/** Returns the greatest common divisor of this polynomial and p, over the rationals.
+	*
+	* @param p the second polynomial.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @return the monic GCD (zero if both polynomials are zero).
+	*/
+	public RationalPolynomial gcd (RationalPolynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+
+		//the GCD of the numerators has the same roots, making it monic gives the GCD over Q
+		BigInteger[] g = PolynomialGCD.gcd (this.numerators, p.numerators);
+
+		return IntegerPolynomials.isZero (g) ? RING.zero () : new RationalPolynomial (g, g[g.length - 1]);
+	}
+
+	//returns c * a
+	private static BigInteger[] scale (BigInteger[] a, BigInteger c)
+	{
+		if (c.equals (BigInteger.ONE))
+		{
+			return a;
+		}
+
+		BigInteger[] result = new BigInteger[a.length];
+
+		for (int i = 0; i < a.length; ++i)
+		{
+			result[i] = a[i].multiply (c);
+		}
+
+		return result;
+	}
+
+	@Override public Polynomial toPolynomial ()
+	{
+		double[] c = new double[this.numerators.length];
+
+		for (int i = 0; i < c.length; ++i)
+		{
+			c[i] = toDouble (this.numerators[i], this.denominator);
+		}
+
+		return new Polynomial (c);
+	}
+
+	//numerator / denominator, rounded to a double (without overflowing for huge numbers)
+	static double toDouble (BigInteger numerator, BigInteger denominator)
+	{
+		if (numerator.signum () == 0)
+		{
+			return 0.0;
+		}
+
+		//keep 64 significant bits of the quotient
+		int shift = numerator.abs ().bitLength () - denominator.bitLength () - 64;
+		BigInteger quotient = (shift > 0) ? numerator.divide (denominator.shiftLeft (shift))
+											: numerator.shiftLeft (-shift).divide (denominator);
+
+		return Math.scalb (quotient.doubleValue (), shift);
+	}
+
+	/** Checks if this object is equal to the object provided: a RationalPolynomial with the same coefficients.
+	*
+	* @param o the object to be compared.
+	*
+	* @return true if the objects are equal, false otherwise.
+	*/
+	@Override public boolean equals (Object o)
+	{
+		if (! (o instanceof RationalPolynomial))
+		{
+			return false;
+		}
+
+		RationalPolynomial p = (RationalPolynomial) o;
+
+		//both are reduced, so equal polynomials have equal representations
+		return this.denominator.equals (p.denominator) && Arrays.equals (this.numerators, p.numerators);
+	}
+
+	/** Returns a hash code for this polynomial.
+	*
+	* @return the hash code of this polynomial.
+	*/
+	@Override public int hashCode ()
+	{
+		return 31 * Arrays.hashCode (this.numerators) + this.denominator.hashCode ();
+	}
+
+	/** Returns a string representation of this polynomial, with every coefficient as a reduced fraction.
+	*
+	* @return a String representation of this polynomial.
+	*/
+	@Override public String toString ()
+	{
+		String[] c = new String[this.numerators.length];
+
+		for (int i = 0; i < c.length; ++i)
+		{
+			BigInteger g = this.numerators[i].gcd (this.denominator);
+
+			if (this.numerators[i].signum () == 0)
+			{
+				c[i] = "0";
+			}
+			else if (g.equals (this.denominator))
+			{
+				c[i] = this.numerators[i].divide (g).toString ();
+			}
+			else
+			{
+				c[i] = this.numerators[i].divide (g) + "/" + this.denominator.divide (g);
+			}
+		}
+
+		return CoefficientRings.format (c);
+	}
+}
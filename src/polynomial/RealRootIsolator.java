@@ -0,0 +1,484 @@
+package polynomial;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/** Isolates the real roots of polynomials: returns disjoint intervals, each containing exactly one real root.
+* All computations are exact (the coefficients are converted to integers first, see IntegerPolynomials), so
+* the intervals are certified. Multiple roots are reported once.
+* <br />
+* Two methods are available:
+* <ul>
+* <li>Descartes' rule of signs with Vincent-Collins-Akritas bisection: the positive and negative roots are
+* mapped into (0, 1), which is then split in halves by Taylor shifts until every piece has 0 or 1 sign
+* variations. This is the default, and the fastest.</li>
+* <li>Sturm sequences: the sequence is built once, with pseudo-remainders computed in a reused buffer, and the
+* search interval is bisected until every piece contains 0 or 1 roots.</li>
+* </ul>
+* Both methods can split the search tree across the cores of the machine.
+*/
+public final class RealRootIsolator
+{
+	//subtrees are explored in parallel only while their polynomials have at least this degree
+	private static final int PARALLEL_DEGREE = 16;
+
+	//utility class, no instances
+	private RealRootIsolator ()
+	{
+	}
+
+	/** Isolates the real roots of the polynomial with Descartes' rule of signs and VCA bisection.
+	*
+	* @param p the polynomial.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if p is zero or has infinite or NaN coefficients.
+	*
+	* @return the isolating intervals, sorted in increasing order.
+	*/
+	public static IsolatingInterval[] isolate (Polynomial p)
+	{
+		return isolate (p, false);
+	}
+
+	/** Isolates the real roots of the polynomial with Descartes' rule of signs and VCA bisection.
+	*
+	* @param p the polynomial.
+	*
+	* @param parallel true to explore the subdivision tree in parallel.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if p is zero or has infinite or NaN coefficients.
+	*
+	* @return the isolating intervals, sorted in increasing order.
+	*/
+	public static IsolatingInterval[] isolate (Polynomial p, boolean parallel)
+	{
+		BigInteger[] a = prepare (p);
+
+		ConcurrentLinkedQueue<IsolatingInterval> results = new ConcurrentLinkedQueue<IsolatingInterval> ();
+
+		//the root 0 is taken out first: then no subdivision ever starts on a root
+		if (a[0].signum () == 0)
+		{
+			results.add (new IsolatingInterval (BigInteger.ZERO, BigInteger.ZERO, 0, true));
+			a = Arrays.copyOfRange (a, 1, a.length);
+		}
+
+		if (a.length > 1)
+		{
+			int bound = rootBoundExponent (a);
+
+			//positive roots: Q (x) = a (2^bound * x) has them in (0, 1)
+			BigInteger[] positive = new BigInteger[a.length];
+
+			//negative roots: the positive roots of a (-x)
+			BigInteger[] negative = new BigInteger[a.length];
+
+			for (int i = 0; i < a.length; ++i)
+			{
+				positive[i] = a[i].shiftLeft (bound * i);
+				negative[i] = ((i & 1) == 0) ? positive[i] : positive[i].negate ();
+			}
+
+			DescartesTask positivetask = new DescartesTask (positive, BigInteger.ZERO, 0, bound, false, parallel, results);
+			DescartesTask negativetask = new DescartesTask (negative, BigInteger.ZERO, 0, bound, true, parallel, results);
+
+			if (parallel)
+			{
+				ForkJoinPool.commonPool ().invoke (new JoinedTasks (positivetask, negativetask));
+			}
+			else
+			{
+				positivetask.compute ();
+				negativetask.compute ();
+			}
+		}
+
+		return sorted (results);
+	}
+
+	/** Isolates the real roots of the polynomial with a Sturm sequence and bisection.
+	*
+	* @param p the polynomial.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if p is zero or has infinite or NaN coefficients.
+	*
+	* @return the isolating intervals, sorted in increasing order.
+	*/
+	public static IsolatingInterval[] isolateSturm (Polynomial p)
+	{
+		return isolateSturm (p, false);
+	}
+
+	/** Isolates the real roots of the polynomial with a Sturm sequence and bisection.
+	*
+	* @param p the polynomial.
+	*
+	* @param parallel true to explore the subdivision tree in parallel.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if p is zero or has infinite or NaN coefficients.
+	*
+	* @return the isolating intervals, sorted in increasing order.
+	*/
+	public static IsolatingInterval[] isolateSturm (Polynomial p, boolean parallel)
+	{
+		BigInteger[] a = prepare (p);
+
+		ConcurrentLinkedQueue<IsolatingInterval> results = new ConcurrentLinkedQueue<IsolatingInterval> ();
+
+		if (a.length > 1)
+		{
+			BigInteger[][] sequence = sturmSequence (a);
+
+			//all roots are inside (-2^bound, 2^bound), and the bounds are not roots
+			int bound = rootBoundExponent (a);
+			BigInteger low = BigInteger.ONE.shiftLeft (bound).negate ();
+			BigInteger high = BigInteger.ONE.shiftLeft (bound);
+
+			SturmTask task = new SturmTask (sequence, low, high, 0, variations (sequence, low, 0),
+											variations (sequence, high, 0), parallel, results);
+
+			if (parallel)
+			{
+				ForkJoinPool.commonPool ().invoke (task);
+			}
+			else
+			{
+				task.compute ();
+			}
+		}
+
+		return sorted (results);
+	}
+
+	//converts the polynomial to a squarefree integer polynomial with the same real roots
+	private static BigInteger[] prepare (Polynomial p)
+	{
+		if (p == null)
+		{
+			throw new NullPointerException ("null polynomial provided.");
+		}
+		else if (p.isZero ())
+		{
+			throw new IllegalArgumentException ("the zero polynomial has no isolated roots.");
+		}
+
+		return IntegerPolynomials.squarefreePart (IntegerPolynomials.fromPolynomial (p));
+	}
+
+	//returns b such that all the roots have absolute values smaller than 2^b (Cauchy's bound:
+	//|root| < 1 + max |a[i] / a[n]|), a must have a degree of at least 1
+	private static int rootBoundExponent (BigInteger[] a)
+	{
+		int biggest = 0;
+
+		for (int i = 0; i < a.length - 1; ++i)
+		{
+			biggest = Math.max (biggest, a[i].abs ().bitLength ());
+		}
+
+		//max |a[i] / a[n]| < 2^(biggest - leading + 1), so the bound is at most 2^(biggest - leading + 2)
+		int leading = a[a.length - 1].abs ().bitLength ();
+
+		return Math.max (biggest - leading + 2, 1);
+	}
+
+	private static IsolatingInterval[] sorted (ConcurrentLinkedQueue<IsolatingInterval> results)
+	{
+		IsolatingInterval[] intervals = results.toArray (new IsolatingInterval[results.size ()]);
+		Arrays.sort (intervals);
+
+		return intervals;
+	}
+
+	//the Sturm sequence: s0 = a, s1 = a', s(i + 1) = -rem (s(i - 1), s(i)). Pseudo-remainders are used, with
+	//a positive multiplier, so the signs stay right; each element is divided by its (positive) content.
+	//the remainders are all computed in the same buffer
+	private static BigInteger[][] sturmSequence (BigInteger[] a)
+	{
+		List<BigInteger[]> sequence = new ArrayList<BigInteger[]> ();
+		sequence.add (a);
+
+		BigInteger[] previous = a;
+		BigInteger[] current = IntegerPolynomials.derivative (a);
+		BigInteger[] buffer = new BigInteger[a.length];
+
+		while (! IntegerPolynomials.isZero (current))
+		{
+			sequence.add (current);
+
+			System.arraycopy (previous, 0, buffer, 0, previous.length);
+			int length = IntegerPolynomials.pseudoRemainderInPlace (buffer, previous.length, current);
+
+			//the multiplier of the pseudo-remainder is lc^(d + 1): it is negative for a negative lc and an odd exponent
+			int exponent = previous.length - current.length + 1;
+			boolean negative = current[current.length - 1].signum () < 0 && (exponent & 1) == 1;
+
+			BigInteger content = BigInteger.ZERO;
+
+			for (int i = 0; i < length; ++i)
+			{
+				content = content.gcd (buffer[i]);
+			}
+
+			//negate, unless the multiplier already did that
+			if (! negative)
+			{
+				content = content.negate ();
+			}
+
+			BigInteger[] next = new BigInteger[length];
+
+			for (int i = 0; i < length; ++i)
+			{
+				next[i] = (content.signum () == 0) ? BigInteger.ZERO : buffer[i].divide (content);
+			}
+
+			previous = current;
+			current = next;
+		}
+
+		return sequence.toArray (new BigInteger[sequence.size ()][]);
+	}
+
+	//number of sign variations of the Sturm sequence at numerator / 2^k
+	private static int variations (BigInteger[][] sequence, BigInteger numerator, int k)
+	{
+		int variations = 0;
+		int last = 0;
+
+		for (BigInteger[] s : sequence)
+		{
+			int signum = IntegerPolynomials.signAt (s, numerator, k);
+
+			if (signum != 0)
+			{
+				if (last != 0 && signum != last)
+				{
+					variations++;
+				}
+
+				last = signum;
+			}
+		}
+
+		return variations;
+	}
+
+	//Vincent-Collins-Akritas bisection. The polynomial q has its roots of interest in (0, 1), which corresponds to
+	//(c / 2^k, (c + 1) / 2^k) in the scaled variable, and to 2^bound times that in the original one
+	private static final class DescartesTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = -2154381003761472305L;
+
+		private final BigInteger[] q;
+		private final BigInteger c;
+		private final int k, bound;
+		private final boolean negative, parallel;
+		private final ConcurrentLinkedQueue<IsolatingInterval> results;
+
+		DescartesTask (BigInteger[] q, BigInteger c, int k, int bound, boolean negative, boolean parallel,
+						ConcurrentLinkedQueue<IsolatingInterval> results)
+		{
+			this.q = q;
+			this.c = c;
+			this.k = k;
+			this.bound = bound;
+			this.negative = negative;
+			this.parallel = parallel;
+			this.results = results;
+		}
+
+		@Override protected void compute ()
+		{
+			int n = this.q.length - 1;
+
+			if (n == 0)
+			{
+				return;
+			}
+
+			//Descartes' rule on (x + 1)^n * q (1 / (x + 1)), whose positive roots are the roots of q in (0, 1)
+			BigInteger[] reversed = new BigInteger[n + 1];
+
+			for (int i = 0; i <= n; ++i)
+			{
+				reversed[i] = this.q[n - i];
+			}
+
+			int variations = IntegerPolynomials.signVariations (IntegerPolynomials.taylorShiftOne (reversed));
+
+			if (variations == 0)
+			{
+				return;
+			}
+			else if (variations == 1)
+			{
+				addInterval (this.c, this.k, false);
+				return;
+			}
+
+			//left half: 2^n * q (x / 2)
+			BigInteger[] left = new BigInteger[n + 1];
+
+			for (int i = 0; i <= n; ++i)
+			{
+				left[i] = this.q[i].shiftLeft (n - i);
+			}
+
+			//right half: 2^n * q ((x + 1) / 2)
+			BigInteger[] right = IntegerPolynomials.taylorShiftOne (left);
+
+			BigInteger c2 = this.c.shiftLeft (1);
+
+			//the middle is a root: take it out of the right half
+			if (right[0].signum () == 0)
+			{
+				addInterval (c2.add (BigInteger.ONE), this.k + 1, true);
+				right = Arrays.copyOfRange (right, 1, right.length);
+			}
+
+			left = IntegerPolynomials.primitivePart (left);
+			right = IntegerPolynomials.primitivePart (right);
+
+			DescartesTask lefttask = new DescartesTask (left, c2, this.k + 1, this.bound, this.negative, this.parallel, this.results);
+			DescartesTask righttask = new DescartesTask (right, c2.add (BigInteger.ONE), this.k + 1, this.bound,
+														this.negative, this.parallel, this.results);
+
+			if (this.parallel && n >= PARALLEL_DEGREE)
+			{
+				invokeAll (lefttask, righttask);
+			}
+			else
+			{
+				lefttask.compute ();
+				righttask.compute ();
+			}
+		}
+
+		//adds the interval (numerator / 2^level, (numerator + 1) / 2^level), scaled back to the original variable
+		private void addInterval (BigInteger numerator, int level, boolean exact)
+		{
+			BigInteger low = numerator;
+			BigInteger high = exact ? numerator : numerator.add (BigInteger.ONE);
+
+			if (this.negative)
+			{
+				BigInteger aux = low.negate ();
+				low = high.negate ();
+				high = aux;
+			}
+
+			this.results.add (new IsolatingInterval (low, high, level - this.bound, exact));
+		}
+	}
+
+	//Sturm bisection of (low / 2^k, high / 2^k). The variations at both ends are already known,
+	//and the ends are not roots
+	private static final class SturmTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 7314893526180092246L;
+
+		private final BigInteger[][] sequence;
+		private final BigInteger low, high;
+		private final int k, lowvariations, highvariations;
+		private final boolean parallel;
+		private final ConcurrentLinkedQueue<IsolatingInterval> results;
+
+		SturmTask (BigInteger[][] sequence, BigInteger low, BigInteger high, int k, int lowvariations,
+					int highvariations, boolean parallel, ConcurrentLinkedQueue<IsolatingInterval> results)
+		{
+			this.sequence = sequence;
+			this.low = low;
+			this.high = high;
+			this.k = k;
+			this.lowvariations = lowvariations;
+			this.highvariations = highvariations;
+			this.parallel = parallel;
+			this.results = results;
+		}
+
+		@Override protected void compute ()
+		{
+			int roots = this.lowvariations - this.highvariations;
+
+			if (roots == 0)
+			{
+				return;
+			}
+			else if (roots == 1)
+			{
+				this.results.add (new IsolatingInterval (this.low, this.high, this.k, false));
+				return;
+			}
+
+			//the middle, at the next level
+			BigInteger middle = this.low.add (this.high);
+			int level = this.k + 1;
+
+			//if the middle is a root, the variations there are the ones just to its right
+			int middlevariations = variations (this.sequence, middle, level);
+
+			SturmTask lefttask, righttask;
+
+			if (IntegerPolynomials.signAt (this.sequence[0], middle, level) == 0)
+			{
+				this.results.add (new IsolatingInterval (middle, middle, level, true));
+
+				//the root in the middle is counted by the left part, so the left part uses the variations
+				//just to the left of the middle
+				lefttask = new SturmTask (this.sequence, this.low.shiftLeft (1), middle, level,
+										this.lowvariations, middlevariations + 1, this.parallel, this.results);
+			}
+			else
+			{
+				lefttask = new SturmTask (this.sequence, this.low.shiftLeft (1), middle, level,
+										this.lowvariations, middlevariations, this.parallel, this.results);
+			}
+
+			righttask = new SturmTask (this.sequence, middle, this.high.shiftLeft (1), level,
+										middlevariations, this.highvariations, this.parallel, this.results);
+
+			if (this.parallel && this.sequence.length > PARALLEL_DEGREE)
+			{
+				invokeAll (lefttask, righttask);
+			}
+			else
+			{
+				lefttask.compute ();
+				righttask.compute ();
+			}
+		}
+	}
+
+	//runs 2 tasks in parallel
+	private static final class JoinedTasks extends RecursiveAction
+	{
+		private static final long serialVersionUID = 5846209937281036841L;
+
+		private final RecursiveAction first, second;
+
+		JoinedTasks (RecursiveAction first, RecursiveAction second)
+		{
+			this.first = first;
+			this.second = second;
+		}
+
+		@Override protected void compute ()
+		{
+			invokeAll (this.first, this.second);
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package polynomial;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Multi-modular kernels for resultants and discriminants of integer polynomials (BigInteger arrays, index
+* represents the magnitude). The resultant is computed modulo enough word-sized primes to exceed twice
+* its Hadamard bound (every modular resultant is a Euclidean algorithm, so O(deg a * deg b)), and the
+* residues are combined by Chinese remaindering. The primes are independent, so they are processed in
+* parallel.
+*/
+final class Resultants
+{
+	//the modular resultants are computed in parallel, this many primes per task
+	private static final int PRIME_GRAIN = 4;
+
+	//utility class, no instances
+	private Resultants ()
+	{
+	}
+
+	/** Returns the resultant of a and b (zero if any of them is zero). */
+	static BigInteger resultant (final BigInteger[] a, final BigInteger[] b)
+	{
+		if (IntegerPolynomials.isZero (a) || IntegerPolynomials.isZero (b))
+		{
+			return BigInteger.ZERO;
+		}
+
+		final BigInteger[] x = IntegerPolynomials.trim (a), y = IntegerPolynomials.trim (b);
+		int m = x.length - 1, n = y.length - 1;
+
+		if (m == 0)
+		{
+			return x[0].pow (n);
+		}
+		else if (n == 0)
+		{
+			return y[0].pow (m);
+		}
+
+		//Hadamard: |res| <= ||a||^n * ||b||^m, and the residues must determine the sign too
+		long bits = (long) n * normBits (x) + (long) m * normBits (y) + 1;
+
+		//the primes dividing a leading coefficient change the degrees, they are skipped
+		final List<Long> primes = new ArrayList<Long> ();
+		long productbits = 0;
+
+		for (int i = 0; productbits <= bits; ++i)
+		{
+			long p = ModularPolynomials.prime (i);
+			BigInteger bigp = BigInteger.valueOf (p);
+
+			if (x[m].mod (bigp).signum () != 0 && y[n].mod (bigp).signum () != 0)
+			{
+				primes.add (p);
+				productbits += 30;
+			}
+		}
+
+		final long[] residues = new long[primes.size ()];
+
+		ParallelLoops.forRange (0, residues.length, PRIME_GRAIN, new ParallelLoops.RangeTask ()
+		{
+			@Override public void run (int from, int to)
+			{
+				for (int i = from; i < to; ++i)
+				{
+					long p = primes.get (i);
+					residues[i] = ModularPolynomials.resultant (ModularPolynomials.reduce (x, p), ModularPolynomials.reduce (y, p), p);
+				}
+			}
+		});
+
+		//Garner: the combination modulo the product of the first i primes is extended with the i-th residue
+		BigInteger result = BigInteger.valueOf (residues[0]);
+		BigInteger modulus = BigInteger.valueOf (primes.get (0));
+
+		for (int i = 1; i < residues.length; ++i)
+		{
+			long p = primes.get (i);
+			BigInteger bigp = BigInteger.valueOf (p);
+
+			long difference = Math.floorMod (residues[i] - result.mod (bigp).longValue (), p);
+			long t = difference * ModularPolynomials.inverse (modulus.mod (bigp).longValue (), p) % p;
+
+			result = result.add (modulus.multiply (BigInteger.valueOf (t)));
+			modulus = modulus.multiply (bigp);
+		}
+
+		//symmetric residue
+		return (result.shiftLeft (1).compareTo (modulus) > 0) ? result.subtract (modulus) : result;
+	}
+
+	/** Returns the discriminant of a, which must have a degree of at least 1:
+	* (-1)^(n * (n - 1) / 2) * res (a, a') / lc (a).
+	*/
+	static BigInteger discriminant (BigInteger[] a)
+	{
+		a = IntegerPolynomials.trim (a);
+
+		int n = a.length - 1;
+		BigInteger result = resultant (a, IntegerPolynomials.derivative (a)).divide (a[n]);
+
+		return ((n * (n - 1L) / 2) % 2 == 0) ? result : result.negate ();
+	}
+
+	//returns k such that the euclidean norm of a is below 2^k
+	private static int normBits (BigInteger[] a)
+	{
+		BigInteger squares = BigInteger.ZERO;
+
+		for (BigInteger c : a)
+		{
+			squares = squares.add (c.multiply (c));
+		}
+
+		return (squares.bitLength () + 1) / 2;
+	}
+}
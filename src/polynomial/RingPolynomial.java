@@ -0,0 +1,95 @@
+package polynomial;
+
+/** A polynomial whose coefficients belong to a ring (see CoefficientRing). Every implementation stores its
+* coefficients in primitive arrays (or in a form as compact as the ring allows) and has its own kernels, so
+* nothing is boxed; P is the implementing class itself, so the operations take and return the concrete
+* type and code written for one ring only ever calls the methods of that ring's class.
+* <br />
+* Implementations are immutable.
+*
+* @param <P> the implementing class.
+*/
+public interface RingPolynomial<P extends RingPolynomial<P>>
+{
+	/** Returns the ring of the coefficients.
+	*
+	* @return the ring of this polynomial.
+	*/
+	CoefficientRing<P> getRing ();
+
+	/** Returns the degree of this polynomial. A zero polynomial has degree 0.
+	*
+	* @return the degree.
+	*/
+	int getDegree ();
+
+	/** Tells whether all the coefficients are zero.
+	*
+	* @return true if this is the zero polynomial, false otherwise.
+	*/
+	boolean isZero ();
+
+	/** Adds a polynomial (of the same ring) to this one.
+	*
+	* @param p the polynomial to be added.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if p has a different ring.
+	*
+	* @throws ArithmeticException if the ring can't represent the result (an overflow, for example).
+	*
+	* @return the sum.
+	*/
+	P add (P p);
+
+	/** Subtracts a polynomial (of the same ring) from this one.
+	*
+	* @param p the polynomial to be subtracted.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if p has a different ring.
+	*
+	* @throws ArithmeticException if the ring can't represent the result (an overflow, for example).
+	*
+	* @return the difference (this minus p).
+	*/
+	P subtract (P p);
+
+	/** Multiplies this polynomial by another one (of the same ring).
+	*
+	* @param p the polynomial to be multiplied with.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if p has a different ring.
+	*
+	* @throws ArithmeticException if the ring can't represent the result (an overflow, for example).
+	*
+	* @return the product.
+	*/
+	P multiply (P p);
+
+	/** Divides this polynomial by another one (of the same ring).
+	*
+	* @param p the divisor.
+	*
+	* @throws NullPointerException if p is null.
+	*
+	* @throws IllegalArgumentException if p has a different ring.
+	*
+	* @throws ArithmeticException if p is zero, or the ring can't represent the quotient (for integers,
+	* when the division of the coefficients is not exact).
+	*
+	* @return an array of size 2: the quotient at index 0 and the rest at index 1. Both are non-null.
+	*/
+	P[] divide (P p);
+
+	/** Converts this polynomial to a Polynomial, rounding the coefficients to the nearest doubles
+	* (residues modulo p are converted as integers between 0 and p - 1).
+	*
+	* @return the converted Polynomial.
+	*/
+	Polynomial toPolynomial ();
+}
@@ -0,0 +1,99 @@
+package polynomial;
+
+/** Regression tests for GridEvaluationCache. There is no test framework: the main method runs the tests and
+* throws an AssertionError at the first failure.
+*/
+public final class GridEvaluationCacheTest
+{
+	//utility class, no instances
+	private GridEvaluationCacheTest ()
+	{
+	}
+
+	public static void main (String[] args)
+	{
+		removingHighDegreeCoefficient ();
+		manySmallEdits ();
+
+		System.out.println ("GridEvaluationCacheTest: all tests passed.");
+	}
+
+	//removing x^20 from x + 2x^3 + x^5 + x^20 cancels almost all of the values far from 0
+	private static void removingHighDegreeCoefficient ()
+	{
+		Polynomial p = new Polynomial (21);
+		p.setElement (1, 1.0);
+		p.setElement (3, 2.0);
+		p.setElement (5, 1.0);
+		p.setElement (20, 1.0);
+
+		double[] grid = new double[201];
+
+		for (int j = 0; j < grid.length; ++j)
+		{
+			grid[j] = j - 100;
+		}
+
+		GridEvaluationCache cache = new GridEvaluationCache (p, grid);
+		cache.getValues ();
+
+		p.setElement (20, 0.0);
+
+		checkValues (p, cache, "x^20 removed");
+
+		double t = 100.0;
+		check (cache.getValue (200) == t + 2 * t * t * t + Math.pow (t, 5), "value at 100 after removing x^20");
+	}
+
+	//a long sequence of edits of every magnitude, checked after each one
+	private static void manySmallEdits ()
+	{
+		Polynomial p = new Polynomial (16);
+		double[] grid = new double[101];
+
+		for (int j = 0; j < grid.length; ++j)
+		{
+			grid[j] = -5.0 + j / 10.0;
+		}
+
+		GridEvaluationCache cache = new GridEvaluationCache (p, grid);
+		java.util.Random random = new java.util.Random (42);
+
+		for (int k = 0; k < 1000; ++k)
+		{
+			int magnitude = random.nextInt (16);
+			p.setElement (magnitude, random.nextBoolean () ? 0.0 : random.nextGaussian () * Math.pow (10, random.nextInt (9) - 4));
+
+			checkValues (p, cache, "edit " + k);
+		}
+	}
+
+	//compares all the cached values with a direct evaluation
+	private static void checkValues (Polynomial p, GridEvaluationCache cache, String test)
+	{
+		double[] values = cache.getValues ();
+		double[] grid = cache.getGrid ();
+
+		for (int j = 0; j < grid.length; ++j)
+		{
+			double expected = p.getPolynomialValue (grid[j]);
+			double magnitude = 0.0;
+
+			for (int i = 0; i <= p.getBiggestNonZeroIndex (); ++i)
+			{
+				magnitude += Math.abs (p.getCoefficientsArray ()[i] * Math.pow (grid[j], i));
+			}
+
+			check (Math.abs (values[j] - expected) <= 1e-9 * Math.abs (expected) + 1e-14 * magnitude,
+					test + ": value at " + grid[j] + " is " + values[j] + " instead of " + expected);
+		}
+	}
+
+	private static void check (boolean condition, String message)
+	{
+		if (! condition)
+		{
+			throw new AssertionError (message);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package polynomial;
+
+/** Regression tests for PolynomialStream. There is no test framework: the main method runs the tests and
+* throws an AssertionError at the first failure.
+*/
+public final class PolynomialStreamTest
+{
+	//utility class, no instances
+	private PolynomialStreamTest ()
+	{
+	}
+
+	public static void main (String[] args)
+	{
+		trailingZeroCoefficients ();
+		bothOrdersAgree ();
+
+		System.out.println ("PolynomialStreamTest: all tests passed.");
+	}
+
+	//the constant 1 followed by 400 zero coefficients: the powers of 10 overflow, the values must not be NaN
+	private static void trailingZeroCoefficients ()
+	{
+		double[] points = { 10.0, -10.0, 0.5 };
+
+		PolynomialStream lowest = new PolynomialStream (points, false);
+		PolynomialStream highest = new PolynomialStream (points, true);
+
+		lowest.accept (1.0);
+
+		for (int i = 0; i < 400; ++i)
+		{
+			lowest.accept (0.0);
+			highest.accept (0.0);
+		}
+
+		highest.accept (1.0);
+
+		for (int j = 0; j < points.length; ++j)
+		{
+			check (lowest.getValues ()[j] == 1.0, "lowest first: value at " + points[j] + " is " + lowest.getValues ()[j]);
+			check (lowest.getDerivativeValues ()[j] == 0.0, "lowest first: derivative at " + points[j] + " is "
+					+ lowest.getDerivativeValues ()[j]);
+			check (highest.getValues ()[j] == 1.0, "highest first: value at " + points[j] + " is " + highest.getValues ()[j]);
+			check (highest.getDerivativeValues ()[j] == 0.0, "highest first: derivative at " + points[j]);
+		}
+
+		check (lowest.getDegree () == 0 && highest.getDegree () == 0, "degree of a constant");
+	}
+
+	//the same polynomial, with zero coefficients inside, streamed in both orders
+	private static void bothOrdersAgree ()
+	{
+		double[] coefficients = { 3.0, 0.0, -2.0, 0.0, 0.0, 1.5, 0.0 };
+		double[] points = { 0.0, 1.0, -2.0, 0.25 };
+
+		PolynomialStream lowest = new PolynomialStream (points, false);
+		PolynomialStream highest = new PolynomialStream (points, true);
+
+		lowest.accept (coefficients, 0, coefficients.length);
+
+		for (int i = coefficients.length - 1; i >= 0; --i)
+		{
+			highest.accept (coefficients[i]);
+		}
+
+		for (int j = 0; j < points.length; ++j)
+		{
+			double x = points[j];
+			double value = 3.0 - 2.0 * x * x + 1.5 * Math.pow (x, 5);
+			double derivative = -4.0 * x + 7.5 * Math.pow (x, 4);
+
+			check (Math.abs (lowest.getValues ()[j] - value) <= 1e-12, "lowest first: value at " + x);
+			check (Math.abs (highest.getValues ()[j] - value) <= 1e-12, "highest first: value at " + x);
+			check (Math.abs (lowest.getDerivativeValues ()[j] - derivative) <= 1e-12, "lowest first: derivative at " + x);
+			check (Math.abs (highest.getDerivativeValues ()[j] - derivative) <= 1e-12, "highest first: derivative at " + x);
+		}
+
+		check (lowest.getDegree () == 5 && highest.getDegree () == 5, "degree with trailing zeros");
+	}
+
+	private static void check (boolean condition, String message)
+	{
+		if (! condition)
+		{
+			throw new AssertionError (message);
+		}
+	}
+}